@@ -2,6 +2,7 @@
 
 plugins {
     id("org.openrewrite.build.recipe-library") version "latest.release"
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "org.openrewrite.recipe"
@@ -12,6 +13,7 @@ dependencies {
     compileOnly("org.projectlombok:lombok:latest.release")
     annotationProcessor("org.projectlombok:lombok:latest.release")
     testImplementation("org.projectlombok:lombok:latest.release")
+    testAnnotationProcessor("org.projectlombok:lombok:latest.release")
 
     implementation(platform("org.openrewrite:rewrite-bom:${rewriteVersion}"))
     implementation("org.openrewrite:rewrite-java")
@@ -25,4 +27,44 @@ dependencies {
 
     testRuntimeOnly("org.openrewrite:rewrite-java-17")
     testRuntimeOnly("com.google.code.findbugs:jsr305:latest.release")
+
+    jmh("com.google.code.findbugs:jsr305:latest.release")
+    jmh("org.projectlombok:lombok:latest.release")
+    jmh("org.openrewrite:rewrite-java-17")
+    jmh("org.openjdk.jmh:jmh-core:latest.release")
+
+    // Nebula doesn't like having jmhAnnotationProcessor without jmh so we just add it twice.
+    jmh("org.openjdk.jmh:jmh-generator-annprocess:latest.release")
+    jmhAnnotationProcessor("org.openjdk.jmh:jmh-generator-annprocess:latest.release")
+}
+
+// JFR events need Java 11 while the recipes target Java 8, so they are compiled separately,
+// packaged in the same jar and only loaded by RecipeEvents when the running JVM supports them.
+val jfr: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + sourceSets.main.get().compileClasspath
+}
+
+tasks.named<JavaCompile>(jfr.compileJavaTaskName) {
+    options.release.set(11)
+}
+
+tasks.named<Jar>("jar") {
+    from(jfr.output)
+}
+
+sourceSets.test {
+    runtimeClasspath += jfr.output
+}
+
+jmh {
+    // benchmarks share the StressCorpusGenerator with the unit tests
+    includeTests.set(true)
+    // e.g. `./gradlew jmh -PjmhIncludes=RecipeBenchmark -PjmhProfilers=gc`
+    project.findProperty("jmhIncludes")?.let { includes.set(listOf(it.toString())) }
+    project.findProperty("jmhProfilers")?.let { profilers.set(listOf(it.toString())) }
+    resultFormat.set("JSON")
+}
+
+tasks.named<JavaCompile>("compileJmhJava") {
+    options.release.set(null as Int?) // remove `--release 8` set in `org.openrewrite.java-base`
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import jdk.jfr.*;
+import org.openrewrite.Cursor;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.lang.Nullable;
+
+/**
+ * The JDK Flight Recorder backed {@link RecipeEvents.Recorder}. It is compiled for Java 11
+ * and only ever instantiated reflectively by {@link RecipeEvents}.
+ */
+@SuppressWarnings("unused")
+class JfrRecipeEvents implements RecipeEvents.Recorder {
+
+    JfrRecipeEvents() {
+        if (!FlightRecorder.isAvailable()) {
+            throw new IllegalStateException("JFR is not available");
+        }
+    }
+
+    @Override
+    public @Nullable Object begin(RecipeEvents.Kind kind) {
+        StaticAnalysisEvent event = create(kind);
+        if (!event.isEnabled()) {
+            return null;
+        }
+        event.begin();
+        return event;
+    }
+
+    @Override
+    public void commit(Object e, String name, Cursor cursor) {
+        StaticAnalysisEvent event = (StaticAnalysisEvent) e;
+        event.end();
+        if (event.shouldCommit()) {
+            event.name = name;
+            SourceFile sourceFile = cursor.getValue() instanceof SourceFile ?
+                    cursor.getValue() :
+                    cursor.firstEnclosing(SourceFile.class);
+            event.sourcePath = sourceFile == null ? null : sourceFile.getSourcePath().toString();
+            event.nodeKind = cursor.getValue().getClass().getSimpleName();
+            event.commit();
+        }
+    }
+
+    private static StaticAnalysisEvent create(RecipeEvents.Kind kind) {
+        switch (kind) {
+            case RECIPE_VISIT:
+                return new RecipeVisitEvent();
+            case NESTED_TRAVERSAL:
+                return new NestedTraversalEvent();
+            case TEMPLATE_APPLY:
+                return new TemplateApplyEvent();
+            case AUTO_FORMAT:
+                return new AutoFormatEvent();
+            case STRUCTURAL_EQUALITY:
+            default:
+                return new StructuralEqualityEvent();
+        }
+    }
+
+    @Category({"OpenRewrite", "Static Analysis"})
+    @StackTrace(false)
+    abstract static class StaticAnalysisEvent extends Event {
+        @Label("Name")
+        String name;
+
+        @Label("Source Path")
+        String sourcePath;
+
+        @Label("Node Kind")
+        String nodeKind;
+    }
+
+    @Name("org.openrewrite.staticanalysis.RecipeVisit")
+    @Label("Recipe Visit")
+    @Description("A recipe visiting a source file.")
+    static class RecipeVisitEvent extends StaticAnalysisEvent {
+    }
+
+    @Name("org.openrewrite.staticanalysis.NestedTraversal")
+    @Label("Nested Traversal")
+    @Description("A visitor started from within another recipe's visitor.")
+    static class NestedTraversalEvent extends StaticAnalysisEvent {
+    }
+
+    @Name("org.openrewrite.staticanalysis.TemplateApply")
+    @Label("Template Apply")
+    @Description("A JavaTemplate being applied.")
+    static class TemplateApplyEvent extends StaticAnalysisEvent {
+    }
+
+    @Name("org.openrewrite.staticanalysis.AutoFormat")
+    @Label("Auto Format")
+    @Description("A subtree being formatted with autoFormat or maybeAutoFormat.")
+    static class AutoFormatEvent extends StaticAnalysisEvent {
+    }
+
+    @Name("org.openrewrite.staticanalysis.StructuralEquality")
+    @Label("Structural Equality")
+    @Description("Two subtrees being compared with StructurallyEqual.")
+    static class StructuralEqualityEvent extends StaticAnalysisEvent {
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.Recipe;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of the declarative composites over the whole {@link StaticAnalysisCorpus},
+ * reported in source files per second.
+ */
+@Fork(1)
+@Measurement(iterations = 3)
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class CompositeRecipeBenchmark {
+
+    @Param({
+            "org.openrewrite.staticanalysis.CommonStaticAnalysis",
+            "org.openrewrite.staticanalysis.CodeCleanup"
+    })
+    String recipeName;
+
+    Recipe recipe;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        recipe = StaticAnalysisCorpusState.fromRuntimeClasspath(recipeName);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(StaticAnalysisCorpus.SIZE)
+    public void run(StaticAnalysisCorpusState state, Blackhole blackhole) {
+        blackhole.consume(state.run(recipe).getChangeset().getAllResults());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CompositeRecipeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.Recipe;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Throughput of every individual recipe that is part of {@code CommonStaticAnalysis} or
+ * {@code CodeCleanup} over the whole {@link StaticAnalysisCorpus}, reported in source files
+ * per second. Narrow the run down with e.g. {@code -p recipeName=org.openrewrite.staticanalysis.FallThrough}.
+ */
+@Fork(1)
+@Measurement(iterations = 3)
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RecipeBenchmark {
+
+    @Param({
+            "org.openrewrite.staticanalysis.AddSerialVersionUidToSerializable",
+            "org.openrewrite.staticanalysis.AtomicPrimitiveEqualsUsesGet",
+            "org.openrewrite.staticanalysis.BigDecimalRoundingConstantsToEnums",
+            "org.openrewrite.staticanalysis.BooleanChecksNotInverted",
+            "org.openrewrite.staticanalysis.CaseInsensitiveComparisonsDoNotChangeCase",
+            "org.openrewrite.staticanalysis.CatchClauseOnlyRethrows",
+            "org.openrewrite.staticanalysis.ChainStringBuilderAppendCalls",
+            "org.openrewrite.staticanalysis.CovariantEquals",
+            "org.openrewrite.staticanalysis.DefaultComesLast",
+            "org.openrewrite.staticanalysis.EmptyBlock",
+            "org.openrewrite.staticanalysis.EqualsAvoidsNull",
+            "org.openrewrite.staticanalysis.ExplicitInitialization",
+            "org.openrewrite.staticanalysis.ExternalizableHasNoArgsConstructor",
+            "org.openrewrite.staticanalysis.FallThrough",
+            "org.openrewrite.staticanalysis.FinalClass",
+            "org.openrewrite.staticanalysis.FinalizePrivateFields",
+            "org.openrewrite.staticanalysis.FixStringFormatExpressions",
+            "org.openrewrite.staticanalysis.ForLoopControlVariablePostfixOperators",
+            "org.openrewrite.staticanalysis.ForLoopIncrementInUpdate",
+            "org.openrewrite.staticanalysis.HideUtilityClassConstructor",
+            "org.openrewrite.staticanalysis.IndexOfChecksShouldUseAStartPosition",
+            "org.openrewrite.staticanalysis.IndexOfReplaceableByContains",
+            "org.openrewrite.staticanalysis.IndexOfShouldNotCompareGreaterThanZero",
+            "org.openrewrite.staticanalysis.InlineVariable",
+            "org.openrewrite.staticanalysis.IsEmptyCallOnCollections",
+            "org.openrewrite.staticanalysis.LambdaBlockToExpression",
+            "org.openrewrite.staticanalysis.LowercasePackage",
+            "org.openrewrite.staticanalysis.MethodNameCasing",
+            "org.openrewrite.staticanalysis.MinimumSwitchCases",
+            "org.openrewrite.staticanalysis.ModifierOrder",
+            "org.openrewrite.staticanalysis.MultipleVariableDeclarations",
+            "org.openrewrite.staticanalysis.NeedBraces",
+            "org.openrewrite.staticanalysis.NestedEnumsAreNotStatic",
+            "org.openrewrite.staticanalysis.NewStringBuilderBufferWithCharArgument",
+            "org.openrewrite.staticanalysis.NoDoubleBraceInitialization",
+            "org.openrewrite.staticanalysis.NoEmptyCollectionWithRawType",
+            "org.openrewrite.staticanalysis.NoEqualityInForCondition",
+            "org.openrewrite.staticanalysis.NoFinalizer",
+            "org.openrewrite.staticanalysis.NoPrimitiveWrappersForToStringOrCompareTo",
+            "org.openrewrite.staticanalysis.NoRedundantJumpStatements",
+            "org.openrewrite.staticanalysis.NoToStringOnStringType",
+            "org.openrewrite.staticanalysis.NoValueOfOnStringType",
+            "org.openrewrite.staticanalysis.ObjectFinalizeCallsSuper",
+            "org.openrewrite.staticanalysis.OperatorWrap",
+            "org.openrewrite.staticanalysis.PrimitiveWrapperClassConstructorToValueOf",
+            "org.openrewrite.staticanalysis.RedundantFileCreation",
+            "org.openrewrite.staticanalysis.RemoveExtraSemicolons",
+            "org.openrewrite.staticanalysis.RenameLocalVariablesToCamelCase",
+            "org.openrewrite.staticanalysis.RenameMethodsNamedHashcodeEqualOrTostring",
+            "org.openrewrite.staticanalysis.RenamePrivateFieldsToCamelCase",
+            "org.openrewrite.staticanalysis.ReplaceLambdaWithMethodReference",
+            "org.openrewrite.staticanalysis.ReplaceStringBuilderWithString",
+            "org.openrewrite.staticanalysis.StaticMethodNotFinal",
+            "org.openrewrite.staticanalysis.StringLiteralEquality",
+            "org.openrewrite.staticanalysis.TypecastParenPad",
+            "org.openrewrite.staticanalysis.UnnecessaryCloseInTryWithResources",
+            "org.openrewrite.staticanalysis.UnnecessaryExplicitTypeArguments",
+            "org.openrewrite.staticanalysis.UnnecessaryPrimitiveAnnotations",
+            "org.openrewrite.staticanalysis.UpperCaseLiteralSuffixes",
+            "org.openrewrite.staticanalysis.UseDiamondOperator",
+            "org.openrewrite.staticanalysis.UseJavaStyleArrayDeclarations",
+            "org.openrewrite.staticanalysis.UseLambdaForFunctionalInterface",
+            "org.openrewrite.staticanalysis.WhileInsteadOfFor",
+            "org.openrewrite.staticanalysis.WriteOctalValuesAsDecimal"
+    })
+    String recipeName;
+
+    Recipe recipe;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        recipe = StaticAnalysisCorpusState.fromRuntimeClasspath(recipeName);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(StaticAnalysisCorpus.SIZE)
+    public void run(StaticAnalysisCorpusState state, Blackhole blackhole) {
+        blackhole.consume(state.run(recipe).getChangeset().getAllResults());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RecipeBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.*;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the recipes that are known to be the most expensive in {@code CommonStaticAnalysis}
+ * against the single corpus file that was written to trigger them.
+ */
+@Fork(1)
+@Measurement(iterations = 3)
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class ScenarioBenchmark {
+
+    public enum Scenario {
+        CombineSemanticallyEqualCatchBlocks(new CombineSemanticallyEqualCatchBlocks(), StaticAnalysisCorpus.CATCH_BLOCKS),
+        ReplaceDuplicateStringLiterals(new ReplaceDuplicateStringLiterals(true), StaticAnalysisCorpus.DUPLICATE_STRING_LITERALS),
+        FallThrough(new FallThrough(), StaticAnalysisCorpus.FALL_THROUGH),
+        RenameLocalVariablesToCamelCase(new RenameLocalVariablesToCamelCase(), StaticAnalysisCorpus.SNAKE_CASE_LOCALS),
+        ReplaceOptionalIsPresentWithIfPresent(new ReplaceOptionalIsPresentWithIfPresent(), StaticAnalysisCorpus.OPTIONAL_IS_PRESENT);
+
+        final Recipe recipe;
+        final String source;
+
+        Scenario(Recipe recipe, String source) {
+            this.recipe = recipe;
+            this.source = source;
+        }
+    }
+
+    @Param
+    Scenario scenario;
+
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        sourceFiles = JavaParser.fromJavaVersion()
+                .build()
+                .parse(new InMemoryExecutionContext(Throwable::printStackTrace), scenario.source)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void run(Blackhole blackhole) {
+        blackhole.consume(scenario.recipe
+                .run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext())
+                .getChangeset()
+                .getAllResults());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ScenarioBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
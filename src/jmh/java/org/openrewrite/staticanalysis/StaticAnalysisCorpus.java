@@ -0,0 +1,252 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+/**
+ * A small, fixed corpus of Java sources that exercises the recipes in
+ * {@code org.openrewrite.staticanalysis.CommonStaticAnalysis}. Each scenario is kept stable
+ * so that benchmark results remain comparable across releases.
+ */
+final class StaticAnalysisCorpus {
+    static final String CATCH_BLOCKS = """
+      package corpus;
+
+      import java.io.FileNotFoundException;
+      import java.io.IOException;
+
+      class CatchBlocks {
+          void method() {
+              try {
+                  read();
+              } catch (FileNotFoundException ex) {
+                  handle(ex);
+              } catch (IllegalStateException ex) {
+                  handle(ex);
+              } catch (IllegalArgumentException ex) {
+                  handle(ex);
+              } catch (UnsupportedOperationException ex) {
+                  handle(ex);
+              } catch (IOException ex) {
+                  handle(ex);
+              } catch (RuntimeException ex) {
+                  System.out.println(ex);
+              }
+          }
+
+          void read() throws IOException {
+          }
+
+          void handle(Exception ex) {
+          }
+      }
+      """;
+
+    static final String DUPLICATE_STRING_LITERALS = """
+      package corpus;
+
+      class DuplicateStringLiterals {
+          String a = "duplicate";
+          String b = "duplicate";
+          String c = "duplicate";
+
+          String first() {
+              return "another duplicate" + "duplicate";
+          }
+
+          String second() {
+              return "another duplicate" + "yet another duplicate";
+          }
+
+          String third() {
+              return "yet another duplicate" + "another duplicate";
+          }
+
+          String fourth() {
+              return "yet another duplicate";
+          }
+      }
+      """;
+
+    static final String FALL_THROUGH = """
+      package corpus;
+
+      class FallThrough {
+          int method(int i) {
+              int j = 0;
+              switch (i) {
+                  case 0:
+                      j++;
+                  case 1:
+                      j++;
+                  case 2:
+                      j++;
+                  case 3:
+                      j++;
+                  case 4:
+                      j++;
+                      break;
+                  default:
+                      j--;
+              }
+              return j;
+          }
+      }
+      """;
+
+    static final String SNAKE_CASE_LOCALS = """
+      package corpus;
+
+      class SnakeCaseLocals {
+          private int some_field = 0;
+
+          int method(int some_param) {
+              int first_local = some_param;
+              int second_local = first_local + some_field;
+              int third_local = second_local * first_local;
+              for (int loop_index = 0; loop_index < third_local; loop_index++) {
+                  int inner_local = loop_index + first_local;
+                  some_field += inner_local;
+              }
+              return third_local;
+          }
+      }
+      """;
+
+    static final String OPTIONAL_IS_PRESENT = """
+      package corpus;
+
+      import java.util.List;
+      import java.util.Optional;
+
+      class OptionalIsPresent {
+          void method(Optional<String> o, List<String> values) {
+              if (o.isPresent()) {
+                  values.add(o.get());
+              }
+              if (o.isPresent()) {
+                  System.out.println(o.get());
+              }
+          }
+      }
+      """;
+
+    static final String COLLECTIONS_AND_STRINGS = """
+      package corpus;
+
+      import java.util.List;
+      import java.util.concurrent.atomic.AtomicInteger;
+
+      class CollectionsAndStrings {
+          boolean indexOf(List<String> list, String s) {
+              if (list.size() == 0) {
+                  return false;
+              }
+              return list.indexOf(s) > 0 || s.indexOf("a") >= 0;
+          }
+
+          String strings(String s, char c) {
+              StringBuilder sb = new StringBuilder(c);
+              sb.append(s.toString()).append(String.valueOf(s));
+              Integer i = new Integer(1);
+              return sb.toString() + i;
+          }
+
+          boolean atomics(AtomicInteger a, AtomicInteger b) {
+              return a.equals(b) || "x" == new String("x");
+          }
+      }
+      """;
+
+    static final String LAMBDAS = """
+      package corpus;
+
+      import java.util.List;
+      import java.util.function.Function;
+
+      class Lambdas {
+          Runnable runnable() {
+              return new Runnable() {
+                  @Override
+                  public void run() {
+                      System.out.println("run");
+                  }
+              };
+          }
+
+          List<String> map(List<Integer> ints) {
+              Function<Integer, String> f = i -> {
+                  return String.valueOf(i);
+              };
+              return ints.stream().map(i -> f.apply(i)).toList();
+          }
+      }
+      """;
+
+    static final String CLASS_STRUCTURE = """
+      package corpus;
+
+      import java.io.Serializable;
+
+      class ClassStructure implements Serializable {
+          private String name = null;
+          private int count = 0;
+
+          public ClassStructure(String name) {
+              this.name = name;
+          }
+
+          public static final void staticMethod() {
+          }
+
+          public boolean equals(ClassStructure other) {
+              return name.equals(other.name);
+          }
+
+          int loop(int n) {
+              int total = 0;
+              for (; total < n; ) {
+                  total++;
+              }
+              long big = 10l;
+              return (int) (total + big + 010);
+          }
+      }
+      """;
+
+    private static final String[] SOURCES = {
+            CATCH_BLOCKS,
+            DUPLICATE_STRING_LITERALS,
+            FALL_THROUGH,
+            SNAKE_CASE_LOCALS,
+            OPTIONAL_IS_PRESENT,
+            COLLECTIONS_AND_STRINGS,
+            LAMBDAS,
+            CLASS_STRUCTURE
+    };
+
+    /**
+     * Must be a compile-time constant so it can be used in {@code @OperationsPerInvocation},
+     * which turns per-invocation throughput into files per second.
+     */
+    static final int SIZE = 8;
+
+    private StaticAnalysisCorpus() {
+    }
+
+    static String[] sources() {
+        return SOURCES.clone();
+    }
+}
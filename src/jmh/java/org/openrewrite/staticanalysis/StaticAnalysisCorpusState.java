@@ -0,0 +1,61 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openrewrite.*;
+import org.openrewrite.config.Environment;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Parses the {@link StaticAnalysisCorpus} exactly once per trial so that benchmarks only
+ * measure recipe execution and never parsing.
+ */
+@State(Scope.Benchmark)
+public class StaticAnalysisCorpusState {
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        sourceFiles = JavaParser.fromJavaVersion()
+                .build()
+                .parse(ctx, StaticAnalysisCorpus.sources())
+                .collect(Collectors.toList());
+        if (sourceFiles.size() != StaticAnalysisCorpus.SIZE) {
+            throw new IllegalStateException("Expected " + StaticAnalysisCorpus.SIZE +
+                                            " parsed source files but found " + sourceFiles.size());
+        }
+    }
+
+    RecipeRun run(Recipe recipe) {
+        return recipe.run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext());
+    }
+
+    static Recipe fromRuntimeClasspath(String recipe) {
+        return Environment.builder()
+                .scanRuntimeClasspath("org.openrewrite.staticanalysis")
+                .build()
+                .activateRecipes(recipe);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openrewrite.*;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Runs the recipes whose cost grows with the size of a compilation unit against a single
+ * {@link StressCorpusGenerator generated} compilation unit. Comparing the scores for the
+ * different {@code scale} values shows how each recipe scales with the size of its input.
+ */
+@Fork(1)
+@Measurement(iterations = 3)
+@Warmup(iterations = 3)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class StressCorpusBenchmark {
+
+    public enum StressedRecipe {
+        CombineSemanticallyEqualCatchBlocks(new CombineSemanticallyEqualCatchBlocks()),
+        FallThrough(new FallThrough()),
+        HiddenField(new HiddenField()),
+        RemoveUnusedPrivateFields(new RemoveUnusedPrivateFields()),
+        RenameLocalVariablesToCamelCase(new RenameLocalVariablesToCamelCase()),
+        ReplaceDuplicateStringLiterals(new ReplaceDuplicateStringLiterals(true));
+
+        final Recipe recipe;
+
+        StressedRecipe(Recipe recipe) {
+            this.recipe = recipe;
+        }
+    }
+
+    @Param
+    StressedRecipe stressedRecipe;
+
+    @Param({"1", "2", "4", "8"})
+    int scale;
+
+    @Param("42")
+    long seed;
+
+    List<SourceFile> sourceFiles;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        String source = new StressCorpusGenerator(StressCorpusGenerator.Shape.SMALL.scale(scale), seed)
+                .generateClass("Stress");
+        sourceFiles = JavaParser.fromJavaVersion()
+                .build()
+                .parse(new InMemoryExecutionContext(Throwable::printStackTrace), source)
+                .collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public void run(Blackhole blackhole) {
+        blackhole.consume(stressedRecipe.recipe
+                .run(new InMemoryLargeSourceSet(sourceFiles), new InMemoryExecutionContext())
+                .getChangeset()
+                .getAllResults());
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(StressCorpusBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .shouldFailOnError(true)
+                .build();
+        new Runner(opt).run();
+    }
+}
@@ -53,6 +53,10 @@ public class AddSerialVersionUidToSerializable extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return ClassParallelism.perClassDeclaration(this::classVisitor);
+    }
+
+    private JavaIsoVisitor<ExecutionContext> classVisitor() {
         return new JavaIsoVisitor<ExecutionContext>() {
             final JavaTemplate template = JavaTemplate.builder("private static final long serialVersionUID = 1;").contextSensitive().build();
 
@@ -71,7 +75,7 @@ public class AddSerialVersionUidToSerializable extends Recipe {
             @Override
             public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, ExecutionContext ctx) {
                 J.ClassDeclaration c = super.visitClassDeclaration(classDecl, ctx);
-                if(c.getKind() != J.ClassDeclaration.Kind.Type.Class || !requiresSerialVersionField(classDecl.getType())) {
+                if(c.getKind() != J.ClassDeclaration.Kind.Type.Class || !requiresSerialVersionField(classDecl.getType(), TypeHierarchy.of(ctx))) {
                     return c;
                 }
                 AtomicBoolean needsSerialVersionId = new AtomicBoolean(true);
@@ -113,21 +117,21 @@ public class AddSerialVersionUidToSerializable extends Recipe {
                 return varDecls;
             }
 
-            private boolean requiresSerialVersionField(@Nullable JavaType type) {
+            private boolean requiresSerialVersionField(@Nullable JavaType type, TypeHierarchy hierarchy) {
                 if (type == null) {
                     return false;
                 } else if (type instanceof JavaType.Primitive) {
                     return true;
                 } else if (type instanceof JavaType.Array) {
-                    return requiresSerialVersionField(((JavaType.Array) type).getElemType());
+                    return requiresSerialVersionField(((JavaType.Array) type).getElemType(), hierarchy);
                 } else if (type instanceof JavaType.Parameterized) {
                     JavaType.Parameterized parameterized = (JavaType.Parameterized) type;
-                    if (parameterized.isAssignableTo("java.util.Collection") || parameterized.isAssignableTo("java.util.Map")) {
+                    if (hierarchy.isAssignableTo("java.util.Collection", parameterized) || hierarchy.isAssignableTo("java.util.Map", parameterized)) {
                         //If the type is either a collection or a map, make sure the type parameters are serializable. We
                         //force all type parameters to be checked to correctly scoop up all non-serializable candidates.
                         boolean typeParametersSerializable = true;
                         for (JavaType typeParameter : parameterized.getTypeParameters()) {
-                            typeParametersSerializable = typeParametersSerializable && requiresSerialVersionField(typeParameter);
+                            typeParametersSerializable = typeParametersSerializable && requiresSerialVersionField(typeParameter, hierarchy);
                         }
                         return typeParametersSerializable;
                     }
@@ -137,8 +141,8 @@ public class AddSerialVersionUidToSerializable extends Recipe {
                     if (fq.getKind() == JavaType.Class.Kind.Enum) return false;
 
                     if (fq.getKind() != JavaType.Class.Kind.Interface &&
-                            !fq.isAssignableTo("java.lang.Throwable")) {
-                        return fq.isAssignableTo("java.io.Serializable");
+                            !hierarchy.isAssignableTo("java.lang.Throwable", fq)) {
+                        return hierarchy.isAssignableTo("java.io.Serializable", fq);
                     }
                 }
                 return false;
@@ -21,7 +21,6 @@ import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
@@ -31,7 +30,7 @@ import org.openrewrite.java.tree.TypeUtils;
 import java.util.Collections;
 import java.util.Set;
 
-public class AtomicPrimitiveEqualsUsesGet extends Recipe {
+public class AtomicPrimitiveEqualsUsesGet extends Recipe implements FusibleRecipe {
 
     @Override
     public String getDisplayName() {
@@ -50,11 +49,16 @@ public class AtomicPrimitiveEqualsUsesGet extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(Preconditions.or(
+        return getFusibleVisitor().withPrecondition();
+    }
+
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
+        return new FusibleVisitor(Preconditions.or(
                 new UsesType<>("java.util.concurrent.atomic.AtomicBoolean", true),
                 new UsesType<>("java.util.concurrent.atomic.AtomicInteger", true),
                 new UsesType<>("java.util.concurrent.atomic.AtomicLong", true)
-        ), new JavaVisitor<ExecutionContext>() {
+        ), J.MethodInvocation.class) {
             private final MethodMatcher aiMethodMatcher = new MethodMatcher("java.lang.Object equals(java.lang.Object)");
 
             @Override
@@ -83,6 +87,6 @@ public class AtomicPrimitiveEqualsUsesGet extends Recipe {
                 }
                 return false;
             }
-        });
+        };
     }
 }
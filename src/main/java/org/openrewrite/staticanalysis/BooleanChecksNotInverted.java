@@ -50,7 +50,7 @@ public class BooleanChecksNotInverted extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.Unary.class), new JavaVisitor<ExecutionContext>() {
 
             @SuppressWarnings("ConstantConditions")
             @Override
@@ -82,6 +82,6 @@ public class BooleanChecksNotInverted extends Recipe {
                 }
                 return super.visitUnary(unary, ctx);
             }
-        };
+        });
     }
 }
@@ -56,7 +56,7 @@ public class CatchClauseOnlyRethrows extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.Try.class), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
                 J.Block b = super.visitBlock(block, ctx);
@@ -110,6 +110,6 @@ public class CatchClauseOnlyRethrows extends Recipe {
 
                 return false;
             }
-        };
+        });
     }
 }
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.*;
+import org.openrewrite.config.DataTableDescriptor;
+import org.openrewrite.config.RecipeDescriptor;
+import org.openrewrite.internal.lang.Nullable;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Runs recipes on the source files that changed, for example in a pull request, instead of on every source file.
+ * <p>
+ * Recipes only visit the changed source files. Scanning recipes only scan the changed source files, so that they only
+ * collect the findings in those, but they still edit any source file. A method or package renamed because of a finding in
+ * a changed source file must also be renamed where it is referenced, and scanning recipes already limit their edits to
+ * the source files that are affected by what they collected:
+ * <pre>{@code
+ * List<Path> changed = ...; // the paths printed by `git diff --name-only`, relative to the repository root
+ * ChangedFiles.only(commonStaticAnalysis, changed).run(sourceSet, ctx);
+ * }</pre>
+ */
+public class ChangedFiles {
+
+    private ChangedFiles() {
+    }
+
+    /**
+     * @param recipe       the recipe to run, including all the recipes in its recipe list.
+     * @param changedPaths the paths of the changed source files, relative to the root of the source set.
+     * @return a recipe that behaves like {@code recipe}, but only on the changed source files.
+     */
+    public static Recipe only(Recipe recipe, Collection<Path> changedPaths) {
+        Set<Path> changed = new HashSet<>();
+        for (Path path : changedPaths) {
+            changed.add(path.normalize());
+        }
+        return only(recipe, Collections.unmodifiableSet(changed));
+    }
+
+    private static Recipe only(Recipe recipe, Set<Path> changed) {
+        if (recipe instanceof ScanningRecipe) {
+            return onlyScanning((ScanningRecipe<?>) recipe, changed);
+        }
+        return new ChangedFilesRecipe(recipe, changed);
+    }
+
+    private static <T> Recipe onlyScanning(ScanningRecipe<T> recipe, Set<Path> changed) {
+        return new ChangedFilesScanningRecipe<>(recipe, changed);
+    }
+
+    private static class ChangedFilesVisitor extends TreeVisitor<Tree, ExecutionContext> {
+        private final TreeVisitor<?, ExecutionContext> delegate;
+        private final Set<Path> changed;
+
+        ChangedFilesVisitor(TreeVisitor<?, ExecutionContext> delegate, Set<Path> changed) {
+            this.delegate = delegate;
+            this.changed = changed;
+        }
+
+        @Override
+        public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+            return changed.contains(sourceFile.getSourcePath().normalize()) && delegate.isAcceptable(sourceFile, ctx);
+        }
+
+        @Override
+        public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+            return delegate.visit(tree, ctx, getCursor());
+        }
+    }
+
+    private static class ChangedFilesRecipe extends Recipe {
+        private final Recipe delegate;
+        private final transient Set<Path> changed;
+        private final List<Recipe> recipeList;
+
+        ChangedFilesRecipe(Recipe delegate, Set<Path> changed) {
+            this.delegate = delegate;
+            this.changed = changed;
+            // built once, because the accumulators of scanning recipes are kept per recipe instance
+            this.recipeList = delegate.getRecipeList().stream()
+                    .map(r -> only(r, changed))
+                    .collect(toList());
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public @Nullable Duration getEstimatedEffortPerOccurrence() {
+            return delegate.getEstimatedEffortPerOccurrence();
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new ChangedFilesVisitor(delegate.getVisitor(), changed);
+        }
+
+        @Override
+        protected RecipeDescriptor createRecipeDescriptor() {
+            return delegate.getDescriptor();
+        }
+
+        @Override
+        public List<DataTableDescriptor> getDataTableDescriptors() {
+            return delegate.getDataTableDescriptors();
+        }
+
+        @Override
+        public Validated validate() {
+            return delegate.validate();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return recipeList;
+        }
+    }
+
+    private static class ChangedFilesScanningRecipe<T> extends ScanningRecipe<T> {
+        private final ScanningRecipe<T> delegate;
+        private final transient Set<Path> changed;
+        private final List<Recipe> recipeList;
+
+        ChangedFilesScanningRecipe(ScanningRecipe<T> delegate, Set<Path> changed) {
+            this.delegate = delegate;
+            this.changed = changed;
+            // built once, because the accumulators of scanning recipes are kept per recipe instance
+            this.recipeList = delegate.getRecipeList().stream()
+                    .map(r -> only(r, changed))
+                    .collect(toList());
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public @Nullable Duration getEstimatedEffortPerOccurrence() {
+            return delegate.getEstimatedEffortPerOccurrence();
+        }
+
+        @Override
+        public T getInitialValue(ExecutionContext ctx) {
+            return delegate.getInitialValue(ctx);
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getScanner(T acc) {
+            return new ChangedFilesVisitor(delegate.getScanner(acc), changed);
+        }
+
+        @Override
+        public Collection<? extends SourceFile> generate(T acc, ExecutionContext ctx) {
+            return delegate.generate(acc, ctx);
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor(T acc) {
+            return delegate.getVisitor(acc);
+        }
+
+        @Override
+        protected RecipeDescriptor createRecipeDescriptor() {
+            return delegate.getDescriptor();
+        }
+
+        @Override
+        public List<DataTableDescriptor> getDataTableDescriptors() {
+            return delegate.getDataTableDescriptors();
+        }
+
+        @Override
+        public Validated validate() {
+            return delegate.validate();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return recipeList;
+        }
+    }
+}
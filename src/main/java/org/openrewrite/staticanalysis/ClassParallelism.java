@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.Statement;
+import org.openrewrite.marker.Markers;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+/**
+ * Visits the top-level classes of large compilation units concurrently, each with a visitor of its own.
+ * <p>
+ * Only recipes whose analysis is confined to a top-level class can use this, such as the recipes that reason about
+ * private members, which are only accessible from within their top-level class. The classes are visited with a cursor
+ * that points to the compilation unit as it was before any of them was visited, and the package declaration and imports
+ * are not visited. So the visitors must not edit the package declaration or imports, and neither they nor the visitors
+ * they queue with {@code doAfterVisit} may read the compilation unit from the cursor, for example to index its scopes
+ * with {@link ScopeIndex}, because it doesn't contain their edits. Compilation units with fewer than
+ * {@link #MINIMUM_STATEMENTS} statements in their classes are visited serially, as usual.
+ * <p>
+ * A compilation unit with a single top-level class is only split for visitors whose analysis of a class is confined to
+ * its own body, see {@link #perClassDeclaration(Supplier)}. Their member classes are visited concurrently with the rest
+ * of the top-level class.
+ * <p>
+ * Whatever the visitors share about the compilation unit, such as its {@link VariableWrites}, has to be computed on the
+ * calling thread and handed to them, see {@link #perTopLevelClass(Function)}. Values cached per source file, like
+ * {@link SourceFileCache}, are cached per thread, so every thread of the pool would compute them again.
+ */
+final class ClassParallelism {
+    static final int MINIMUM_STATEMENTS = 500;
+
+    private ClassParallelism() {
+    }
+
+    /**
+     * @param visitor creates a new visitor for every compilation unit or top-level class.
+     * @return a visitor that applies the visitors supplied by {@code visitor} to large compilation units concurrently.
+     */
+    static TreeVisitor<?, ExecutionContext> perTopLevelClass(Supplier<? extends TreeVisitor<?, ExecutionContext>> visitor) {
+        return perCompilationUnit(cursor -> visitor, false);
+    }
+
+    /**
+     * Like {@link #perTopLevelClass(Supplier)}, for visitors that share what they know of the compilation unit.
+     *
+     * @param visitor called once for every compilation unit on the calling thread, with a cursor pointing to it, to
+     *                create the supplier of the visitors for the compilation unit or its top-level classes.
+     * @return a visitor that applies the visitors supplied by {@code visitor} to large compilation units concurrently.
+     */
+    static TreeVisitor<?, ExecutionContext> perTopLevelClass(Function<Cursor, ? extends Supplier<? extends TreeVisitor<?, ExecutionContext>>> visitor) {
+        return perCompilationUnit(visitor, false);
+    }
+
+    /**
+     * Like {@link #perTopLevelClass(Supplier)}, but also splits a lone top-level class into its member classes, for
+     * visitors that analyze every class declaration by its own body and type only.
+     *
+     * @param visitor creates a new visitor for every compilation unit, top-level class or member class.
+     * @return a visitor that applies the visitors supplied by {@code visitor} to large compilation units concurrently.
+     */
+    static TreeVisitor<?, ExecutionContext> perClassDeclaration(Supplier<? extends TreeVisitor<?, ExecutionContext>> visitor) {
+        return perCompilationUnit(cursor -> visitor, true);
+    }
+
+    private static TreeVisitor<?, ExecutionContext> perCompilationUnit(Function<Cursor, ? extends Supplier<? extends TreeVisitor<?, ExecutionContext>>> visitor,
+                                                                       boolean splitMemberClasses) {
+        return new JavaVisitor<ExecutionContext>() {
+            @Override
+            public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+                if (tree == null) {
+                    return null;
+                }
+                Supplier<? extends TreeVisitor<?, ExecutionContext>> visitors = visitor.apply(new Cursor(getCursor(), tree));
+                if (tree instanceof JavaSourceFile) {
+                    return ClassParallelism.visit((JavaSourceFile) tree, ctx, visitors, splitMemberClasses);
+                }
+                return (J) visitors.get().visit(tree, ctx, getCursor());
+            }
+        };
+    }
+
+    private static JavaSourceFile visit(JavaSourceFile sourceFile, ExecutionContext ctx, Supplier<? extends TreeVisitor<?, ExecutionContext>> visitor,
+                                        boolean splitMemberClasses) {
+        if (sourceFile instanceof J.CompilationUnit && isLarge((J.CompilationUnit) sourceFile)) {
+            J.CompilationUnit cu = (J.CompilationUnit) sourceFile;
+            if (cu.getClasses().size() > 1) {
+                return perTopLevelClass(cu, ctx, visitor);
+            }
+            if (splitMemberClasses && cu.getClasses().size() == 1) {
+                J.CompilationUnit visited = perMemberClass(cu, ctx, visitor);
+                if (visited != null) {
+                    return visited;
+                }
+            }
+        }
+        return (JavaSourceFile) visitor.get().visitNonNull(sourceFile, ctx);
+    }
+
+    private static J.CompilationUnit perTopLevelClass(J.CompilationUnit cu, ExecutionContext ctx,
+                                                      Supplier<? extends TreeVisitor<?, ExecutionContext>> visitor) {
+        List<J.ClassDeclaration> classes = cu.getClasses();
+        J.ClassDeclaration[] visited = new J.ClassDeclaration[classes.size()];
+        IntStream.range(0, classes.size()).parallel().forEach(i -> {
+            // every class gets its own cursor, because cursor messages are not safe to share between threads
+            Cursor parent = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), cu);
+            visited[i] = (J.ClassDeclaration) visitor.get().visit(classes.get(i), ctx, parent);
+        });
+        return cu.withClasses(ListUtils.map(classes, (i, c) -> visited[i]));
+    }
+
+    /**
+     * Visits the member classes of the only top-level class concurrently with the rest of it, which is visited with an
+     * empty statement in place of each member class.
+     *
+     * @return the visited compilation unit, or null if it has too few member classes or the visitor of the top-level
+     * class removed the place of a member class, in which case it has to be visited serially.
+     */
+    private static @Nullable J.CompilationUnit perMemberClass(J.CompilationUnit cu, ExecutionContext ctx,
+                                                             Supplier<? extends TreeVisitor<?, ExecutionContext>> visitor) {
+        J.ClassDeclaration outer = cu.getClasses().get(0);
+        List<J.ClassDeclaration> members = new ArrayList<>();
+        for (Statement statement : outer.getBody().getStatements()) {
+            if (statement instanceof J.ClassDeclaration) {
+                members.add((J.ClassDeclaration) statement);
+            }
+        }
+        if (members.isEmpty()) {
+            return null;
+        }
+        J.ClassDeclaration shell = outer.withBody(outer.getBody().withStatements(ListUtils.map(outer.getBody().getStatements(),
+                s -> s instanceof J.ClassDeclaration ? new J.Empty(s.getId(), s.getPrefix(), Markers.EMPTY) : s)));
+
+        Tree[] visited = new Tree[members.size() + 1];
+        IntStream.range(0, visited.length).parallel().forEach(i -> {
+            Cursor root = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), cu);
+            if (i == members.size()) {
+                visited[i] = visitor.get().visit(shell, ctx, root);
+            } else {
+                Cursor parent = new Cursor(new Cursor(root, outer), outer.getBody());
+                visited[i] = visitor.get().visit(members.get(i), ctx, parent);
+            }
+        });
+
+        if (!(visited[members.size()] instanceof J.ClassDeclaration)) {
+            return null;
+        }
+        J.ClassDeclaration visitedShell = (J.ClassDeclaration) visited[members.size()];
+        Map<UUID, J.ClassDeclaration> visitedMembers = new HashMap<>();
+        for (int i = 0; i < members.size(); i++) {
+            visitedMembers.put(members.get(i).getId(), (J.ClassDeclaration) visited[i]);
+        }
+        Set<UUID> placed = new HashSet<>();
+        J.ClassDeclaration merged = visitedShell.withBody(visitedShell.getBody().withStatements(ListUtils.map(visitedShell.getBody().getStatements(), s -> {
+            if (s instanceof J.Empty && visitedMembers.containsKey(s.getId())) {
+                placed.add(s.getId());
+                return visitedMembers.get(s.getId());
+            }
+            return s;
+        })));
+        return placed.size() == members.size() ? cu.withClasses(Collections.singletonList(merged)) : null;
+    }
+
+    private static boolean isLarge(J.CompilationUnit cu) {
+        int statements = 0;
+        for (J.ClassDeclaration classDecl : cu.getClasses()) {
+            statements += statements(classDecl);
+        }
+        return statements >= MINIMUM_STATEMENTS;
+    }
+
+    private static int statements(J.ClassDeclaration classDecl) {
+        int statements = 0;
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            statements += statement instanceof J.ClassDeclaration ? statements((J.ClassDeclaration) statement) : 1;
+        }
+        return statements;
+    }
+}
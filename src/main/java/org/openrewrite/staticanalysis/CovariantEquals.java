@@ -50,6 +50,6 @@ public class CovariantEquals extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new CovariantEqualsVisitor<>();
+        return SourceFileFacts.check(facts -> facts.declaresMethodNamed("equals"), new CovariantEqualsVisitor<>());
     }
 }
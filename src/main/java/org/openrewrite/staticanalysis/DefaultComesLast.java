@@ -53,7 +53,7 @@ public class DefaultComesLast extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new DefaultComesLastFromCompilationUnitStyle();
+        return SourceFileFacts.check(facts -> facts.contains(J.Switch.class), new DefaultComesLastFromCompilationUnitStyle());
     }
 
     private static class DefaultComesLastFromCompilationUnitStyle extends JavaIsoVisitor<ExecutionContext> {
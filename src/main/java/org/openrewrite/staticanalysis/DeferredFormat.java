@@ -0,0 +1,139 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import lombok.With;
+import org.openrewrite.Cursor;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.marker.Marker;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Formats the subtrees that a visitor edits in one pass over the source file, once the visitor is done with it,
+ * instead of formatting each edit as it is made.
+ * <p>
+ * Edited subtrees are marked as needing format. The first mark queues a formatting pass with
+ * {@link TreeVisitor#doAfterVisit(TreeVisitor)}, which formats each outermost marked subtree once, in its final
+ * position, and removes the marks. A visitor that is reused, for example on one subtree after another, queues a new
+ * pass for each use. Visitors that are not visiting a whole source file format immediately.
+ */
+final class DeferredFormat {
+    private static final String PASSES_QUEUED = DeferredFormat.class.getName() + ".PASSES_QUEUED";
+
+    private DeferredFormat() {
+    }
+
+    /**
+     * The deferred equivalent of {@link JavaVisitor#autoFormat(J, Object)}.
+     *
+     * @param visitor the visitor that produced the subtree.
+     * @param j       the subtree to format.
+     * @return the subtree, marked as needing format.
+     */
+    static <J2 extends J, P> J2 autoFormat(JavaVisitor<P> visitor, J2 j, P p) {
+        Cursor sourceFileCursor = sourceFileCursor(visitor.getCursor());
+        if (sourceFileCursor == null) {
+            return visitor.autoFormat(j, p);
+        }
+        Set<TreeVisitor<?, ?>> queued = sourceFileCursor.computeMessageIfAbsent(PASSES_QUEUED,
+                k -> Collections.newSetFromMap(new IdentityHashMap<TreeVisitor<?, ?>, Boolean>()));
+        if (queued.add(visitor)) {
+            visitor.doAfterVisit(new FormatPass<>(queued, visitor));
+        }
+        return j.getMarkers().findFirst(NeedsFormat.class).isPresent() ? j :
+                j.withMarkers(j.getMarkers().add(new NeedsFormat()));
+    }
+
+    /**
+     * The deferred equivalent of {@link JavaVisitor#maybeAutoFormat(J, J, Object)}.
+     */
+    static <J2 extends J, P> J2 maybeAutoFormat(JavaVisitor<P> visitor, J2 before, J2 after, P p) {
+        return before == after ? after : autoFormat(visitor, after, p);
+    }
+
+    @Nullable
+    private static Cursor sourceFileCursor(Cursor cursor) {
+        for (Iterator<Cursor> it = cursor.getPathAsCursors(); it.hasNext(); ) {
+            Cursor c = it.next();
+            if (c.getValue() instanceof JavaSourceFile) {
+                return c;
+            }
+        }
+        return null;
+    }
+
+    private static class FormatPass<P> extends JavaVisitor<P> {
+        private final Set<TreeVisitor<?, ?>> queued;
+
+        /**
+         * The visitor that queued this pass, until the pass starts.
+         */
+        @Nullable
+        private TreeVisitor<?, ?> owner;
+
+        FormatPass(Set<TreeVisitor<?, ?>> queued, TreeVisitor<?, ?> owner) {
+            this.queued = queued;
+            this.owner = owner;
+        }
+
+        @Override
+        public @Nullable J visit(@Nullable Tree tree, P p) {
+            if (owner != null) {
+                // marks made by a later use of the owner need a pass of their own
+                queued.remove(owner);
+                owner = null;
+            }
+            if (tree instanceof J && ((J) tree).getMarkers().findFirst(NeedsFormat.class).isPresent()) {
+                // nested marks are covered by formatting the outermost marked subtree
+                J unmarked = new JavaIsoVisitor<P>() {
+                    @Override
+                    public J preVisit(J tree, P p) {
+                        return tree.withMarkers(tree.getMarkers().removeByType(NeedsFormat.class));
+                    }
+                }.visitNonNull(tree, p, getCursor());
+                Object event = RecipeEvents.begin(RecipeEvents.Kind.AUTO_FORMAT);
+                J formatted = autoFormat(unmarked, p, getCursor());
+                RecipeEvents.commit(event, "autoFormat", new Cursor(getCursor(), unmarked));
+                return formatted;
+            }
+            return super.visit(tree, p);
+        }
+    }
+
+    @Value
+    @With
+    @AllArgsConstructor
+    private static class NeedsFormat implements Marker {
+        UUID id;
+
+        NeedsFormat() {
+            id = Tree.randomId();
+        }
+    }
+}
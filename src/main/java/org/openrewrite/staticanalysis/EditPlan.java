@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.DeleteStatement;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.Statement;
+
+import java.util.*;
+
+/**
+ * Collects the edits that a visitor decides on while it visits a source file, and applies all of them in a single
+ * traversal once the visitor is done with the source file.
+ * <p>
+ * This replaces queueing a separate whole-file visitor with {@link TreeVisitor#doAfterVisit(TreeVisitor)} for every
+ * finding: a source file with k findings is walked once rather than k times. Edits are keyed by the id of the tree they
+ * target, so they apply to that tree in its final form, after every other change the visitor made.
+ */
+final class EditPlan<P> extends JavaVisitor<P> {
+    private static final String PLANS = EditPlan.class.getName() + ".PLANS";
+    private static final String PENDING_DELETES = EditPlan.class.getName() + ".PENDING_DELETES";
+
+    @FunctionalInterface
+    interface Edit<P> {
+        /**
+         * @param tree   the target tree, after its children have been visited.
+         * @param parent a cursor pointing at the parent of the target tree.
+         * @return the replacement for the target tree, or {@code null} to remove it.
+         */
+        @Nullable
+        J apply(J tree, Cursor parent, P p);
+    }
+
+    private final Set<UUID> removals = new HashSet<>();
+    private final Map<UUID, Statement> deletions = new HashMap<>();
+    private final Map<UUID, Edit<P>> replacements = new HashMap<>();
+    private final Set<Class<?>> afterVisitTypes = new HashSet<>();
+    private final TreeVisitor<?, P> owner;
+    private boolean started;
+
+    private EditPlan(TreeVisitor<?, P> owner) {
+        this.owner = owner;
+    }
+
+    /**
+     * @param visitor the visitor deciding on edits.
+     * @return the plan of the visitor for the source file it is visiting, applied after the visitor is done with it.
+     */
+    static <P> EditPlan<P> of(JavaVisitor<P> visitor) {
+        Cursor sourceFileCursor = null;
+        for (Iterator<Cursor> it = visitor.getCursor().getPathAsCursors(); it.hasNext(); ) {
+            Cursor c = it.next();
+            if (c.getValue() instanceof JavaSourceFile) {
+                sourceFileCursor = c;
+            }
+        }
+        if (sourceFileCursor == null) {
+            sourceFileCursor = visitor.getCursor();
+        }
+        Map<TreeVisitor<?, ?>, EditPlan<?>> plans = sourceFileCursor.computeMessageIfAbsent(PLANS, k -> new IdentityHashMap<TreeVisitor<?, ?>, EditPlan<?>>());
+        //noinspection unchecked
+        EditPlan<P> plan = (EditPlan<P>) plans.get(visitor);
+        if (plan == null) {
+            plan = new EditPlan<>(visitor);
+            plans.put(visitor, plan);
+            visitor.doAfterVisit(plan);
+        }
+        return plan;
+    }
+
+    /**
+     * Remove a tree from the list that contains it, such as a catch from a try.
+     */
+    EditPlan<P> remove(J tree) {
+        removals.add(tree.getId());
+        return this;
+    }
+
+    /**
+     * Delete a statement the way {@link DeleteStatement} does, replacing it with an empty block where a statement
+     * is required.
+     */
+    EditPlan<P> delete(Statement statement) {
+        deletions.put(statement.getId(), statement);
+        return this;
+    }
+
+    /**
+     * Replace a tree. Several replacements of the same tree apply in the order they were planned.
+     */
+    EditPlan<P> replace(J tree, Edit<P> edit) {
+        replacements.merge(tree.getId(), edit, (first, then) -> (t, parent, p) -> {
+            J j = first.apply(t, parent, p);
+            return j == null ? null : then.apply(j, parent, p);
+        });
+        return this;
+    }
+
+    /**
+     * Run a visitor on just the subtree of the given tree, with a cursor pointing at its actual position.
+     */
+    EditPlan<P> visit(J tree, TreeVisitor<?, P> visitor) {
+        return replace(tree, (t, parent, p) -> (J) visitor.visit(t, p, parent));
+    }
+
+    /**
+     * Run a whole-file visitor after the plan is applied, once no matter how many findings ask for it. The visitor is
+     * queued on the visitor owning the plan, so it runs even when the plan holds no other edit.
+     */
+    EditPlan<P> doAfterVisitOnce(TreeVisitor<?, P> visitor) {
+        if (afterVisitTypes.add(visitor.getClass())) {
+            owner.doAfterVisit(visitor);
+        }
+        return this;
+    }
+
+    boolean isEmpty() {
+        return removals.isEmpty() && deletions.isEmpty() && replacements.isEmpty();
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, P p) {
+        if (!started) {
+            started = true;
+            if (isEmpty()) {
+                return (J) tree;
+            }
+        }
+        if (!(tree instanceof J)) {
+            return super.visit(tree, p);
+        }
+        J j = (J) tree;
+        if (removals.contains(j.getId())) {
+            return null;
+        }
+        Statement deletion = deletions.get(j.getId());
+        if (deletion != null) {
+            // deleted by the nearest enclosing tree, which knows whether a statement is required here
+            Cursor parentTree = getCursor().getValue() instanceof Tree ? getCursor() : getCursor().getParentTreeCursor();
+            if (parentTree.getValue() instanceof J.If.Else) {
+                parentTree = parentTree.getParentTreeCursor();
+            }
+            parentTree.computeMessageIfAbsent(PENDING_DELETES, k -> new ArrayList<Statement>()).add(deletion);
+        }
+        J visited = super.visit(tree, p);
+        Edit<P> replacement = replacements.get(j.getId());
+        if (visited != null && replacement != null) {
+            visited = replacement.apply(visited, getCursor(), p);
+        }
+        return visited;
+    }
+
+    @Override
+    public J postVisit(J tree, P p) {
+        J j = super.postVisit(tree, p);
+        List<Statement> pendingDeletes = getCursor().pollMessage(PENDING_DELETES);
+        if (pendingDeletes != null) {
+            for (Statement statement : pendingDeletes) {
+                j = (J) new DeleteStatement<>(statement).visitNonNull(j, p, getCursor().getParentOrThrow());
+            }
+        }
+        return j;
+    }
+}
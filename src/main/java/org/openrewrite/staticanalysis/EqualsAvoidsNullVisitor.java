@@ -72,7 +72,7 @@ public class EqualsAvoidsNullVisitor<P> extends JavaIsoVisitor<P> {
     }
 
     private boolean matchesSelect(Expression expression, Expression select) {
-        return expression.printTrimmed(getCursor()).replaceAll("\\s", "").equals(select.printTrimmed(getCursor()).replaceAll("\\s", ""));
+        return StructurallyEqual.IGNORING_FORMATTING.areEqual(expression, select);
     }
 
     private static class RemoveUnnecessaryNullCheck<P> extends JavaVisitor<P> {
@@ -56,7 +56,7 @@ public class ExplicitLambdaArgumentTypes extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new ExplicitLambdaArgumentTypesVisitor();
+        return SourceFileFacts.check(facts -> facts.contains(J.Lambda.class), new ExplicitLambdaArgumentTypesVisitor());
     }
 
     private static class ExplicitLambdaArgumentTypesVisitor extends JavaIsoVisitor<ExecutionContext> {
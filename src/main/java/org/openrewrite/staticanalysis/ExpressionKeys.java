@@ -0,0 +1,57 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.J;
+
+/**
+ * Keys that identify names such as variables, fields, and packages without printing them. Two names have the same
+ * key when they only differ in whitespace and comments.
+ */
+final class ExpressionKeys {
+
+    private ExpressionKeys() {
+    }
+
+    /**
+     * @param expression an identifier, or a field access on an identifier such as {@code this.builder} or {@code com.example}.
+     * @return the dotted name, or {@code null} if the expression is not a name.
+     */
+    static @Nullable String nameOf(Expression expression) {
+        if (expression instanceof J.Identifier) {
+            return ((J.Identifier) expression).getSimpleName();
+        }
+        StringBuilder name = new StringBuilder();
+        return appendName(expression, name) ? name.toString() : null;
+    }
+
+    private static boolean appendName(Expression expression, StringBuilder name) {
+        if (expression instanceof J.Identifier) {
+            name.append(((J.Identifier) expression).getSimpleName());
+            return true;
+        } else if (expression instanceof J.FieldAccess) {
+            J.FieldAccess fieldAccess = (J.FieldAccess) expression;
+            if (!appendName(fieldAccess.getTarget(), name)) {
+                return false;
+            }
+            name.append('.').append(fieldAccess.getSimpleName());
+            return true;
+        }
+        return false;
+    }
+}
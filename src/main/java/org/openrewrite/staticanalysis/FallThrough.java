@@ -52,7 +52,7 @@ public class FallThrough extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new FallThroughFromCompilationUnitStyle();
+        return SourceFileFacts.check(facts -> facts.contains(J.Switch.class), new FallThroughFromCompilationUnitStyle());
     }
 
     private static class FallThroughFromCompilationUnitStyle extends JavaIsoVisitor<ExecutionContext> {
@@ -17,17 +17,16 @@ package org.openrewrite.staticanalysis;
 
 import lombok.EqualsAndHashCode;
 import lombok.Value;
+import org.openrewrite.Cursor;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.style.FallThroughStyle;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
-import java.util.ArrayList;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
+import java.util.*;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 
@@ -39,10 +38,20 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
      * This is currently non-user-configurable, though held within {@link FallThroughStyle}.
      */
     private static final Pattern RELIEF_PATTERN = Pattern.compile("falls?[ -]?thr(u|ough)");
+    private static final String NEXT_STATEMENTS = FallThroughVisitor.class.getName() + ".NEXT_STATEMENTS";
 
 
     FallThroughStyle style;
 
+    private static Map<Statement, Statement> nextStatements(J.Switch switch_) {
+        Map<Statement, Statement> nextStatements = new IdentityHashMap<>();
+        List<Statement> statements = switch_.getCases().getStatements();
+        for (int i = 0; i < statements.size() - 1; i++) {
+            nextStatements.put(statements.get(i), statements.get(i + 1));
+        }
+        return nextStatements;
+    }
+
     private static boolean isLastCase(J.Case case_, J.Switch switch_) {
         J.Block switchBlock = switch_.getCases();
         return case_ == switchBlock.getStatements().get(switchBlock.getStatements().size() - 1);
@@ -52,10 +61,12 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
     public J.Case visitCase(J.Case case_, P p) {
         J.Case c = super.visitCase(case_, p);
         if (getCursor().firstEnclosing(J.Switch.class) != null) {
-            J.Switch switch_ = getCursor().dropParentUntil(J.Switch.class::isInstance).getValue();
+            Cursor switchCursor = getCursor().dropParentUntil(J.Switch.class::isInstance);
+            J.Switch switch_ = switchCursor.getValue();
             if ((Boolean.TRUE.equals(style.getCheckLastCaseGroup()) || !isLastCase(c, switch_))) {
-                if (FindLastLineBreaksOrFallsThroughComments.find(switch_, c).isEmpty()) {
-                    doAfterVisit(new AddBreak<>(c));
+                Map<Statement, Statement> nextStatements = switchCursor.computeMessageIfAbsent(NEXT_STATEMENTS, k -> nextStatements(switch_));
+                if (FindLastLineBreaksOrFallsThroughComments.find(c, nextStatements.get(case_), getCursor().getParentOrThrow()).isEmpty()) {
+                    EditPlan.of(this).visit(c, new AddBreak<>(c));
                 }
             }
         }
@@ -79,12 +90,9 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
                         .map(s -> !(s instanceof J.Block))
                         .orElse(true)) {
                 List<Statement> statements = new ArrayList<>(c.getStatements());
-                J.Break breakToAdd = autoFormat(
-                        new J.Break(Tree.randomId(), Space.EMPTY, Markers.EMPTY, null),
-                        p
-                );
+                J.Break breakToAdd = new J.Break(Tree.randomId(), Space.EMPTY, Markers.EMPTY, null);
                 statements.add(breakToAdd);
-                c = c.withStatements(ListUtils.map(statements, stmt -> autoFormat(stmt, p)));
+                c = c.withStatements(ListUtils.map(statements, stmt -> DeferredFormat.autoFormat(this, stmt, p)));
             }
             return c;
         }
@@ -99,12 +107,9 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
                         .map(s -> !(s instanceof J.Block))
                         .orElse(true)) {
                 List<Statement> statements = b.getStatements();
-                J.Break breakToAdd = autoFormat(
-                        new J.Break(Tree.randomId(), Space.EMPTY, Markers.EMPTY, null),
-                        p
-                );
+                J.Break breakToAdd = new J.Break(Tree.randomId(), Space.EMPTY, Markers.EMPTY, null);
                 statements.add(breakToAdd);
-                b = b.withStatements(ListUtils.map(statements, stmt -> autoFormat(stmt, p)));
+                b = b.withStatements(ListUtils.map(statements, stmt -> DeferredFormat.autoFormat(this, stmt, p)));
             }
             return b;
         }
@@ -118,14 +123,35 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
          * If no results are found, it means we should append a {@link J.Break} to the provided {@link J.Case}.
          * A result is added to the set when the last line of the provided {@link J.Case} scope is either an acceptable "break"-able type,
          * specifically {@link J.Return}, {@link J.Break}, {@link J.Continue}, or {@link J.Throw}, or a "fallthrough" {@link Comment} matching a regular expression.
+         * <p>
+         * Only the case itself is searched, rather than the whole enclosing switch once per case.
          *
-         * @param enclosingSwitch The enclosing {@link J.Switch} subtree to search.
-         * @param scope           the {@link J.Case} to use as a target.
+         * @param scope         the {@link J.Case} to search.
+         * @param nextStatement the statement following the case in its switch, if any.
+         * @param parent        a cursor pointing at the parent of the case.
          * @return A set representing whether the last {@link Statement} is an acceptable "break"-able type or has a "fallthrough" comment.
          */
-        private static Set<J> find(J.Switch enclosingSwitch, J.Case scope) {
+        private static Set<J> find(J.Case scope, @Nullable Statement nextStatement, Cursor parent) {
             Set<J> references = new HashSet<>();
-            new FindLastLineBreaksOrFallsThroughCommentsVisitor(scope).visit(enclosingSwitch, references);
+            /*
+             * A last-line comment for a J.Case gets attached as a prefix comment in the next case
+             *
+             * <pre>
+             * SWITCH(..) {
+             *  CASE 1:
+             *      someStatement1; // fallthrough
+             *  CASE 2:
+             *      someStatement2;
+             * }
+             * </pre>
+             * <p>
+             * In order to know whether "CASE 1" ended with the comment "fallthrough", we have to check
+             * the "prefix" of CASE 2, because the CASE 2 prefix is what has the comments associated for CASE 1.
+             **/
+            if (nextStatement != null && nextStatement.getPrefix().getComments().stream().anyMatch(FindLastLineBreaksOrFallsThroughCommentsVisitor.HAS_RELIEF_PATTERN_COMMENT)) {
+                references.add(nextStatement);
+            }
+            RecipeMetrics.nestedTraversal(new FindLastLineBreaksOrFallsThroughCommentsVisitor(scope), scope, references, parent);
             return references;
         }
 
@@ -150,38 +176,6 @@ public class FallThroughVisitor<P> extends JavaIsoVisitor<P> {
                         ).orElse(false);
             }
 
-            @Override
-            public J.Switch visitSwitch(J.Switch switch_, Set<J> ctx) {
-                J.Switch s = super.visitSwitch(switch_, ctx);
-                List<Statement> statements = s.getCases().getStatements();
-                for (int i = 0; i < statements.size() - 1; i++) {
-                    if (!(statements.get(i) instanceof J.Case)) {
-                        continue;
-                    }
-
-                    J.Case case_ = (J.Case) statements.get(i);
-                    /*
-                     * {@code i + 1} because a last-line comment for a J.Case gets attached as a prefix comment in the next case
-                     *
-                     * <pre>
-                     * SWITCH(..) {
-                     *  CASE 1:
-                     *      someStatement1; // fallthrough
-                     *  CASE 2:
-                     *      someStatement2;
-                     * }
-                     * </pre>
-                     * <p>
-                     * In order to know whether "CASE 1" ended with the comment "fallthrough", we have to check
-                     * the "prefix" of CASE 2, because the CASE 2 prefix is what has the comments associated for CASE 1.
-                     **/
-                    if (case_ == scope && statements.get(i + 1).getPrefix().getComments().stream().anyMatch(HAS_RELIEF_PATTERN_COMMENT)) {
-                        ctx.add(s);
-                    }
-                }
-                return s;
-            }
-
             @Override
             public J.Case visitCase(J.Case case_, Set<J> ctx) {
                 J.Case c = super.visitCase(case_, ctx);
@@ -15,6 +15,7 @@
  */
 package org.openrewrite.staticanalysis;
 
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.lang.Nullable;
@@ -33,25 +34,31 @@ import static org.openrewrite.staticanalysis.ModifierOrder.sortModifiers;
 
 public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
 
-    Tree visitRoot;
-
-    final Set<String> typesToFinalize = new HashSet<>();
-    final Set<String> typesToNotFinalize = new HashSet<>();
+    private static final String TYPES_TO_FINALIZE = "TYPES_TO_FINALIZE";
+    private static final String TYPES_TO_NOT_FINALIZE = "TYPES_TO_NOT_FINALIZE";
 
     @Override
     public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
-        boolean root = false;
-        if (visitRoot == null && tree != null) {
-            visitRoot = tree;
-            root = true;
+        Cursor parent = getCursor();
+        if (tree == null || parent.getNearestMessage(TYPES_TO_FINALIZE) != null) {
+            return super.visit(tree, ctx);
         }
-        J result = super.visit(tree, ctx);
-        if (root) {
-            visitRoot = null;
-            typesToFinalize.removeAll(typesToNotFinalize);
-            if (!typesToFinalize.isEmpty()) {
-                result = new FinalizingVisitor(typesToFinalize).visit(tree, ctx);
-            }
+
+        // the types to finalize are collected per visit root, rather than in fields, so that no state is kept between visits
+        Set<String> typesToFinalize = new HashSet<>();
+        Set<String> typesToNotFinalize = new HashSet<>();
+        parent.putMessage(TYPES_TO_FINALIZE, typesToFinalize);
+        parent.putMessage(TYPES_TO_NOT_FINALIZE, typesToNotFinalize);
+        J result;
+        try {
+            result = super.visit(tree, ctx);
+        } finally {
+            parent.pollMessage(TYPES_TO_FINALIZE);
+            parent.pollMessage(TYPES_TO_NOT_FINALIZE);
+        }
+        typesToFinalize.removeAll(typesToNotFinalize);
+        if (!typesToFinalize.isEmpty()) {
+            result = (J) RecipeMetrics.nestedTraversal(new FinalizingVisitor(typesToFinalize), tree, ctx);
         }
         return result;
     }
@@ -65,7 +72,7 @@ public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
             return cd;
         }
 
-        excludeSupertypes(cd.getType());
+        excludeSupertypes(cd.getType(), getCursor().getNearestMessage(TYPES_TO_NOT_FINALIZE));
 
         boolean allPrivate = true;
         int constructorCount = 0;
@@ -83,16 +90,16 @@ public class FinalClassVisitor extends JavaIsoVisitor<ExecutionContext> {
         }
 
         if (constructorCount > 0) {
-            typesToFinalize.add(cd.getType().getFullyQualifiedName());
+            getCursor().<Set<String>>getNearestMessage(TYPES_TO_FINALIZE).add(cd.getType().getFullyQualifiedName());
         }
 
         return cd;
     }
 
-    private void excludeSupertypes(JavaType.FullyQualified type) {
+    private static void excludeSupertypes(JavaType.FullyQualified type, Set<String> typesToNotFinalize) {
         if (type.getSupertype() != null && type.getOwningClass() != null
                 && typesToNotFinalize.add(type.getSupertype().getFullyQualifiedName())) {
-            excludeSupertypes(type.getSupertype());
+            excludeSupertypes(type.getSupertype(), typesToNotFinalize);
         }
     }
 
@@ -15,8 +15,6 @@
  */
 package org.openrewrite.staticanalysis;
 
-import lombok.EqualsAndHashCode;
-import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
@@ -25,7 +23,6 @@ import org.openrewrite.java.tree.Space;
 import org.openrewrite.marker.Markers;
 
 import java.util.Collections;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 @Incubating(since = "7.0.0")
 public class FinalizeLocalVariables extends Recipe {
@@ -67,12 +64,9 @@ public class FinalizeLocalVariables extends Recipe {
                     return mv;
                 }
 
-                if (mv.getVariables().stream()
-                        .noneMatch(v -> {
-                            Cursor declaringCursor = v.getDeclaringScope(getCursor());
-                            return FindAssignmentReferencesToVariable.find(declaringCursor.getValue(), v).get();
-                        })) {
-                    mv = autoFormat(
+                VariableWrites writes = VariableWrites.of(getCursor());
+                if (mv.getVariables().stream().allMatch(v -> writes.getAssignmentCount(v, getCursor()) == 0)) {
+                    mv = DeferredFormat.autoFormat(this,
                             mv.withModifiers(
                                     ListUtils.concat(mv.getModifiers(), new J.Modifier(Tree.randomId(), Space.EMPTY, Markers.EMPTY, J.Modifier.Type.Final, Collections.emptyList()))
                             ), p);
@@ -87,68 +81,4 @@ public class FinalizeLocalVariables extends Recipe {
         return cursor.getParentTreeCursor()
                 .getValue() instanceof J.ForLoop.Control;
     }
-
-    @Value
-    @EqualsAndHashCode(callSuper = true)
-    private static class FindAssignmentReferencesToVariable extends JavaIsoVisitor<AtomicBoolean> {
-
-        J.VariableDeclarations.NamedVariable variable;
-
-        /**
-         * @param j        The subtree to search.
-         * @param variable A {@link J.VariableDeclarations.NamedVariable} to check for any reassignment calls.
-         * @return An {@link AtomicBoolean} that is true if the variable has been reassigned and false otherwise.
-         */
-        static AtomicBoolean find(J j, J.VariableDeclarations.NamedVariable variable) {
-            return new FindAssignmentReferencesToVariable(variable)
-                    .reduce(j, new AtomicBoolean());
-        }
-
-        @Override
-        public J.Assignment visitAssignment(J.Assignment assignment, AtomicBoolean hasAssignment) {
-            if (hasAssignment.get()) {
-                return assignment;
-            }
-            J.Assignment a = super.visitAssignment(assignment, hasAssignment);
-            if (a.getVariable() instanceof J.Identifier) {
-                J.Identifier i = (J.Identifier) a.getVariable();
-                if (i.getSimpleName().equals(variable.getSimpleName())) {
-                    hasAssignment.set(true);
-                }
-            }
-            return a;
-        }
-
-        @Override
-        public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, AtomicBoolean hasAssignment) {
-            if (hasAssignment.get()) {
-                return assignOp;
-            }
-
-            J.AssignmentOperation a = super.visitAssignmentOperation(assignOp, hasAssignment);
-            if (a.getVariable() instanceof J.Identifier) {
-                J.Identifier i = (J.Identifier) a.getVariable();
-                if (i.getSimpleName().equals(variable.getSimpleName())) {
-                    hasAssignment.set(true);
-                }
-            }
-            return a;
-        }
-
-        @Override
-        public J.Unary visitUnary(J.Unary unary, AtomicBoolean hasAssignment) {
-            if (hasAssignment.get()) {
-                return unary;
-            }
-
-            J.Unary u = super.visitUnary(unary, hasAssignment);
-            if (u.getOperator().isModifying() && u.getExpression() instanceof J.Identifier) {
-                J.Identifier i = (J.Identifier) u.getExpression();
-                if (i.getSimpleName().equals(variable.getSimpleName())) {
-                    hasAssignment.set(true);
-                }
-            }
-            return u;
-        }
-    }
 }
@@ -10,12 +10,9 @@
  **/
 package org.openrewrite.staticanalysis;
 
-import lombok.EqualsAndHashCode;
-import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.J.Empty;
 import org.openrewrite.java.tree.J.MethodDeclaration;
 import org.openrewrite.java.tree.J.Modifier;
@@ -31,7 +28,6 @@ import org.openrewrite.marker.Markers;
 
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicBoolean;
 
 import static java.util.Collections.emptyList;
 
@@ -64,10 +60,7 @@ public class FinalizeMethodArguments extends Recipe {
                     return declarations;
                 }
 
-                final AtomicBoolean assigned = new AtomicBoolean(false);
-
-                methodDeclaration.getParameters().forEach(p -> checkIfAssigned(assigned, p));
-                if (assigned.get()) {
+                if (methodDeclaration.getParameters().stream().anyMatch(this::isAssigned)) {
                     return declarations;
                 }
 
@@ -76,19 +69,17 @@ public class FinalizeMethodArguments extends Recipe {
                 return declarations;
             }
 
-            private void checkIfAssigned(final AtomicBoolean assigned, final Statement p) {
+            private boolean isAssigned(final Statement p) {
                 if (p instanceof VariableDeclarations) {
-                    VariableDeclarations variableDeclarations = (VariableDeclarations) p;
-                    if (variableDeclarations.getVariables().stream()
-                            .anyMatch(namedVariable ->
-                                    FindAssignmentReferencesToVariable.find(getCursor()
-                                                            .getParentTreeCursor()
-                                                            .getValue(),
-                                                    namedVariable)
-                                            .get())) {
-                        assigned.set(true);
+                    VariableWrites writes = VariableWrites.of(getCursor());
+                    for (VariableDeclarations.NamedVariable namedVariable : ((VariableDeclarations) p).getVariables()) {
+                        // a parameter is only in scope in the method that declares it
+                        if (writes.getAssignmentCount(getCursor().getValue(), namedVariable.getSimpleName()) > 0) {
+                            return true;
+                        }
                     }
                 }
+                return false;
             }
 
             @Override
@@ -110,43 +101,6 @@ public class FinalizeMethodArguments extends Recipe {
         return method.getModifiers().stream().anyMatch(modifier -> modifier.getType() == Type.Abstract);
     }
 
-    @Value
-    @EqualsAndHashCode(callSuper = true)
-    private static class FindAssignmentReferencesToVariable extends JavaIsoVisitor<AtomicBoolean> {
-
-        VariableDeclarations.NamedVariable variable;
-
-        /**
-         * @param subtree  The subtree to search.
-         * @param variable A {@link VariableDeclarations.NamedVariable} to check for any reassignment calls.
-         * @return An {@link AtomicBoolean} that is true if the variable has been reassigned and false otherwise.
-         */
-        static AtomicBoolean find(J subtree, VariableDeclarations.NamedVariable variable) {
-            return new FindAssignmentReferencesToVariable(variable)
-                    .reduce(subtree, new AtomicBoolean());
-        }
-
-        @Override
-        public J.Assignment visitAssignment(J.Assignment a, AtomicBoolean hasAssignment) {
-            // Return quickly if the variable has been reassigned before
-            if (hasAssignment.get()) {
-                return a;
-            }
-
-            J.Assignment assignment = super.visitAssignment(a, hasAssignment);
-
-            if (assignment.getVariable() instanceof J.Identifier) {
-                J.Identifier identifier = (J.Identifier) assignment.getVariable();
-
-                if (identifier.getSimpleName().equals(variable.getSimpleName())) {
-                    hasAssignment.set(true);
-                }
-            }
-
-            return assignment;
-        }
-    }
-
     private static Statement updateParam(final Statement p) {
         if (p instanceof VariableDeclarations) {
             VariableDeclarations variableDeclarations = (VariableDeclarations) p;
@@ -59,8 +59,8 @@ public class FixStringFormatExpressions extends Recipe {
     public TreeVisitor<?, ExecutionContext> getVisitor() {
         return Preconditions.check(
                 Preconditions.or(
-                        new UsesMethod<>(new MethodMatcher("java.lang.String format(..)")),
-                        new UsesMethod<>(new MethodMatcher("java.lang.String formatted(..)"))
+                        new UsesMethod<>(FixPrintfExpressionsVisitor.S_FORMAT),
+                        new UsesMethod<>(FixPrintfExpressionsVisitor.S_FORMATTED)
                 ),
                 new FixPrintfExpressionsVisitor()
         );
@@ -71,18 +71,23 @@ public class FixStringFormatExpressions extends Recipe {
         private final String formatSpecifier = "%(\\d+\\$)?([-#+ 0,(<]*)?(\\d+)?(\\.\\d+)?([tT])?([a-zA-Z%])";
         private final Pattern fsPattern = Pattern.compile(formatSpecifier);
 
-        MethodMatcher sFormatMatcher = new MethodMatcher("java.lang.String format(..)");
-        MethodMatcher sFormattedMatcher = new MethodMatcher("java.lang.String formatted(..)");
+        private static final MethodMatcher S_FORMAT = MethodMatchers.of("java.lang.String format(..)");
+        private static final MethodMatcher S_FORMATTED = MethodMatchers.of("java.lang.String formatted(..)");
+        private static final MethodMatchers FORMAT_METHODS = MethodMatchers.index(
+                "java.lang.String format(..)",
+                "java.lang.String formatted(..)"
+        );
 
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
             J.MethodInvocation mi = super.visitMethodInvocation(method, executionContext);
-            if (sFormatMatcher.matches(mi) || sFormattedMatcher.matches(mi)) {
+            MethodMatcher matcher = FORMAT_METHODS.find(mi);
+            if (matcher != null) {
                 boolean isStringFormattedExpression = false;
                 J.Literal fmtArg = null;
-                if (sFormatMatcher.matches(mi) && mi.getArguments().get(0) instanceof J.Literal) {
+                if (matcher == S_FORMAT && mi.getArguments().get(0) instanceof J.Literal) {
                     fmtArg = (J.Literal) mi.getArguments().get(0);
-                } else if (sFormattedMatcher.matches(mi) && mi.getSelect() instanceof J.Literal) {
+                } else if (matcher == S_FORMATTED && mi.getSelect() instanceof J.Literal) {
                     fmtArg = (J.Literal) mi.getSelect();
                     isStringFormattedExpression = true;
                 }
@@ -36,7 +36,7 @@ public class ForLoopControlVariablePostfixOperators extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.ForLoop.class), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.ForLoop visitForLoop(J.ForLoop forLoop, ExecutionContext ctx) {
                 forLoop = forLoop.withControl(
@@ -58,7 +58,7 @@ public class ForLoopControlVariablePostfixOperators extends Recipe {
 
                 return super.visitForLoop(forLoop, ctx);
             }
-        };
+        });
     }
 
 }
@@ -29,7 +29,9 @@ import org.openrewrite.java.tree.Statement;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public class ForLoopIncrementInUpdate extends Recipe {
@@ -56,7 +58,7 @@ public class ForLoopIncrementInUpdate extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.ForLoop.class), new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitForLoop(J.ForLoop forLoop, ExecutionContext ctx) {
                 Statement init = forLoop.getControl().getInit().get(0);
@@ -81,10 +83,12 @@ public class ForLoopIncrementInUpdate extends Recipe {
                             String unaryTarget = ((J.Identifier) unary.getExpression()).getSimpleName();
                             for (J.VariableDeclarations.NamedVariable initVar : initVars.getVariables()) {
                                 if (initVar.getSimpleName().equals(unaryTarget)) {
+                                    // print each update once, rather than on every comparison
+                                    Map<Statement, String> printed = new IdentityHashMap<>();
                                     J.ForLoop f = forLoop.withControl(forLoop.getControl().withUpdate(ListUtils.insertInOrder(
                                             ListUtils.map(forLoop.getControl().getUpdate(), u -> u instanceof J.Empty ? null : u),
                                             unary.withPrefix(Space.format(" ")),
-                                            Comparator.comparing(s -> s.printTrimmed(getCursor()), Comparator.naturalOrder())
+                                            Comparator.comparing(s -> printed.computeIfAbsent(s, u -> u.printTrimmed(getCursor())), Comparator.naturalOrder())
                                     )));
 
                                     //noinspection ConstantConditions
@@ -105,6 +109,6 @@ public class ForLoopIncrementInUpdate extends Recipe {
 
                 return super.visitForLoop(forLoop, ctx);
             }
-        };
+        });
     }
 }
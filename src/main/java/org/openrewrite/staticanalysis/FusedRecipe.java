@@ -0,0 +1,183 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+import org.openrewrite.*;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.marker.RecipesThatMadeChanges;
+
+import java.util.*;
+import java.util.function.Supplier;
+
+/**
+ * Runs several {@link FusibleRecipe fusible recipes} in a single traversal of each source file.
+ * <p>
+ * Every node is visited by the fused visitors in the order of {@link #recipes}, after its children have been visited by
+ * all of them. Once the recipe cycles settle, this makes the same changes as running the recipes one after another. A
+ * changed source file is attributed to this recipe, and beneath it to each of the fused recipes that changed it, in
+ * their {@link RecipesThatMadeChanges} marker.
+ * <p>
+ * Declarative recipes fuse the fusible recipes that follow each other in their recipe list, such as
+ * {@code CommonStaticAnalysis} does, but never reorder recipes to do so.
+ */
+@Value
+@EqualsAndHashCode(callSuper = true)
+public class FusedRecipe extends Recipe {
+    private static final String APPLICABLE_VISITORS = "org.openrewrite.staticanalysis.FusedRecipe.applicableVisitors";
+    private static final String CHANGED_BY = "org.openrewrite.staticanalysis.FusedRecipe.changedBy";
+
+    private static final Map<String, Supplier<FusibleRecipe>> FUSIBLE_RECIPES = new HashMap<>();
+
+    static {
+        FUSIBLE_RECIPES.put(AtomicPrimitiveEqualsUsesGet.class.getName(), AtomicPrimitiveEqualsUsesGet::new);
+        FUSIBLE_RECIPES.put(IndexOfReplaceableByContains.class.getName(), IndexOfReplaceableByContains::new);
+        FUSIBLE_RECIPES.put(IndexOfShouldNotCompareGreaterThanZero.class.getName(), IndexOfShouldNotCompareGreaterThanZero::new);
+        FUSIBLE_RECIPES.put(IsEmptyCallOnCollections.class.getName(), IsEmptyCallOnCollections::new);
+        FUSIBLE_RECIPES.put(NewStringBuilderBufferWithCharArgument.class.getName(), NewStringBuilderBufferWithCharArgument::new);
+        FUSIBLE_RECIPES.put(NoToStringOnStringType.class.getName(), NoToStringOnStringType::new);
+        FUSIBLE_RECIPES.put(NoValueOfOnStringType.class.getName(), NoValueOfOnStringType::new);
+        FUSIBLE_RECIPES.put(PrimitiveWrapperClassConstructorToValueOf.class.getName(), PrimitiveWrapperClassConstructorToValueOf::new);
+        FUSIBLE_RECIPES.put(StringLiteralEquality.class.getName(), StringLiteralEquality::new);
+    }
+
+    @Option(displayName = "Recipes",
+            description = "The fully qualified names of the fusible recipes to run, in the order they should be applied to each node.",
+            example = "org.openrewrite.staticanalysis.NoToStringOnStringType")
+    List<String> recipes;
+
+    @Override
+    public String getDisplayName() {
+        return "Fused local rewrites";
+    }
+
+    @Override
+    public String getDescription() {
+        return "Applies several recipes that only rewrite individual expressions in a single traversal of each source file.";
+    }
+
+    @Override
+    public Validated validate() {
+        Validated v = super.validate();
+        for (String recipe : recipes) {
+            v = v.and(Validated.test("recipes", "Must be a fusible recipe", recipe, FUSIBLE_RECIPES::containsKey));
+        }
+        return v;
+    }
+
+    @Override
+    public TreeVisitor<?, ExecutionContext> getVisitor() {
+        Map<FusibleVisitor, Recipe> visitors = new LinkedHashMap<>();
+        for (String recipe : recipes) {
+            Supplier<FusibleRecipe> fusible = FUSIBLE_RECIPES.get(recipe);
+            if (fusible == null) {
+                throw new IllegalArgumentException(recipe + " is not a fusible recipe");
+            }
+            FusibleRecipe fused = fusible.get();
+            visitors.put(fused.getFusibleVisitor(), (Recipe) fused);
+        }
+        return new FusedVisitor(this, visitors);
+    }
+
+    /**
+     * @return the visitors whose precondition the source file meets, in their original order.
+     */
+    static List<FusibleVisitor> applicableVisitors(List<FusibleVisitor> visitors, JavaSourceFile sourceFile, ExecutionContext ctx) {
+        List<FusibleVisitor> applicable = new ArrayList<>(visitors.size());
+        for (FusibleVisitor visitor : visitors) {
+            TreeVisitor<?, ExecutionContext> precondition = visitor.getPrecondition();
+            if (precondition.isAcceptable((SourceFile) sourceFile, ctx) && precondition.visit(sourceFile, ctx) != sourceFile) {
+                applicable.add(visitor);
+            }
+        }
+        return applicable;
+    }
+
+    private static class FusedVisitor extends JavaVisitor<ExecutionContext> {
+        private final FusedRecipe fusedRecipe;
+
+        /**
+         * The fused visitors in the order they are applied, each with the recipe it belongs to.
+         */
+        private final Map<FusibleVisitor, Recipe> visitors;
+
+        FusedVisitor(FusedRecipe fusedRecipe, Map<FusibleVisitor, Recipe> visitors) {
+            this.fusedRecipe = fusedRecipe;
+            this.visitors = visitors;
+        }
+
+        @Override
+        public @Nullable J preVisit(J tree, ExecutionContext ctx) {
+            if (tree instanceof JavaSourceFile) {
+                List<FusibleVisitor> applicable = applicableVisitors(new ArrayList<>(visitors.keySet()), (JavaSourceFile) tree, ctx);
+                if (applicable.isEmpty()) {
+                    stopAfterPreVisit();
+                } else {
+                    getCursor().putMessage(APPLICABLE_VISITORS, applicable);
+                    getCursor().putMessage(CHANGED_BY, Collections.newSetFromMap(new IdentityHashMap<>()));
+                }
+            }
+            return super.preVisit(tree, ctx);
+        }
+
+        @Override
+        public @Nullable J postVisit(J tree, ExecutionContext ctx) {
+            J j = super.postVisit(tree, ctx);
+            Cursor parent = getCursor().getParentOrThrow();
+            Set<FusibleVisitor> changedBy = getCursor().getNearestMessage(CHANGED_BY, Collections.<FusibleVisitor>emptySet());
+            for (FusibleVisitor visitor : getCursor().getNearestMessage(APPLICABLE_VISITORS, Collections.<FusibleVisitor>emptyList())) {
+                if (j == null) {
+                    break;
+                }
+                if (visitor.isFusibleFor(j)) {
+                    J visited = visitor.visitFused(this, j, parent, ctx);
+                    if (visited != j) {
+                        changedBy.add(visitor);
+                    }
+                    j = visited;
+                }
+            }
+            if (j instanceof JavaSourceFile && !changedBy.isEmpty()) {
+                j = attribute(j, changedBy);
+            }
+            return j;
+        }
+
+        /**
+         * Attributes the source file to the fused recipes that changed it, beneath this recipe, in the same marker that
+         * the recipe scheduler attributes it to this recipe in.
+         */
+        private J attribute(J sourceFile, Set<FusibleVisitor> changedBy) {
+            List<List<Recipe>> recipeStacks = new ArrayList<>();
+            for (Map.Entry<FusibleVisitor, Recipe> visitor : visitors.entrySet()) {
+                if (changedBy.contains(visitor.getKey())) {
+                    recipeStacks.add(Arrays.asList(fusedRecipe, visitor.getValue()));
+                }
+            }
+            return sourceFile.withMarkers(sourceFile.getMarkers().computeByType(
+                    new RecipesThatMadeChanges(Tree.randomId(), recipeStacks),
+                    (prev, curr) -> {
+                        List<List<Recipe>> recipes = new ArrayList<>(prev.getRecipes());
+                        recipes.addAll(curr.getRecipes());
+                        return prev.withRecipes(recipes);
+                    }));
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.Preconditions;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A visitor that only changes nodes of a few kinds, based on nothing more than the node itself, its children and its
+ * ancestors. Such visitors don't need a traversal of their own: {@link FusedRecipe} applies any number of them to each
+ * node during a single traversal of a source file.
+ * <p>
+ * On its own, the visitor runs like any other visitor, guarded by its precondition, see {@link #withPrecondition()}.
+ */
+public abstract class FusibleVisitor extends JavaVisitor<ExecutionContext> {
+    private final TreeVisitor<?, ExecutionContext> precondition;
+    private final Set<Class<? extends J>> nodeTypes;
+
+    @Nullable
+    private TreeVisitor<?, ExecutionContext> fusedInto;
+
+    @Nullable
+    private J fusedNode;
+
+    /**
+     * @param precondition the precondition that a source file has to meet for this visitor to change it.
+     * @param nodeTypes    the kinds of nodes that this visitor changes.
+     */
+    @SafeVarargs
+    protected FusibleVisitor(TreeVisitor<?, ExecutionContext> precondition, Class<? extends J>... nodeTypes) {
+        this.precondition = precondition;
+        this.nodeTypes = new HashSet<>(Arrays.asList(nodeTypes));
+    }
+
+    public TreeVisitor<?, ExecutionContext> getPrecondition() {
+        return precondition;
+    }
+
+    public boolean isFusibleFor(J node) {
+        return nodeTypes.contains(node.getClass());
+    }
+
+    /**
+     * @return this visitor guarded by its precondition, which is how a recipe runs it on its own.
+     */
+    public TreeVisitor<?, ExecutionContext> withPrecondition() {
+        return Preconditions.check(precondition, this);
+    }
+
+    /**
+     * Visits a single node whose children have already been visited by the fused traversal.
+     *
+     * @param fusedInto the visitor of the fused traversal, which takes over the visitors queued with {@code doAfterVisit}.
+     * @param node      a node for which this visitor {@link #isFusibleFor(J) is fusible}.
+     * @param parent    the cursor to the parent of the node.
+     * @param ctx       the execution context.
+     * @return the changed node.
+     */
+    @Nullable
+    J visitFused(TreeVisitor<?, ExecutionContext> fusedInto, J node, Cursor parent, ExecutionContext ctx) {
+        this.fusedInto = fusedInto;
+        this.fusedNode = node;
+        try {
+            return visit(node, ctx, parent);
+        } finally {
+            this.fusedInto = null;
+            this.fusedNode = null;
+        }
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, ExecutionContext ctx) {
+        if (fusedInto != null && tree != fusedNode) {
+            // the children were visited by the fused traversal already
+            return (J) tree;
+        }
+        return super.visit(tree, ctx);
+    }
+
+    @Override
+    public void doAfterVisit(TreeVisitor<?, ExecutionContext> visitor) {
+        if (fusedInto != null) {
+            fusedInto.doAfterVisit(visitor);
+        } else {
+            super.doAfterVisit(visitor);
+        }
+    }
+}
@@ -20,28 +20,25 @@ import lombok.Value;
 import org.openrewrite.Cursor;
 import org.openrewrite.Incubating;
 import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.RenameVariable;
-import org.openrewrite.java.cleanup.RenameJavaDocParamNameVisitor;
 import org.openrewrite.java.style.HiddenFieldStyle;
-import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.JavaSourceFile;
-import org.openrewrite.java.tree.JavaType;
-import org.openrewrite.java.tree.TypeUtils;
-
-import java.util.LinkedHashSet;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
+
+import static java.util.Collections.emptySet;
 
 @Value
 @EqualsAndHashCode(callSuper = true)
 @Incubating(since = "7.6.0")
 public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
     private static final Pattern NEXT_NAME_PATTERN = Pattern.compile("(.+)(\\d+)");
+    private static final String RENAMES = HiddenFieldVisitor.class.getName() + ".RENAMES";
     HiddenFieldStyle style;
 
     /**
@@ -54,74 +51,81 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
      * Kindly borrowed from {@link RenameVariable}
      */
     private static Cursor getCursorToParentScope(Cursor cursor) {
-        return cursor.dropParentUntil(is ->
-                is instanceof J.Block ||
-                        is instanceof J.MethodDeclaration ||
-                        is instanceof J.ForLoop ||
-                        is instanceof J.ForEachLoop ||
-                        is instanceof J.Case ||
-                        is instanceof J.Try ||
-                        is instanceof J.Try.Catch ||
-                        is instanceof J.MultiCatch ||
-                        is instanceof J.Lambda
-        );
+        return cursor.dropParentUntil(HiddenFieldVisitor::isNameScope);
+    }
+
+    private static boolean isNameScope(@Nullable Object is) {
+        return is instanceof J.Block ||
+               is instanceof J.MethodDeclaration ||
+               is instanceof J.ForLoop ||
+               is instanceof J.ForEachLoop ||
+               is instanceof J.Case ||
+               is instanceof J.Try ||
+               is instanceof J.Try.Catch ||
+               is instanceof J.MultiCatch ||
+               is instanceof J.Lambda;
     }
 
     @Override
     public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P p) {
-        List<J.VariableDeclarations.NamedVariable> classFields = classDecl.getBody().getStatements().stream()
-                .filter(J.VariableDeclarations.class::isInstance)
-                .map(J.VariableDeclarations.class::cast)
-                .flatMap(vd -> vd.getVariables().stream())
-                .collect(Collectors.toList());
+        Map<String, J.VariableDeclarations.NamedVariable> classFields = new LinkedHashMap<>();
+        for (Statement statement : classDecl.getBody().getStatements()) {
+            if (statement instanceof J.VariableDeclarations) {
+                for (J.VariableDeclarations.NamedVariable field : ((J.VariableDeclarations) statement).getVariables()) {
+                    classFields.putIfAbsent(field.getSimpleName(), field);
+                }
+            }
+        }
 
-        classFields.forEach(cf -> FindNameShadows.find(classDecl, cf, classDecl, style)
-                .forEach(shadow -> doAfterVisit(new RenameShadowedName<>(shadow, style))));
+        if (!classFields.isEmpty()) {
+            Cursor sourceFileCursor = getCursor().dropParentUntil(JavaSourceFile.class::isInstance);
+            ShadowRenames<P> renames = sourceFileCursor.computeMessageIfAbsent(RENAMES, k -> new ShadowRenames<>(sourceFileCursor.getValue()));
+            for (List<Cursor> shadows : FindNameShadows.find(classDecl, classFields, getCursor().getParentOrThrow(), style).values()) {
+                shadows.forEach(renames::rename);
+            }
+        }
 
         return super.visitClassDeclaration(classDecl, p);
     }
 
-    private static class FindExistingVariableDeclarations extends JavaIsoVisitor<Set<J.VariableDeclarations.NamedVariable>> {
-        private final Cursor childTargetReference;
-        private final String childTargetName;
-
-        private FindExistingVariableDeclarations(Cursor childTargetReference, String childTargetName) {
-            this.childTargetReference = childTargetReference;
-            this.childTargetName = childTargetName;
-        }
-
-        /**
-         * In the context of {@link HiddenFieldVisitor}, this is used to determine whether there is an existing variable definition
-         * within the same name scope as the provided {@param childTargetReference}. This ensures that when we want to increment
-         * the name of a variable we're renaming, we aren't renaming it to something that will cause a name collision with existing variable declarations.
-         *
-         * @param j                    The subtree to search.
-         * @param childTargetReference The location of the variable declaration of our original search target.
-         * @param childTargetName      The name of the {@param childTargetReference} we'd like to see if anything exists.
-         * @return A set of existing variable definition of the {@param childTargetName} within the same name scope as the {@param childTargetName}.
-         */
-        public static Set<J.VariableDeclarations.NamedVariable> find(J j, Cursor childTargetReference, String childTargetName) {
-            Set<J.VariableDeclarations.NamedVariable> references = new LinkedHashSet<>();
-            new FindExistingVariableDeclarations(childTargetReference, childTargetName).visit(j, references);
-            return references;
-        }
-
-        @Override
-        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Set<J.VariableDeclarations.NamedVariable> ctx) {
-            if (variable.getSimpleName().equals(childTargetName) && isInSameNameScope(getCursor(), childTargetReference)) {
-                ctx.add(variable);
+    @Override
+    public J postVisit(J tree, P p) {
+        J j = super.postVisit(tree, p);
+        if (j instanceof JavaSourceFile) {
+            ShadowRenames<P> renames = getCursor().pollMessage(RENAMES);
+            if (renames != null && !renames.renameVariables.isEmpty()) {
+                j = renames.renameVariables.renameAll((JavaSourceFile) j, p);
             }
-            return super.visitVariable(variable, ctx);
         }
+        return j;
     }
 
-    private static class RenameShadowedName<P> extends JavaIsoVisitor<P> {
-        private final J.VariableDeclarations.NamedVariable targetVariable;
-        private final HiddenFieldStyle hiddenFieldStyle;
+    /**
+     * Chooses the new names of the variables that shadow a field, and renames all of them in a single traversal once
+     * the source file has been visited. The names declared in the source file are indexed by name scope up front, so
+     * choosing a name does not walk the source file again.
+     */
+    private static class ShadowRenames<P> {
+        private final RenameVariables<P> renameVariables = new RenameVariables<>();
 
-        public RenameShadowedName(J.VariableDeclarations.NamedVariable targetVariable, HiddenFieldStyle hiddenFieldStyle) {
-            this.targetVariable = targetVariable;
-            this.hiddenFieldStyle = hiddenFieldStyle;
+        /**
+         * Names keyed by the scope that {@link JavaVisitor#isInSameNameScope(Cursor, Cursor)} considers them declared in.
+         */
+        private final Map<Object, Set<String>> declaredIn = new IdentityHashMap<>();
+
+        /**
+         * Names keyed by every name scope, as returned by {@link #getCursorToParentScope(Cursor)}, that encloses them.
+         */
+        private final Map<Object, Set<String>> declaredWithin = new IdentityHashMap<>();
+
+        ShadowRenames(JavaSourceFile sourceFile) {
+            RecipeMetrics.nestedTraversal(new JavaIsoVisitor<ShadowRenames<P>>() {
+                @Override
+                public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, ShadowRenames<P> renames) {
+                    renames.declare(variable.getSimpleName(), getCursor());
+                    return super.visitVariable(variable, renames);
+                }
+            }, sourceFile, this);
         }
 
         private static String nextName(String name) {
@@ -131,70 +135,90 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
                     name + "1";
         }
 
-        @Override
-        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, P p) {
-            J.VariableDeclarations.NamedVariable v = super.visitVariable(variable, p);
-            if (v.isScope(targetVariable)) {
-                String nextName = nextName(v.getSimpleName());
-                JavaSourceFile enclosingCU = getCursor().firstEnclosingOrThrow(JavaSourceFile.class);
-                Cursor parentScope = getCursorToParentScope(getCursor());
-                J.ClassDeclaration enclosingClass = getCursor().firstEnclosing(J.ClassDeclaration.class);
-                if (enclosingClass == null) {
-                    return v;
+        private static boolean isBaseNameScope(@Nullable Object value) {
+            return value instanceof J.Block || value instanceof J.Lambda || value instanceof J.MethodDeclaration;
+        }
+
+        private void declare(String name, Cursor variable) {
+            boolean declared = false;
+            for (Cursor c = variable.getParent(); c != null; c = c.getParent()) {
+                if (!declared && isBaseNameScope(c.getValue())) {
+                    declaredIn.computeIfAbsent(c.getValue(), k -> new HashSet<>()).add(name);
+                    declared = true;
                 }
-                while (// don't use a variable name of any existing variable "downstream" of the renamed variable's scope
-                        !FindNameShadows.find(parentScope.getValue(), v.withName(v.getName().withSimpleName(nextName)), enclosingClass, hiddenFieldStyle).isEmpty() ||
-                                // don't use a variable name of any existing variables already defined in the "upstream" cursor path of the renamed variable's scope
-                                !FindExistingVariableDeclarations.find(enclosingCU, getCursor(), nextName).isEmpty()
-                ) {
-                    nextName = nextName(nextName);
+                if (isNameScope(c.getValue())) {
+                    declaredWithin.computeIfAbsent(c.getValue(), k -> new HashSet<>()).add(name);
                 }
-                doAfterVisit(new RenameVariable<>(v, nextName));
-                if (parentScope.getValue() instanceof J.MethodDeclaration) {
-                    Optional<J.VariableDeclarations> variableParameter = ((J.MethodDeclaration) parentScope.getValue()).getParameters().stream()
-                            .filter(it -> it instanceof J.VariableDeclarations)
-                            .map(it -> (J.VariableDeclarations) it)
-                            .filter(it -> it.getVariables().contains(v))
-                            .findFirst();
-                    if (variableParameter.isPresent()) {
-                        doAfterVisit(new RenameJavaDocParamNameVisitor<>(parentScope.getValue(), v.getSimpleName(), nextName));
+            }
+        }
+
+        /**
+         * @param shadow a cursor pointing at a variable that shadows a field.
+         */
+        void rename(Cursor shadow) {
+            J.VariableDeclarations.NamedVariable variable = shadow.getValue();
+            Object parentScope = getCursorToParentScope(shadow).getValue();
+            String nextName = nextName(variable.getSimpleName());
+            while (// don't use a variable name of any existing variable "downstream" of the renamed variable's scope
+                    declaredWithin.getOrDefault(parentScope, emptySet()).contains(nextName) ||
+                    // don't use a variable name of any existing variables already defined in the "upstream" cursor path of the renamed variable's scope
+                    isDeclaredUpstream(shadow, nextName)) {
+                nextName = nextName(nextName);
+            }
+            declare(nextName, shadow);
+            renameVariables.rename(variable, shadow, nextName);
+        }
+
+        private boolean isDeclaredUpstream(Cursor shadow, String name) {
+            for (Cursor c = shadow; c != null; c = c.getParent()) {
+                Object value = c.getValue();
+                if (value instanceof J.ClassDeclaration) {
+                    J.ClassDeclaration classDecl = (J.ClassDeclaration) value;
+                    if (classDecl.getKind() != J.ClassDeclaration.Kind.Type.Class || classDecl.hasModifier(J.Modifier.Type.Static)) {
+                        return false;
                     }
+                } else if (isBaseNameScope(value) && declaredIn.getOrDefault(value, emptySet()).contains(name)) {
+                    return true;
                 }
             }
-            return v;
+            return false;
         }
-
     }
 
-    private static class FindNameShadows extends JavaIsoVisitor<Set<J.VariableDeclarations.NamedVariable>> {
-        private final J.VariableDeclarations.NamedVariable targetVariable;
+    private static class FindNameShadows extends JavaIsoVisitor<Map<String, List<Cursor>>> {
+        private final Map<String, J.VariableDeclarations.NamedVariable> targetVariables;
         private final J.ClassDeclaration targetVariableEnclosingClass;
         private final HiddenFieldStyle hiddenFieldStyle;
 
-        public FindNameShadows(J.VariableDeclarations.NamedVariable targetVariable, J.ClassDeclaration targetVariableEnclosingClass, HiddenFieldStyle hiddenFieldStyle) {
-            this.targetVariable = targetVariable;
+        public FindNameShadows(Map<String, J.VariableDeclarations.NamedVariable> targetVariables, J.ClassDeclaration targetVariableEnclosingClass, HiddenFieldStyle hiddenFieldStyle) {
+            this.targetVariables = targetVariables;
             this.targetVariableEnclosingClass = targetVariableEnclosingClass;
             this.hiddenFieldStyle = hiddenFieldStyle;
         }
 
         /**
-         * Find {@link J.VariableDeclarations.NamedVariable} definitions within the searched tree which "hide" the target variable definition
-         * from an outer tree. Specifically, used to find local variables or method parameters which shadow a class field.
+         * Find {@link J.VariableDeclarations.NamedVariable} definitions within a class which "hide" the fields of the class.
+         * Specifically, used to find local variables or method parameters which shadow a class field.
          *
-         * @param j                            The subtree to search.
-         * @param targetVariable               The {@link J.VariableDeclarations.NamedVariable} to identify whether any other variables shadow it.
-         * @param targetVariableEnclosingClass The enclosing class of where the {@param targetVariable} is defined.
+         * @param targetVariableEnclosingClass The class to search.
+         * @param targetVariables              The fields of the class to identify whether any other variables shadow them, by name.
+         * @param parent                       A cursor pointing at the parent of the class.
          * @param hiddenFieldStyle             The {@link HiddenFieldStyle} to use as part of search criteria.
-         * @return A set representing any found {@link J.VariableDeclarations.NamedVariable} which shadow the provided {@param targetVariable}.
+         * @return Cursors pointing at the variables which shadow each field, keyed by field name in the order of {@param targetVariables}.
          */
-        public static Set<J.VariableDeclarations.NamedVariable> find(J j, J.VariableDeclarations.NamedVariable targetVariable, J.ClassDeclaration targetVariableEnclosingClass, HiddenFieldStyle hiddenFieldStyle) {
-            Set<J.VariableDeclarations.NamedVariable> references = new LinkedHashSet<>();
-            new FindNameShadows(targetVariable, targetVariableEnclosingClass, hiddenFieldStyle).visit(j, references);
-            return references;
+        public static Map<String, List<Cursor>> find(J.ClassDeclaration targetVariableEnclosingClass, Map<String, J.VariableDeclarations.NamedVariable> targetVariables,
+                                                     Cursor parent, HiddenFieldStyle hiddenFieldStyle) {
+            Map<String, List<Cursor>> shadows = new LinkedHashMap<>();
+            for (String name : targetVariables.keySet()) {
+                shadows.put(name, new ArrayList<>());
+            }
+            RecipeMetrics.nestedTraversal(new FindNameShadows(targetVariables, targetVariableEnclosingClass, hiddenFieldStyle),
+                    targetVariableEnclosingClass, shadows, parent);
+            return shadows;
         }
 
         @Override
-        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Set<J.VariableDeclarations.NamedVariable> ctx) {
+        public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, Map<String, List<Cursor>> ctx) {
             // do not go into static inner classes, interfaces, or enums which have a different name scope
             if (!(classDecl.getKind().equals(J.ClassDeclaration.Kind.Type.Class)) || classDecl.hasModifier(J.Modifier.Type.Static)) {
                 return classDecl;
@@ -203,7 +227,7 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
         }
 
         @Override
-        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Set<J.VariableDeclarations.NamedVariable> ctx) {
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, Map<String, List<Cursor>> ctx) {
             // do not go into static methods-- local variables of static methods don't hide instance fields
             if (method.hasModifier(J.Modifier.Type.Static)) {
                 return method;
@@ -212,7 +236,7 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
         }
 
         @Override
-        public J.Block visitBlock(J.Block block, Set<J.VariableDeclarations.NamedVariable> ctx) {
+        public J.Block visitBlock(J.Block block, Map<String, List<Cursor>> ctx) {
             // do not go into static initialization blocks-- local variables of static initializers don't hide instance fields
             if (block.isStatic()) {
                 return block;
@@ -221,11 +245,12 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
         }
 
         @Override
-        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Set<J.VariableDeclarations.NamedVariable> ctx) {
+        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Map<String, List<Cursor>> ctx) {
             J.VariableDeclarations.NamedVariable v = super.visitVariable(variable, ctx);
 
             // skip if we are visiting the original target variable, or else this will consider a variable to be a shadow of itself.
-            if (v.getSimpleName().equals(targetVariable.getSimpleName()) && !v.isScope(targetVariable)) {
+            J.VariableDeclarations.NamedVariable targetVariable = targetVariables.get(v.getSimpleName());
+            if (targetVariable != null && !v.isScope(targetVariable)) {
                 Tree maybeMethodDecl = getCursor()
                         .getParentTreeCursor() // J.VariableDeclarations
                         .getParentTreeCursor() // maybe J.MethodDeclaration
@@ -253,7 +278,7 @@ public class HiddenFieldVisitor<P> extends JavaIsoVisitor<P> {
                 }
 
                 if (!isIgnorableSetter && !isIgnorableConstructorParam && !isIgnorableAbstractMethod) {
-                    ctx.add(v);
+                    ctx.get(v.getSimpleName()).add(getCursor());
                 }
             }
             return v;
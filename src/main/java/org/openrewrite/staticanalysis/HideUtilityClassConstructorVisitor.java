@@ -94,9 +94,7 @@ public class HideUtilityClassConstructorVisitor<P> extends JavaIsoVisitor<P> {
         public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl, P p) {
             if (UtilityClassMatcher.hasImplicitDefaultConstructor(classDecl) &&
                     !J.ClassDeclaration.Kind.Type.Enum.equals(classDecl.getKind())) {
-                classDecl = JavaTemplate.builder("private #{}() {}")
-                        .contextSensitive()
-                        .build()
+                classDecl = JavaTemplates.contextSensitive("private #{}() {}")
                         .apply(getCursor(), classDecl.getBody().getCoordinates().lastStatement(), classDecl.getSimpleName());
             }
             return classDecl;
@@ -184,6 +182,7 @@ public class HideUtilityClassConstructorVisitor<P> extends JavaIsoVisitor<P> {
                 if (statement instanceof J.MethodDeclaration) {
                     J.MethodDeclaration md = (J.MethodDeclaration) statement;
                     if (!md.isConstructor() &&
+                            "main".equals(md.getSimpleName()) &&
                             md.hasModifier(J.Modifier.Type.Public) &&
                             md.hasModifier(J.Modifier.Type.Static) &&
                             md.getReturnTypeExpression() != null &&
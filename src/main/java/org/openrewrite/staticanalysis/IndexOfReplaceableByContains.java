@@ -17,7 +17,6 @@ package org.openrewrite.staticanalysis;
 
 import org.openrewrite.*;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
@@ -27,7 +26,7 @@ import java.util.Collections;
 import java.util.Set;
 
 @Incubating(since = "7.10.0")
-public class IndexOfReplaceableByContains extends Recipe {
+public class IndexOfReplaceableByContains extends Recipe implements FusibleRecipe {
     private static final MethodMatcher STRING_INDEX_MATCHER = new MethodMatcher("java.lang.String indexOf(String)");
     private static final MethodMatcher LIST_INDEX_MATCHER = new MethodMatcher("java.util.List indexOf(Object)");
 
@@ -53,19 +52,25 @@ public class IndexOfReplaceableByContains extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(
-                Preconditions.or(
-                        new UsesMethod<>(STRING_INDEX_MATCHER),
-                        new UsesMethod<>(LIST_INDEX_MATCHER)
-                ),
-                new IndexOfReplaceableByContainsVisitor()
-        );
+        return getFusibleVisitor().withPrecondition();
     }
 
-    private static class IndexOfReplaceableByContainsVisitor extends JavaVisitor<ExecutionContext> {
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
+        return new IndexOfReplaceableByContainsVisitor();
+    }
+
+    private static class IndexOfReplaceableByContainsVisitor extends FusibleVisitor {
         private final JavaTemplate stringContains = JavaTemplate.builder("#{any(java.lang.String)}.contains(#{any(java.lang.String)})").build();
         private final JavaTemplate listContains = JavaTemplate.builder("#{any(java.util.List)}.contains(#{any(java.lang.Object)})").build();
 
+        IndexOfReplaceableByContainsVisitor() {
+            super(Preconditions.or(
+                    new UsesMethod<>(STRING_INDEX_MATCHER),
+                    new UsesMethod<>(LIST_INDEX_MATCHER)
+            ), J.Binary.class);
+        }
+
         @Override
         public J visitBinary(J.Binary binary, ExecutionContext ctx) {
             J j = super.visitBinary(binary, ctx);
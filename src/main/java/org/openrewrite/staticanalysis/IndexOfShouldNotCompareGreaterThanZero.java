@@ -16,7 +16,6 @@
 package org.openrewrite.staticanalysis;
 
 import org.openrewrite.*;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
@@ -26,7 +25,7 @@ import java.util.Collections;
 import java.util.Set;
 
 @Incubating(since = "7.10.0")
-public class IndexOfShouldNotCompareGreaterThanZero extends Recipe {
+public class IndexOfShouldNotCompareGreaterThanZero extends Recipe implements FusibleRecipe {
     private static final MethodMatcher STRING_INDEX_MATCHER = new MethodMatcher("java.lang.String indexOf(String)");
     private static final MethodMatcher LIST_INDEX_MATCHER = new MethodMatcher("java.util.List indexOf(Object)");
 
@@ -56,19 +55,25 @@ public class IndexOfShouldNotCompareGreaterThanZero extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(
-                Preconditions.or(
-                        new UsesMethod<>(STRING_INDEX_MATCHER),
-                        new UsesMethod<>(LIST_INDEX_MATCHER)
-                ),
-                new IndexOfShouldNotCompareGreaterThanZeroVisitor()
-        );
+        return getFusibleVisitor().withPrecondition();
     }
 
-    private static class IndexOfShouldNotCompareGreaterThanZeroVisitor extends JavaIsoVisitor<ExecutionContext> {
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
+        return new IndexOfShouldNotCompareGreaterThanZeroVisitor();
+    }
+
+    private static class IndexOfShouldNotCompareGreaterThanZeroVisitor extends FusibleVisitor {
+        IndexOfShouldNotCompareGreaterThanZeroVisitor() {
+            super(Preconditions.or(
+                    new UsesMethod<>(STRING_INDEX_MATCHER),
+                    new UsesMethod<>(LIST_INDEX_MATCHER)
+            ), J.Binary.class);
+        }
+
         @Override
         public J.Binary visitBinary(J.Binary binary, ExecutionContext ctx) {
-            J.Binary b = super.visitBinary(binary, ctx);
+            J.Binary b = (J.Binary) super.visitBinary(binary, ctx);
             if (b.getOperator() == J.Binary.Type.GreaterThan) {
                 if (b.getLeft() instanceof J.MethodInvocation) {
                     J.MethodInvocation mi = (J.MethodInvocation) b.getLeft();
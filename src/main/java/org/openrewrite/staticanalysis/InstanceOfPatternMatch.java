@@ -21,9 +21,7 @@ import lombok.Value;
 import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.VariableNameUtils;
 import org.openrewrite.java.search.SemanticallyEqual;
-import org.openrewrite.java.search.UsesJavaVersion;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -35,7 +33,6 @@ import java.util.stream.Stream;
 
 import static java.util.Collections.emptyList;
 import static org.openrewrite.Tree.randomId;
-import static org.openrewrite.java.VariableNameUtils.GenerationStrategy.INCREMENT_NUMBER;
 
 @Incubating(since = "7.36.0")
 @Value
@@ -60,7 +57,7 @@ public class InstanceOfPatternMatch extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesJavaVersion<>(17), new JavaVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.getJavaVersion() >= 17, new JavaVisitor<ExecutionContext>() {
             @Override
             public @Nullable J postVisit(J tree, ExecutionContext executionContext) {
                 J result = super.postVisit(tree, executionContext);
@@ -115,7 +112,7 @@ public class InstanceOfPatternMatch extends Recipe {
                         contexts.add(additionalContext);
                     }
 
-                    if (!contexts.isEmpty()) {
+                    if (!contexts.isEmpty() && !isReassigned(getCursor().getValue(), root)) {
                         InstanceOfPatternReplacements replacements = maybeReplacementRoot
                                 .computeMessageIfAbsent("flowTypeScope", k -> new InstanceOfPatternReplacements(root));
                         replacements.registerInstanceOf(instanceOf, contexts);
@@ -124,6 +121,22 @@ public class InstanceOfPatternMatch extends Recipe {
                 return instanceOf;
             }
 
+            /**
+             * A cast of a variable that is reassigned after the `instanceof` check may not refer to the checked value.
+             */
+            private boolean isReassigned(J.InstanceOf instanceOf, J root) {
+                if (!(instanceOf.getExpression() instanceof J.Identifier)) {
+                    return false;
+                }
+                J.Identifier checked = (J.Identifier) instanceOf.getExpression();
+                VariableWrites writes = VariableWrites.of(getCursor());
+                if (checked.getFieldType() == null) {
+                    // without type attribution, any write to the same name may be a reassignment
+                    return writes.getAssignmentCount(root, checked.getSimpleName()) > 0;
+                }
+                return writes.isWrittenAfter(instanceOf, checked.getFieldType(), root);
+            }
+
             @Override
             public J visitTypeCast(J.TypeCast typeCast, ExecutionContext executionContext) {
                 J result = super.visitTypeCast(typeCast, executionContext);
@@ -236,7 +249,7 @@ public class InstanceOfPatternMatch extends Recipe {
                 strategy = VariableNameStrategy.short_();
             }
             String baseName = variableBaseName((TypeTree) instanceOf.getClazz(), strategy);
-            return VariableNameUtils.generateVariableName(baseName, cursor, INCREMENT_NUMBER);
+            return ScopeIndex.of(cursor).generateVariableName(baseName, cursor);
         }
 
         @Nullable
@@ -384,7 +397,7 @@ public class InstanceOfPatternMatch extends Recipe {
                         break;
                     case NORMAL:
                         Set<String> namesInScope = contextScopes.stream()
-                                .flatMap(c -> VariableNameUtils.findNamesInScope(c).stream())
+                                .flatMap(c -> ScopeIndex.of(c).namesInScope(c).stream())
                                 .collect(Collectors.toSet());
                         List<String> nameSegments = Stream.of(NAME_SPLIT_PATTERN.split(className))
                                 .filter(s -> !s.isEmpty()).collect(Collectors.toList());
@@ -410,7 +423,7 @@ public class InstanceOfPatternMatch extends Recipe {
                 OUTER:
                 while (true) {
                     for (Cursor scope : contextScopes) {
-                        String newCandidate = VariableNameUtils.generateVariableName(candidate, scope, VariableNameUtils.GenerationStrategy.INCREMENT_NUMBER);
+                        String newCandidate = ScopeIndex.of(scope).generateVariableName(candidate, scope);
                         if (!newCandidate.equals(candidate)) {
                             candidate = newCandidate;
                             continue OUTER;
@@ -16,11 +16,9 @@
 package org.openrewrite.staticanalysis;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
@@ -31,7 +29,7 @@ import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Set;
 
-public class IsEmptyCallOnCollections extends Recipe {
+public class IsEmptyCallOnCollections extends Recipe implements FusibleRecipe {
     private static final MethodMatcher COLLECTION_SIZE = new MethodMatcher("java.util.Collection size()", true);
 
     @Override
@@ -56,7 +54,12 @@ public class IsEmptyCallOnCollections extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(COLLECTION_SIZE), new JavaVisitor<ExecutionContext>() {
+        return getFusibleVisitor().withPrecondition();
+    }
+
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
+        return new FusibleVisitor(new UsesMethod<>(COLLECTION_SIZE), J.Binary.class) {
             final JavaTemplate isEmpty = JavaTemplate.builder("#{}#{any(java.util.Collection)}.isEmpty()")
                     .contextSensitive()
                     .build();
@@ -86,7 +89,7 @@ public class IsEmptyCallOnCollections extends Recipe {
                 }
                 return super.visitBinary(binary, ctx);
             }
-        });
+        };
     }
 
     private static boolean isZero(Expression expression) {
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaTemplate;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * A process-wide cache of the {@link JavaTemplate}s that recipes build while they visit, rather than once per visitor.
+ * <p>
+ * Templates are keyed by their code, imports, parser classpath and context sensitivity, so the setup of a template is
+ * paid once per distinct template rather than once per occurrence. The least recently used templates are evicted once
+ * the cache holds {@link #MAXIMUM_SIZE} of them.
+ */
+final class JavaTemplates {
+    static final int MAXIMUM_SIZE = 512;
+
+    private static final Map<String, JavaTemplate> TEMPLATES = new LinkedHashMap<String, JavaTemplate>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, JavaTemplate> eldest) {
+            return size() > MAXIMUM_SIZE;
+        }
+    };
+
+    private static long hits;
+    private static long misses;
+
+    private JavaTemplates() {
+    }
+
+    static JavaTemplate contextFree(String code, String... imports) {
+        return get(false, null, code, imports);
+    }
+
+    static JavaTemplate contextSensitive(String code, String... imports) {
+        return get(true, null, code, imports);
+    }
+
+    /**
+     * @param code    the template code.
+     * @param stub    source code of a type that the template code refers to, added to the template parser's classpath.
+     * @param imports imports required by the template code.
+     * @return a context-sensitive template.
+     */
+    static JavaTemplate contextSensitiveDependingOn(String code, String stub, String... imports) {
+        return get(true, stub, code, imports);
+    }
+
+    private static JavaTemplate get(boolean contextSensitive, @Nullable String stub, String code, String... imports) {
+        StringBuilder key = new StringBuilder(code.length() + 32);
+        key.append(contextSensitive ? 'C' : 'F');
+        for (String anImport : imports) {
+            key.append('\u0000').append(anImport);
+        }
+        key.append('\u0001');
+        if (stub != null) {
+            key.append(stub);
+        }
+        key.append('\u0001').append(code);
+        return get(key.toString(), () -> {
+            JavaTemplate.Builder builder = JavaTemplate.builder(code).imports(imports);
+            if (contextSensitive) {
+                builder.contextSensitive();
+            }
+            if (stub != null) {
+                builder.javaParser(JavaParser.fromJavaVersion().dependsOn(stub));
+            }
+            return builder.build();
+        });
+    }
+
+    private static JavaTemplate get(String key, Supplier<JavaTemplate> build) {
+        synchronized (TEMPLATES) {
+            JavaTemplate template = TEMPLATES.get(key);
+            if (template != null) {
+                hits++;
+                return template;
+            }
+            misses++;
+        }
+        // built outside the lock, so that a slow build does not hold up other threads
+        JavaTemplate template = build.get();
+        synchronized (TEMPLATES) {
+            JavaTemplate existing = TEMPLATES.putIfAbsent(key, template);
+            return existing == null ? template : existing;
+        }
+    }
+
+    static long getHits() {
+        synchronized (TEMPLATES) {
+            return hits;
+        }
+    }
+
+    static long getMisses() {
+        synchronized (TEMPLATES) {
+            return misses;
+        }
+    }
+
+    /**
+     * @return the fraction of lookups that found a cached template, or 0 when there have been no lookups.
+     */
+    static double getHitRate() {
+        synchronized (TEMPLATES) {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    static int size() {
+        synchronized (TEMPLATES) {
+            return TEMPLATES.size();
+        }
+    }
+}
@@ -23,12 +23,13 @@ import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.ChangePackage;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.JavaSourceFile;
 
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static java.util.Objects.requireNonNull;
 
@@ -52,7 +53,7 @@ public class LowercasePackage extends ScanningRecipe<Map<String, String>> {
 
     @Override
     public Map<String, String> getInitialValue(ExecutionContext ctx) {
-        return new HashMap<>();
+        return new ConcurrentHashMap<>();
     }
 
     @Override
@@ -85,21 +86,42 @@ public class LowercasePackage extends ScanningRecipe<Map<String, String>> {
                 if (tree instanceof JavaSourceFile) {
                     JavaSourceFile cu = (JavaSourceFile) requireNonNull(tree);
                     J.Package pkg = cu.getPackageDeclaration();
-                    if (pkg != null) {
-                        String packageText = getPackageText(getCursor(), pkg);
-                        if (acc.containsKey(packageText)) {
-                            return (JavaSourceFile) new ChangePackage(packageText, acc.get(packageText), true)
-                                    .getVisitor().visitNonNull(cu, ctx);
+                    String packageText = pkg == null ? null : getPackageText(getCursor(), pkg);
+                    if (packageText != null && acc.containsKey(packageText)) {
+                        cu = (JavaSourceFile) RecipeMetrics.nestedTraversalNonNull(new ChangePackage(packageText, acc.get(packageText), true)
+                                .getVisitor(), cu, ctx);
+                    }
+                    // source files in other packages only need their references to the renamed packages changed
+                    for (Map.Entry<String, String> rename : acc.entrySet()) {
+                        if (!rename.getKey().equals(packageText) && referencesPackage(cu, rename.getKey())) {
+                            cu = (JavaSourceFile) RecipeMetrics.nestedTraversalNonNull(new ChangePackage(rename.getKey(), rename.getValue(), false)
+                                    .getVisitor(), cu, ctx);
                         }
                     }
                     stopAfterPreVisit();
+                    return cu;
                 }
                 return tree;
             }
         };
     }
 
+    private static boolean referencesPackage(JavaSourceFile cu, String packageName) {
+        for (J.Import anImport : cu.getImports()) {
+            if (packageName.equals(anImport.getPackageName())) {
+                return true;
+            }
+        }
+        for (JavaType type : cu.getTypesInUse().getTypesInUse()) {
+            if (type instanceof JavaType.FullyQualified && packageName.equals(((JavaType.FullyQualified) type).getPackageName())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private String getPackageText(Cursor cursor, J.Package pkg) {
-        return pkg.getExpression().print(cursor).replaceAll("\\s", "");
+        String name = ExpressionKeys.nameOf(pkg.getExpression());
+        return name == null ? pkg.getExpression().print(cursor).replaceAll("\\s", "") : name;
     }
 }
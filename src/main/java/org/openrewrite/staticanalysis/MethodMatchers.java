@@ -0,0 +1,153 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.Expression;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.MethodCall;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A shared registry of {@link MethodMatcher}s.
+ * <p>
+ * Every signature is compiled to a matcher once, no matter how many recipes or visitors ask for it. An index of
+ * matchers buckets them by declaring type and method name, so that testing an invocation against the whole index
+ * costs one hash lookup, and only the matchers in the returned bucket run their patterns.
+ * <p>
+ * Only constant signatures belong here. Signatures built from recipe options or from the source being visited should
+ * be compiled with {@code new MethodMatcher(..)}, so that they don't outlive the recipe run.
+ */
+final class MethodMatchers {
+    private static final int MAX_COMPILED = 1024;
+    private static final Map<String, MethodMatcher> COMPILED = new ConcurrentHashMap<>();
+
+    private final Map<String, List<MethodMatcher>> byTypeAndName = new HashMap<>();
+    private final Map<String, List<MethodMatcher>> byName = new HashMap<>();
+    private final List<MethodMatcher> unindexed = new ArrayList<>();
+
+    private MethodMatchers() {
+    }
+
+    static MethodMatcher of(String signature) {
+        return of(signature, false);
+    }
+
+    static MethodMatcher of(String signature, boolean matchOverrides) {
+        String key = matchOverrides + signature;
+        MethodMatcher matcher = COMPILED.get(key);
+        if (matcher != null) {
+            return matcher;
+        }
+        if (COMPILED.size() >= MAX_COMPILED) {
+            return new MethodMatcher(signature, matchOverrides);
+        }
+        return COMPILED.computeIfAbsent(key, k -> new MethodMatcher(signature, matchOverrides));
+    }
+
+    static MethodMatchers index(String... signatures) {
+        MethodMatchers index = new MethodMatchers();
+        for (String signature : signatures) {
+            index.add(signature, false);
+        }
+        return index;
+    }
+
+    static MethodMatchers indexOverriding(String... signatures) {
+        MethodMatchers index = new MethodMatchers();
+        for (String signature : signatures) {
+            index.add(signature, true);
+        }
+        return index;
+    }
+
+    private void add(String signature, boolean matchOverrides) {
+        MethodMatcher matcher = of(signature, matchOverrides);
+        String trimmed = signature.trim();
+        int space = trimmed.indexOf(' ');
+        int paren = trimmed.indexOf('(', space + 1);
+        if (space < 0 || paren < 0) {
+            unindexed.add(matcher);
+            return;
+        }
+        String type = trimmed.substring(0, space);
+        String name = trimmed.substring(space + 1, paren).trim();
+        if (isPattern(name)) {
+            unindexed.add(matcher);
+        } else if (matchOverrides || isPattern(type) || "java.lang.Object".equals(type)) {
+            byName.computeIfAbsent(name, n -> new ArrayList<>(1)).add(matcher);
+        } else {
+            byTypeAndName.computeIfAbsent(typeAndName(type, name), n -> new ArrayList<>(1)).add(matcher);
+        }
+    }
+
+    /**
+     * Nested types are written with either {@code $} or {@code .} in signatures, but are always reported with
+     * {@code $} by {@link JavaType.FullyQualified#getFullyQualifiedName()}, so both sides of the lookup use {@code .}.
+     */
+    private static String typeAndName(String type, String name) {
+        return type.replace('$', '.') + ' ' + name;
+    }
+
+    private static boolean isPattern(String s) {
+        return s.indexOf('*') >= 0 || s.contains("..");
+    }
+
+    /**
+     * @param expression a method invocation, constructor invocation or method reference.
+     * @return the first matcher in this index that matches the call, or {@code null}.
+     */
+    @Nullable
+    MethodMatcher find(@Nullable Expression expression) {
+        if (!(expression instanceof MethodCall)) {
+            return null;
+        }
+        JavaType.Method methodType = ((MethodCall) expression).getMethodType();
+        if (methodType == null) {
+            return null;
+        }
+        String name = methodType.getName();
+        List<MethodMatcher> exact = byTypeAndName.get(typeAndName(methodType.getDeclaringType().getFullyQualifiedName(), name));
+        if (exact != null) {
+            for (MethodMatcher matcher : exact) {
+                if (matcher.matches(expression)) {
+                    return matcher;
+                }
+            }
+        }
+        List<MethodMatcher> named = byName.get(name);
+        if (named != null) {
+            for (MethodMatcher matcher : named) {
+                if (matcher.matches(expression)) {
+                    return matcher;
+                }
+            }
+        }
+        for (MethodMatcher matcher : unindexed) {
+            if (matcher.matches(expression)) {
+                return matcher;
+            }
+        }
+        return null;
+    }
+
+    boolean matches(@Nullable Expression expression) {
+        return find(expression) != null;
+    }
+}
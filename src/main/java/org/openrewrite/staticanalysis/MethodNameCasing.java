@@ -21,7 +21,6 @@ import org.openrewrite.*;
 import org.openrewrite.internal.NameCaseConvention;
 import org.openrewrite.internal.StringUtils;
 import org.openrewrite.internal.lang.Nullable;
-import org.openrewrite.java.ChangeMethodName;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.VariableNameUtils;
@@ -33,13 +32,15 @@ import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.regex.Pattern;
 
 import static java.util.Objects.requireNonNull;
 
 @Value
 @EqualsAndHashCode(callSuper = true)
-public class MethodNameCasing extends ScanningRecipe<List<ChangeMethodName>> {
+public class MethodNameCasing extends ScanningRecipe<MethodNameCasing.MethodRenames> {
 
     @Option(displayName = "Apply recipe to test source set",
             description = "Changes only apply to main by default. `includeTestSources` will apply the recipe to `test` source files.",
@@ -74,12 +75,12 @@ public class MethodNameCasing extends ScanningRecipe<List<ChangeMethodName>> {
     }
 
     @Override
-    public List<ChangeMethodName> getInitialValue(ExecutionContext ctx) {
-        return new ArrayList<>();
+    public MethodRenames getInitialValue(ExecutionContext ctx) {
+        return new MethodRenames();
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getScanner(List<ChangeMethodName> changes) {
+    public TreeVisitor<?, ExecutionContext> getScanner(MethodRenames renames) {
         Pattern standardMethodName = Pattern.compile("^[a-z][a-zA-Z0-9]*$");
         Pattern snakeCase = Pattern.compile("^[a-zA-Z0-9]+_\\w+$");
         return new JavaIsoVisitor<ExecutionContext>() {
@@ -143,7 +144,7 @@ public class MethodNameCasing extends ScanningRecipe<List<ChangeMethodName>> {
                         && !methodExists(method.getMethodType(), standardized.toString())) {
                         String toName = standardized.toString();
                         if (!StringUtils.isNumeric(toName)) {
-                            changes.add(new ChangeMethodName(MethodMatcher.methodPattern(method), standardized.toString(), true, false));
+                            renames.add(method, toName);
                         }
                     }
                 }
@@ -162,19 +163,132 @@ public class MethodNameCasing extends ScanningRecipe<List<ChangeMethodName>> {
     }
 
     @Override
-    public TreeVisitor<?, ExecutionContext> getVisitor(List<ChangeMethodName> changes) {
-        return new JavaIsoVisitor<ExecutionContext>() {
+    public TreeVisitor<?, ExecutionContext> getVisitor(MethodRenames renames) {
+        if (renames.isEmpty()) {
+            return TreeVisitor.noop();
+        }
+        return SourceFileFacts.check(renames::isReferencedBy, new JavaIsoVisitor<ExecutionContext>() {
             @Override
-            public J visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (tree instanceof JavaSourceFile) {
-                    JavaSourceFile cu = (JavaSourceFile) requireNonNull(tree);
-                    for (ChangeMethodName changeMethodName : changes) {
-                        cu = (JavaSourceFile) changeMethodName.getVisitor().visitNonNull(cu, ctx);
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
+                J.ClassDeclaration classDecl = getCursor().firstEnclosing(J.ClassDeclaration.class);
+                String toName = classDecl == null ? null : renames.getNewName(method, classDecl);
+                if (toName != null) {
+                    JavaType.Method type = m.getMethodType();
+                    if (type != null) {
+                        type = type.withName(toName);
                     }
-                    return cu;
+                    m = m.withName(m.getName().withSimpleName(toName).withType(type))
+                            .withMethodType(type);
                 }
-                return (J) tree;
+                return m;
             }
-        };
+
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                String toName = renames.getNewName(m.getMethodType());
+                if (toName != null && !m.getSimpleName().equals(toName)) {
+                    JavaType.Method type = requireNonNull(m.getMethodType()).withName(toName);
+                    m = m.withName(m.getName().withSimpleName(toName).withType(type))
+                            .withMethodType(type);
+                }
+                return m;
+            }
+
+            @Override
+            public J.MemberReference visitMemberReference(J.MemberReference memberRef, ExecutionContext ctx) {
+                J.MemberReference m = super.visitMemberReference(memberRef, ctx);
+                String toName = renames.getNewName(m.getMethodType());
+                if (toName != null && !m.getReference().getSimpleName().equals(toName)) {
+                    JavaType.Method type = requireNonNull(m.getMethodType()).withName(toName);
+                    m = m.withReference(m.getReference().withSimpleName(toName))
+                            .withMethodType(type);
+                }
+                return m;
+            }
+
+            @Override
+            public J.FieldAccess visitFieldAccess(J.FieldAccess fieldAccess, ExecutionContext ctx) {
+                J.FieldAccess f = super.visitFieldAccess(fieldAccess, ctx);
+                J.Import anImport = getCursor().firstEnclosing(J.Import.class);
+                if (anImport != null && anImport.isStatic()) {
+                    String toName = renames.getNewName(f);
+                    if (toName != null) {
+                        f = f.withName(f.getName().withSimpleName(toName));
+                    }
+                }
+                return f;
+            }
+        });
+    }
+
+    /**
+     * The methods to rename, indexed by their current name. Each entry matches the declaring type and signature of a
+     * method, including its overrides, so that a single visitor can look up every declaration and reference. Source files
+     * may be scanned concurrently, so the index only uses concurrent collections.
+     */
+    static class MethodRenames {
+        private final Map<String, List<Rename>> byName = new ConcurrentHashMap<>();
+
+        void add(J.MethodDeclaration method, String toName) {
+            byName.computeIfAbsent(method.getSimpleName(), k -> new CopyOnWriteArrayList<>())
+                    .add(new Rename(new MethodMatcher(MethodMatcher.methodPattern(method), true), toName));
+        }
+
+        boolean isEmpty() {
+            return byName.isEmpty();
+        }
+
+        /**
+         * @param facts the facts of a source file.
+         * @return whether the source file declares or references any method with the name of a renamed method.
+         */
+        boolean isReferencedBy(SourceFileFacts facts) {
+            for (String name : byName.keySet()) {
+                if (facts.usesMethodNamed(name) || facts.declaresMethodNamed(name)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Nullable
+        String getNewName(@Nullable JavaType.Method type) {
+            if (type != null) {
+                for (Rename rename : byName.getOrDefault(type.getName(), Collections.emptyList())) {
+                    if (rename.getMatcher().matches(type)) {
+                        return rename.getToName();
+                    }
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        String getNewName(J.MethodDeclaration method, J.ClassDeclaration classDecl) {
+            for (Rename rename : byName.getOrDefault(method.getSimpleName(), Collections.emptyList())) {
+                if (rename.getMatcher().matches(method, classDecl)) {
+                    return rename.getToName();
+                }
+            }
+            return null;
+        }
+
+        @Nullable
+        String getNewName(J.FieldAccess staticImport) {
+            for (Rename rename : byName.getOrDefault(staticImport.getSimpleName(), Collections.emptyList())) {
+                if (rename.getMatcher().isFullyQualifiedClassReference(staticImport)) {
+                    return rename.getToName();
+                }
+            }
+            return null;
+        }
+    }
+
+    @Value
+    private static class Rename {
+        MethodMatcher matcher;
+        String toName;
     }
 }
@@ -20,6 +20,7 @@ import lombok.Value;
 import lombok.With;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
 import org.openrewrite.Tree;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.RecipeRunException;
@@ -105,6 +106,12 @@ public class MinimumSwitchCases extends Recipe {
                     "if(#{any()} == #{}) {\n" +
                     "}").contextSensitive().build();
 
+            @Override
+            public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+                return super.isAcceptable(sourceFile, ctx) &&
+                       SourceFileFacts.of((JavaSourceFile) sourceFile).contains(J.Switch.class);
+            }
+
             @Override
             public J visitBlock(J.Block block, ExecutionContext executionContext) {
                 // Handle the edge case of the extra-pointless switch statement which contains _only_ the default case
@@ -128,7 +135,7 @@ public class MinimumSwitchCases extends Recipe {
             @Override
             public J visitSwitch(J.Switch switch_, ExecutionContext ctx) {
                 if (switch_.getCases().getStatements().size() < 3) {
-                    J.Switch sortedSwitch = (J.Switch) new DefaultComesLast().getVisitor().visit(switch_, ctx);
+                    J.Switch sortedSwitch = (J.Switch) RecipeMetrics.nestedTraversal(new DefaultComesLast().getVisitor(), switch_, ctx);
                     assert sortedSwitch != null;
 
                     J.Case[] cases = new J.Case[2];
@@ -23,7 +23,6 @@ import org.openrewrite.java.AnnotationMatcher;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.tree.J;
-import org.openrewrite.java.tree.TypeUtils;
 
 import java.time.Duration;
 import java.util.Collections;
@@ -78,7 +77,7 @@ public class MissingOverrideAnnotation extends Recipe {
             if (!method.hasModifier(J.Modifier.Type.Static)
                     && !method.isConstructor()
                     && method.getAllAnnotations().stream().noneMatch(OVERRIDE_ANNOTATION::matches)
-                    && TypeUtils.isOverride(method.getMethodType())
+                    && TypeHierarchy.of(ctx).isOverride(method.getMethodType())
                     && !(Boolean.TRUE.equals(ignoreAnonymousClassMethods)
                     && getCursorToParentScope(getCursor()).getValue() instanceof J.NewClass)) {
 
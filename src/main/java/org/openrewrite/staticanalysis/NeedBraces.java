@@ -52,7 +52,7 @@ public class NeedBraces extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new NeedBracesVisitor();
+        return SourceFileFacts.check(facts -> facts.containsAny(J.If.class, J.WhileLoop.class, J.DoWhileLoop.class, J.ForLoop.class, J.ForEachLoop.class), new NeedBracesVisitor());
     }
 
     private static class NeedBracesVisitor extends JavaIsoVisitor<ExecutionContext> {
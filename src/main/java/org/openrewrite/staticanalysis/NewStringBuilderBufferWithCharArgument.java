@@ -17,7 +17,6 @@ package org.openrewrite.staticanalysis;
 
 import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.J;
@@ -28,7 +27,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 
-public class NewStringBuilderBufferWithCharArgument extends Recipe {
+public class NewStringBuilderBufferWithCharArgument extends Recipe implements FusibleRecipe {
 
     @Override
     public String getDisplayName() {
@@ -52,13 +51,18 @@ public class NewStringBuilderBufferWithCharArgument extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return getFusibleVisitor().withPrecondition();
+    }
+
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
         TreeVisitor<?, ExecutionContext> condition = Preconditions.or(new UsesType<>("java.lang.StringBuilder", true), new UsesType<>("java.lang.StringBuffer", true));
-        return Preconditions.check(condition, new JavaIsoVisitor<ExecutionContext>() {
+        return new FusibleVisitor(condition, J.NewClass.class) {
             private final JavaTemplate toString = JavaTemplate.builder("String.valueOf(#{any()})").build();
 
             @Override
             public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext executionContext) {
-                J.NewClass nc = super.visitNewClass(newClass, executionContext);
+                J.NewClass nc = (J.NewClass) super.visitNewClass(newClass, executionContext);
                 if ((TypeUtils.isOfClassType(nc.getType(), "java.lang.StringBuilder") ||
                      TypeUtils.isOfClassType(nc.getType(), "java.lang.StringBuffer"))) {
                     nc.getArguments();
@@ -80,6 +84,6 @@ public class NewStringBuilderBufferWithCharArgument extends Recipe {
                 }
                 return nc;
             }
-        });
+        };
     }
 }
@@ -0,0 +1,471 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.*;
+import org.openrewrite.config.DataTableDescriptor;
+import org.openrewrite.config.OptionDescriptor;
+import org.openrewrite.config.RecipeDescriptor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.marker.JavaSourceSet;
+import org.openrewrite.java.marker.JavaVersion;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.marker.Marker;
+import org.openrewrite.style.NamedStyles;
+import org.openrewrite.style.Style;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Remembers on disk which recipes made no change to which source files, so that a later run can skip them.
+ * <p>
+ * An entry is a 64-bit key derived from the printed content of a source file, the markers that recipes read from it, such
+ * as its Java version, styles and classpath, the types attributed to it, the name and options of a recipe and the
+ * version of this library. Entries are stored as a sorted array of keys in a file that is memory mapped and binary
+ * searched, so opening the cache doesn't read the entries. Entries recorded during a run are written when the cache is
+ * closed:
+ * <pre>{@code
+ * try (NoChangeCache cache = NoChangeCache.open(cacheFile)) {
+ *     cache.wrap(commonStaticAnalysis).run(sourceSet, ctx);
+ * }
+ * }</pre>
+ * Scanning recipes are never skipped, because the changes they make to one source file depend on all the others. Neither
+ * should recipes be wrapped whose only output is a data table, because skipping them would leave out its rows.
+ */
+public class NoChangeCache implements Closeable {
+    private static final int MAGIC = 0x524e4331; // "RNC1"
+    private static final int HEADER_BYTES = 8;
+
+    /**
+     * Once exceeded, only the entries used or recorded during the current run are written back.
+     */
+    static final int MAXIMUM_ENTRIES = 1 << 24;
+
+    private final Path file;
+    private final byte[] libraryVersion;
+
+    @Nullable
+    private MappedByteBuffer mapped;
+
+    @Nullable
+    private volatile LongBuffer stored;
+
+    private final Set<Long> used = ConcurrentHashMap.newKeySet();
+    private final Set<Long> recorded = ConcurrentHashMap.newKeySet();
+    private final Map<UUID, ContentDigest> contentDigests = new ConcurrentHashMap<>();
+    private final Map<UUID, byte[]> classpathDigests = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    private NoChangeCache(Path file, String libraryVersion, @Nullable MappedByteBuffer mapped) {
+        this.file = file;
+        this.libraryVersion = libraryVersion.getBytes(StandardCharsets.UTF_8);
+        this.mapped = mapped;
+        if (mapped != null) {
+            mapped.position(HEADER_BYTES);
+            this.stored = mapped.slice().asLongBuffer();
+        }
+    }
+
+    /**
+     * Opens a cache that is only valid for the version of this library that is running.
+     */
+    public static NoChangeCache open(Path file) throws IOException {
+        String version = NoChangeCache.class.getPackage().getImplementationVersion();
+        return open(file, version == null ? "development" : version);
+    }
+
+    public static NoChangeCache open(Path file, String libraryVersion) throws IOException {
+        if (!Files.exists(file)) {
+            return new NoChangeCache(file, libraryVersion, null);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (mapped.limit() < HEADER_BYTES || mapped.getInt(0) != MAGIC ||
+                mapped.limit() != HEADER_BYTES + (long) mapped.getInt(4) * Long.BYTES) {
+                // not a cache file, or one that was written by an incompatible version, so start over
+                unmap(mapped);
+                return new NoChangeCache(file, libraryVersion, null);
+            }
+            return new NoChangeCache(file, libraryVersion, mapped);
+        }
+    }
+
+    /**
+     * @param recipe the recipe to run, including all the recipes in its recipe list.
+     * @return a recipe that behaves like {@code recipe}, but skips the source files it is known not to change.
+     */
+    public Recipe wrap(Recipe recipe) {
+        if (recipe instanceof ScanningRecipe) {
+            return recipe;
+        }
+        return new CachedRecipe(recipe);
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Writes the entries to the cache file, replacing it. The file is unmapped first, because a file that is still mapped
+     * can't be replaced on Windows.
+     */
+    @Override
+    public void close() throws IOException {
+        if (recorded.isEmpty()) {
+            release();
+            return;
+        }
+        long[] keys = merge();
+        release();
+        Path dir = file.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path temp = Files.createTempFile(dir, file.getFileName().toString(), ".tmp");
+        try (OutputStream os = Files.newOutputStream(temp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+            out.writeInt(MAGIC);
+            out.writeInt(keys.length);
+            for (long key : keys) {
+                out.writeLong(key);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void release() {
+        stored = null;
+        if (mapped != null) {
+            unmap(mapped);
+            mapped = null;
+        }
+    }
+
+    private long[] merge() {
+        LongBuffer stored = this.stored;
+        boolean keepStored = stored != null && stored.limit() + recorded.size() <= MAXIMUM_ENTRIES;
+        long[] keys = new long[(keepStored ? stored.limit() : used.size()) + recorded.size()];
+        int n = 0;
+        if (keepStored) {
+            for (int i = 0; i < stored.limit(); i++) {
+                keys[n++] = stored.get(i);
+            }
+        } else {
+            for (Long key : used) {
+                keys[n++] = key;
+            }
+        }
+        for (Long key : recorded) {
+            keys[n++] = key;
+        }
+        Arrays.sort(keys, 0, n);
+        int distinct = 0;
+        for (int i = 0; i < n; i++) {
+            if (distinct == 0 || keys[distinct - 1] != keys[i]) {
+                keys[distinct++] = keys[i];
+            }
+        }
+        return Arrays.copyOf(keys, distinct);
+    }
+
+    private boolean contains(long key) {
+        if (recorded.contains(key)) {
+            return true;
+        }
+        LongBuffer stored = this.stored;
+        if (stored == null) {
+            return false;
+        }
+        int low = 0;
+        int high = stored.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = stored.get(mid);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private long key(byte[] recipe, SourceFile sourceFile) {
+        MessageDigest digest = sha256();
+        digest.update(libraryVersion);
+        digest.update((byte) 0);
+        digest.update(recipe);
+        digest.update((byte) 0);
+        digest.update(contentDigest(sourceFile));
+        return ByteBuffer.wrap(digest.digest()).getLong();
+    }
+
+    /**
+     * Every recipe asks for the key of the same source files, so the digest of their content, markers and types is
+     * computed once per source file instance.
+     */
+    private byte[] contentDigest(SourceFile sourceFile) {
+        ContentDigest cached = contentDigests.get(sourceFile.getId());
+        if (cached != null && cached.sourceFile.get() == sourceFile) {
+            return cached.digest;
+        }
+        MessageDigest content = sha256();
+        content.update(sourceFile.printAll().getBytes(StandardCharsets.UTF_8));
+        for (Marker marker : sourceFile.getMarkers().getMarkers()) {
+            content.update((byte) 0);
+            updateWithMarker(content, marker);
+        }
+        if (sourceFile instanceof JavaSourceFile) {
+            content.update((byte) 0);
+            updateWithTypes(content, ((JavaSourceFile) sourceFile).getTypesInUse().getTypesInUse());
+        }
+        byte[] digest = content.digest();
+        contentDigests.put(sourceFile.getId(), new ContentDigest(sourceFile, digest));
+        return digest;
+    }
+
+    /**
+     * Markers carry a random id, so only what recipes read from them goes into the digest. Of other markers only their
+     * presence does.
+     */
+    private void updateWithMarker(MessageDigest digest, Marker marker) {
+        update(digest, marker.getClass().getName());
+        if (marker instanceof JavaVersion) {
+            JavaVersion javaVersion = (JavaVersion) marker;
+            update(digest, javaVersion.getSourceCompatibility());
+            update(digest, javaVersion.getTargetCompatibility());
+        } else if (marker instanceof NamedStyles) {
+            NamedStyles styles = (NamedStyles) marker;
+            update(digest, styles.getName());
+            for (Style style : styles.getStyles()) {
+                update(digest, style.toString());
+            }
+        } else if (marker instanceof JavaSourceSet) {
+            JavaSourceSet sourceSet = (JavaSourceSet) marker;
+            update(digest, sourceSet.getName());
+            // the source files of a source set share its marker, so its classpath is digested once
+            digest.update(classpathDigests.computeIfAbsent(sourceSet.getId(), id -> {
+                MessageDigest classpath = sha256();
+                updateWithTypes(classpath, sourceSet.getClasspath());
+                return classpath.digest();
+            }));
+        }
+    }
+
+    private static void updateWithTypes(MessageDigest digest, Collection<? extends JavaType> types) {
+        List<String> signatures = new ArrayList<>(types.size());
+        for (JavaType type : types) {
+            signatures.add(type.toString());
+        }
+        Collections.sort(signatures);
+        for (String signature : signatures) {
+            update(digest, signature);
+        }
+    }
+
+    private static void update(MessageDigest digest, @Nullable String value) {
+        if (value != null) {
+            digest.update(value.getBytes(StandardCharsets.UTF_8));
+        }
+        digest.update((byte) 0);
+    }
+
+    /**
+     * Releases the mapping of the cache file without waiting for the buffer to be garbage collected.
+     */
+    private static void unmap(MappedByteBuffer buffer) {
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+            theUnsafe.setAccessible(true);
+            unsafeClass.getMethod("invokeCleaner", ByteBuffer.class).invoke(theUnsafe.get(null), buffer);
+        } catch (NoSuchMethodException e) {
+            // Java 8
+            try {
+                Method cleaner = buffer.getClass().getMethod("cleaner");
+                cleaner.setAccessible(true);
+                Object clean = cleaner.invoke(buffer);
+                if (clean != null) {
+                    clean.getClass().getMethod("clean").invoke(clean);
+                }
+            } catch (ReflectiveOperationException | RuntimeException ignored) {
+                // left to the garbage collector
+            }
+        } catch (ReflectiveOperationException | RuntimeException ignored) {
+            // left to the garbage collector
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static byte[] recipeKey(Recipe recipe) {
+        StringBuilder key = new StringBuilder(recipe.getName());
+        for (OptionDescriptor option : recipe.getDescriptor().getOptions()) {
+            key.append(';').append(option.getName()).append('=').append(option.getValue());
+        }
+        return key.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static class ContentDigest {
+        final WeakReference<SourceFile> sourceFile;
+        final byte[] digest;
+
+        ContentDigest(SourceFile sourceFile, byte[] digest) {
+            this.sourceFile = new WeakReference<>(sourceFile);
+            this.digest = digest;
+        }
+    }
+
+    private class CachedVisitor extends TreeVisitor<Tree, ExecutionContext> {
+        private final byte[] recipe;
+        private final TreeVisitor<?, ExecutionContext> delegate;
+
+        CachedVisitor(byte[] recipe, TreeVisitor<?, ExecutionContext> delegate) {
+            this.recipe = recipe;
+            this.delegate = delegate;
+        }
+
+        @Override
+        public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+            if (!delegate.isAcceptable(sourceFile, ctx)) {
+                return false;
+            }
+            long key = key(recipe, sourceFile);
+            if (contains(key)) {
+                used.add(key);
+                hits.incrementAndGet();
+                return false;
+            }
+            misses.incrementAndGet();
+            return true;
+        }
+
+        @Override
+        public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+            Tree after = delegate.visit(tree, ctx, getCursor());
+            if (tree instanceof SourceFile && after == tree) {
+                recorded.add(key(recipe, (SourceFile) tree));
+            }
+            return after;
+        }
+    }
+
+    private class CachedRecipe extends Recipe {
+        private final Recipe delegate;
+        private final transient byte[] key;
+        private final List<Recipe> recipeList;
+
+        CachedRecipe(Recipe delegate) {
+            this.delegate = delegate;
+            this.key = recipeKey(delegate);
+            // built once, because the accumulators of scanning recipes are kept per recipe instance
+            this.recipeList = delegate.getRecipeList().stream()
+                    .map(NoChangeCache.this::wrap)
+                    .collect(toList());
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public @Nullable Duration getEstimatedEffortPerOccurrence() {
+            return delegate.getEstimatedEffortPerOccurrence();
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new CachedVisitor(key, delegate.getVisitor());
+        }
+
+        @Override
+        protected RecipeDescriptor createRecipeDescriptor() {
+            return delegate.getDescriptor();
+        }
+
+        @Override
+        public List<DataTableDescriptor> getDataTableDescriptors() {
+            return delegate.getDataTableDescriptors();
+        }
+
+        @Override
+        public Validated validate() {
+            return delegate.validate();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return recipeList;
+        }
+    }
+}
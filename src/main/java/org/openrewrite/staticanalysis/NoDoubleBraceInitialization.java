@@ -68,7 +68,7 @@ public class NoDoubleBraceInitialization extends Recipe {
 
     private static class NoDoubleBraceInitializationVisitor extends JavaIsoVisitor<ExecutionContext> {
 
-        private boolean isSupportedDoubleBraceInitialization(J.NewClass nc) {
+        private boolean isSupportedDoubleBraceInitialization(J.NewClass nc, TypeHierarchy hierarchy) {
             if (getCursor().getParent() == null
                 || getCursor().getParent().firstEnclosing(J.class) instanceof J.MethodInvocation
                 || getCursor().getParent().firstEnclosing(J.class) instanceof J.NewClass) {
@@ -78,9 +78,9 @@ public class NoDoubleBraceInitialization extends Recipe {
                 && nc.getBody().getStatements().size() == 1
                 && nc.getBody().getStatements().get(0) instanceof J.Block
                 && getCursor().getParent(3) != null) {
-                return TypeUtils.isAssignableTo(MAP_TYPE, nc.getType())
-                       || TypeUtils.isAssignableTo(LIST_TYPE, nc.getType())
-                       || TypeUtils.isAssignableTo(SET_TYPE, nc.getType());
+                return hierarchy.isAssignableTo(MAP_TYPE, nc.getType())
+                       || hierarchy.isAssignableTo(LIST_TYPE, nc.getType())
+                       || hierarchy.isAssignableTo(SET_TYPE, nc.getType());
             }
             return false;
         }
@@ -89,7 +89,8 @@ public class NoDoubleBraceInitialization extends Recipe {
         public J.NewClass visitNewClass(J.NewClass newClass, ExecutionContext executionContext) {
             J.NewClass nc = super.visitNewClass(newClass, executionContext);
             updateCursor(nc);
-            if (isSupportedDoubleBraceInitialization(newClass)) {
+            TypeHierarchy hierarchy = TypeHierarchy.of(executionContext);
+            if (isSupportedDoubleBraceInitialization(newClass, hierarchy)) {
                 Cursor parentBlockCursor = getCursor().dropParentUntil(J.Block.class::isInstance);
                 J.VariableDeclarations.NamedVariable var = getCursor().firstEnclosing(J.VariableDeclarations.NamedVariable.class);
                 //noinspection ConstantConditions
@@ -101,7 +102,7 @@ public class NoDoubleBraceInitialization extends Recipe {
 
                 if (maybeMistakenlyMissedAddingElement) {
                     JavaType newClassType = nc.getType();
-                    String addToCollectionMethod = TypeUtils.isAssignableTo(MAP_TYPE, newClassType) ? "put()" : "add()";
+                    String addToCollectionMethod = hierarchy.isAssignableTo(MAP_TYPE, newClassType) ? "put()" : "add()";
                     return nc.withBody(AddWarningMessage.addWarningComment(nc.getBody(), addToCollectionMethod));
                 }
 
@@ -109,7 +110,7 @@ public class NoDoubleBraceInitialization extends Recipe {
                 // the content of the collection, it means the intention of the code in the double brace is uncertain
                 // or maybe a custom code bug (like issue: https://github.com/openrewrite/rewrite/issues/2674),
                 // we don't want to rewrite code for this case to avoid introducing other warnings.
-                boolean hasMethodInvocationInDoubleBrace = FindMethodInvocationInDoubleBrace.find(secondBlock);
+                boolean hasMethodInvocationInDoubleBrace = FindMethodInvocationInDoubleBrace.find(secondBlock, hierarchy);
 
                 if (hasMethodInvocationInDoubleBrace && var != null && parentBlockCursor.getParent() != null) {
                     if (parentBlockCursor.getParent().getValue() instanceof J.ClassDeclaration) {
@@ -121,7 +122,7 @@ public class NoDoubleBraceInitialization extends Recipe {
 
                             fq = fq.getSupertype();
                             String newInitializer = " new " + fq.getClassName() + "<>();";
-                            JavaTemplate template = JavaTemplate.builder(newInitializer).imports(fq.getFullyQualifiedName()).build();
+                            JavaTemplate template = JavaTemplates.contextFree(newInitializer, fq.getFullyQualifiedName());
                             nc = template.apply(getCursor(), nc.getCoordinates().replace());
                             initStatements = addSelectToInitStatements(initStatements, var.getName(), executionContext);
                             initStatements.add(0, new J.Assignment(UUID.randomUUID(), Space.EMPTY, Markers.EMPTY, var.getName().withId(UUID.randomUUID()), JLeftPadded.build(nc), fq));
@@ -171,7 +172,7 @@ public class NoDoubleBraceInitialization extends Recipe {
                     JavaType rawMethodDeclaringType = mi.getMethodType().getDeclaringType();
                     rawMethodDeclaringType = rawMethodDeclaringType instanceof JavaType.Parameterized ? ((JavaType.Parameterized) rawMethodDeclaringType).getType() : rawMethodDeclaringType;
 
-                    if (TypeUtils.isAssignableTo(rawFieldType, rawMethodDeclaringType)) {
+                    if (TypeHierarchy.of(executionContext).isAssignableTo(rawFieldType, rawMethodDeclaringType)) {
                         return mi.withSelect(identifier);
                     }
                 }
@@ -246,14 +247,21 @@ public class NoDoubleBraceInitialization extends Recipe {
     }
 
     private static class FindMethodInvocationInDoubleBrace extends JavaIsoVisitor<AtomicBoolean> {
+        private final TypeHierarchy hierarchy;
+
+        private FindMethodInvocationInDoubleBrace(TypeHierarchy hierarchy) {
+            this.hierarchy = hierarchy;
+        }
+
         /**
          * Find whether any collection content initialization method(e.g add() or put()) is invoked in the double brace.
          *
-         * @param j The subtree to search, supposed to be the 2nd brace (J.Block)
+         * @param j         The subtree to search, supposed to be the 2nd brace (J.Block)
+         * @param hierarchy The type hierarchy of the run
          * @return true if any method invocation found in the double brace, otherwise false.
          */
-        static boolean find(J j) {
-            return new FindMethodInvocationInDoubleBrace()
+        static boolean find(J j, TypeHierarchy hierarchy) {
+            return new FindMethodInvocationInDoubleBrace(hierarchy)
                     .reduce(j, new AtomicBoolean()).get();
         }
 
@@ -263,7 +271,7 @@ public class NoDoubleBraceInitialization extends Recipe {
                 return method;
             }
             JavaType.FullyQualified declaring = method.getMethodType().getDeclaringType();
-            if (TypeUtils.isAssignableTo(MAP_TYPE, declaring) || TypeUtils.isAssignableTo(LIST_TYPE, declaring) || TypeUtils.isAssignableTo(SET_TYPE, declaring)) {
+            if (hierarchy.isAssignableTo(MAP_TYPE, declaring) || hierarchy.isAssignableTo(LIST_TYPE, declaring) || hierarchy.isAssignableTo(SET_TYPE, declaring)) {
                 atomicBoolean.set(true);
                 return method;
             }
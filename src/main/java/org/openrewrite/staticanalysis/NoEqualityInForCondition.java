@@ -49,7 +49,7 @@ public class NoEqualityInForCondition extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.ForLoop.class), new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitForControl(J.ForLoop.Control control, ExecutionContext ctx) {
                 if (control.getCondition() instanceof J.Binary) {
@@ -76,6 +76,6 @@ public class NoEqualityInForCondition extends Recipe {
 
                 return super.visitForControl(control, ctx);
             }
-        };
+        });
     }
 }
@@ -50,7 +50,7 @@ public class NoFinalizer extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new NoFinalizerVisitor();
+        return SourceFileFacts.check(facts -> facts.declaresMethodNamed("finalize"), new NoFinalizerVisitor());
     }
 
     private static class NoFinalizerVisitor extends JavaIsoVisitor<ExecutionContext> {
@@ -34,11 +34,15 @@ import java.time.Duration;
 import java.util.*;
 
 public class NoPrimitiveWrappersForToStringOrCompareTo extends Recipe {
-    private static final MethodMatcher NUMBER_TO_STRING_MATCHER = new MethodMatcher("java.lang.Number toString()", true);
-    private static final MethodMatcher BOOLEAN_TO_STRING_MATCHER = new MethodMatcher("java.lang.Boolean toString()", true);
+    private static final MethodMatcher NUMBER_TO_STRING_MATCHER = MethodMatchers.of("java.lang.Number toString()", true);
+    private static final MethodMatcher BOOLEAN_TO_STRING_MATCHER = MethodMatchers.of("java.lang.Boolean toString()", true);
+    private static final MethodMatchers TO_STRING_MATCHERS = MethodMatchers.indexOverriding(
+            "java.lang.Number toString()", "java.lang.Boolean toString()");
 
-    private static final MethodMatcher NUMBER_COMPARE_TO_MATCHER = new MethodMatcher("java.lang.Number compareTo(..)", true);
-    private static final MethodMatcher BOOLEAN_COMPARE_TO_MATCHER = new MethodMatcher("java.lang.Boolean compareTo(..)", true);
+    private static final MethodMatcher NUMBER_COMPARE_TO_MATCHER = MethodMatchers.of("java.lang.Number compareTo(..)", true);
+    private static final MethodMatcher BOOLEAN_COMPARE_TO_MATCHER = MethodMatchers.of("java.lang.Boolean compareTo(..)", true);
+    private static final MethodMatchers COMPARE_TO_MATCHERS = MethodMatchers.indexOverriding(
+            "java.lang.Number compareTo(..)", "java.lang.Boolean compareTo(..)");
 
     @Override
     public String getDisplayName() {
@@ -75,21 +79,21 @@ public class NoPrimitiveWrappersForToStringOrCompareTo extends Recipe {
 
     private static class NoPrimitiveWrapperVisitor extends JavaIsoVisitor<ExecutionContext> {
 
-        private static final MethodMatcher VALUE_OF_NUMBER_MATCHER = new MethodMatcher("java.lang.Number valueOf(*)", true);
-        private static final MethodMatcher VALUE_OF_BOOLEAN_MATCHER = new MethodMatcher("java.lang.Boolean valueOf(*)", true);
+        private static final MethodMatchers VALUE_OF_MATCHERS = MethodMatchers.indexOverriding(
+                "java.lang.Number valueOf(*)", "java.lang.Boolean valueOf(*)");
 
         @Override
         public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
             J.MethodInvocation mi = super.visitMethodInvocation(method, executionContext);
             JavaType.Class clazz = mi.getMethodType() != null ? TypeUtils.asClass(mi.getMethodType().getDeclaringType()) : null;
             if (clazz != null && "java.lang".equals(clazz.getPackageName())) {
-                if (NUMBER_TO_STRING_MATCHER.matches(mi) || BOOLEAN_TO_STRING_MATCHER.matches(mi)) {
+                if (TO_STRING_MATCHERS.matches(mi)) {
                     Expression arg = null;
                     if (mi.getSelect() instanceof J.NewClass) {
                         arg = getSingleArg(((J.NewClass) mi.getSelect()).getArguments());
                     } else if (mi.getSelect() instanceof J.MethodInvocation) {
                         J.MethodInvocation selectMethod = (J.MethodInvocation) mi.getSelect();
-                        if (VALUE_OF_NUMBER_MATCHER.matches(selectMethod) || VALUE_OF_BOOLEAN_MATCHER.matches(selectMethod)) {
+                        if (VALUE_OF_MATCHERS.matches(selectMethod)) {
                             arg = getSingleArg(selectMethod.getArguments());
                         }
                     }
@@ -99,13 +103,13 @@ public class NoPrimitiveWrappersForToStringOrCompareTo extends Recipe {
                         //noinspection ArraysAsListWithZeroOrOneArgument
                         mi = mi.withArguments(Arrays.asList(arg));
                     }
-                } else if (NUMBER_COMPARE_TO_MATCHER.matches(mi) || BOOLEAN_COMPARE_TO_MATCHER.matches(mi)) {
+                } else if (COMPARE_TO_MATCHERS.matches(mi)) {
                     Expression arg = null;
                     if (mi.getSelect() instanceof J.NewClass) {
                         arg = getSingleArg(((J.NewClass) mi.getSelect()).getArguments());
                     } else if (mi.getSelect() instanceof J.MethodInvocation) {
                         J.MethodInvocation selectMethod = (J.MethodInvocation) mi.getSelect();
-                        if (VALUE_OF_NUMBER_MATCHER.matches(selectMethod) || VALUE_OF_BOOLEAN_MATCHER.matches(selectMethod)) {
+                        if (VALUE_OF_MATCHERS.matches(selectMethod)) {
                             arg = getSingleArg(selectMethod.getArguments());
                         }
                     }
@@ -16,10 +16,8 @@
 package org.openrewrite.staticanalysis;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.J;
@@ -28,7 +26,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 
-public class NoToStringOnStringType extends Recipe {
+public class NoToStringOnStringType extends Recipe implements FusibleRecipe {
     private static final MethodMatcher TO_STRING = new MethodMatcher("java.lang.String toString()");
 
     @Override
@@ -53,7 +51,12 @@ public class NoToStringOnStringType extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(TO_STRING), new JavaVisitor<ExecutionContext>() {
+        return getFusibleVisitor().withPrecondition();
+    }
+
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
+        return new FusibleVisitor(new UsesMethod<>(TO_STRING), J.MethodInvocation.class) {
             @Override
             public J visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
@@ -62,6 +65,6 @@ public class NoToStringOnStringType extends Recipe {
                 }
                 return mi;
             }
-        });
+        };
     }
 }
@@ -15,12 +15,11 @@
  */
 package org.openrewrite.staticanalysis;
 
+import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesMethod;
 import org.openrewrite.java.tree.Expression;
@@ -32,7 +31,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 
-public class NoValueOfOnStringType extends Recipe {
+public class NoValueOfOnStringType extends Recipe implements FusibleRecipe {
     private static final MethodMatcher VALUE_OF = new MethodMatcher("java.lang.String valueOf(..)");
 
     @Override
@@ -59,7 +58,12 @@ public class NoValueOfOnStringType extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesMethod<>(new MethodMatcher("java.lang.String valueOf(..)")), new JavaVisitor<ExecutionContext>() {
+        return getFusibleVisitor().withPrecondition();
+    }
+
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
+        return new FusibleVisitor(new UsesMethod<>(new MethodMatcher("java.lang.String valueOf(..)")), J.MethodInvocation.class) {
             private final JavaTemplate t = JavaTemplate.builder("#{any(java.lang.String)}").build();
 
             @Override
@@ -69,7 +73,7 @@ public class NoValueOfOnStringType extends Recipe {
                 }
 
                 J.MethodInvocation mi = (J.MethodInvocation) super.visitMethodInvocation(method, ctx);
-                if (VALUE_OF.matches(mi) && mi.getArguments().size() == 1) {
+                if (VALUE_OF.matches(mi) && mi.getArguments().size() == 1 && !isWithinValueOfSelect()) {
                     Expression argument = mi.getArguments().get(0);
 
                     if (TypeUtils.isString(argument.getType()) || removeValueOfFromBinaryExpression(argument)) {
@@ -79,6 +83,21 @@ public class NoValueOfOnStringType extends Recipe {
                 return mi;
             }
 
+            /**
+             * Invocations on the result of a String#valueOf method are left untouched, including their arguments. On its own,
+             * this visitor doesn't even descend into them, but when fused their children are visited first.
+             *
+             * @return True if an enclosing method is invoked on the result of a String#valueOf method.
+             */
+            private boolean isWithinValueOfSelect() {
+                for (Cursor c = getCursor().getParent(); c != null; c = c.getParent()) {
+                    if (c.getValue() instanceof J.MethodInvocation && VALUE_OF.matches(((J.MethodInvocation) c.getValue()).getSelect())) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
             /**
              * If the String#valueOf method is within a binary expression and the argument is a primitive, the valueOf
              * can be removed if the binary expression's type is a String.
@@ -98,6 +117,6 @@ public class NoValueOfOnStringType extends Recipe {
                 }
                 return false;
             }
-        });
+        };
     }
 }
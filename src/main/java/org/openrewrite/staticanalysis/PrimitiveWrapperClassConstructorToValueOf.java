@@ -20,7 +20,6 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
@@ -31,7 +30,7 @@ import java.time.Duration;
 import java.util.Collections;
 import java.util.Set;
 
-public class PrimitiveWrapperClassConstructorToValueOf extends Recipe {
+public class PrimitiveWrapperClassConstructorToValueOf extends Recipe implements FusibleRecipe {
 
     @Override
     public String getDisplayName() {
@@ -55,6 +54,11 @@ public class PrimitiveWrapperClassConstructorToValueOf extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return getFusibleVisitor().withPrecondition();
+    }
+
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
         TreeVisitor<?, ExecutionContext> condition = Preconditions.or(
                 new UsesType<>("java.lang.Boolean", false),
                 new UsesType<>("java.lang.Byte", false),
@@ -65,35 +69,35 @@ public class PrimitiveWrapperClassConstructorToValueOf extends Recipe {
                 new UsesType<>("java.lang.Long", false),
                 new UsesType<>("java.lang.Short", false)
         );
-        return Preconditions.check(condition, new JavaVisitor<ExecutionContext>() {
+        return new FusibleVisitor(condition, J.NewClass.class) {
             @Override
             public J visitNewClass(J.NewClass newClass, ExecutionContext executionContext) {
                 J.NewClass nc = (J.NewClass) super.visitNewClass(newClass, executionContext);
                 JavaType.FullyQualified type = TypeUtils.asFullyQualified(nc.getType());
                 if (type != null && nc.getArguments().size() == 1) {
                     Expression arg = nc.getArguments().get(0);
-                    JavaTemplate.Builder valueOf;
+                    JavaTemplate valueOf;
                     switch (type.getFullyQualifiedName()) {
                         case "java.lang.Boolean":
-                            valueOf = JavaTemplate.builder("Boolean.valueOf(#{any(boolean)})");
+                            valueOf = JavaTemplates.contextFree("Boolean.valueOf(#{any(boolean)})");
                             break;
                         case "java.lang.Byte":
-                            valueOf = JavaTemplate.builder("Byte.valueOf(#{any(byte)})");
+                            valueOf = JavaTemplates.contextFree("Byte.valueOf(#{any(byte)})");
                             break;
                         case "java.lang.Character":
-                            valueOf = JavaTemplate.builder("Character.valueOf(#{any(char)})");
+                            valueOf = JavaTemplates.contextFree("Character.valueOf(#{any(char)})");
                             break;
                         case "java.lang.Double":
-                            valueOf = JavaTemplate.builder("Double.valueOf(#{any(double)})");
+                            valueOf = JavaTemplates.contextFree("Double.valueOf(#{any(double)})");
                             break;
                         case "java.lang.Integer":
-                            valueOf = JavaTemplate.builder("Integer.valueOf(#{any(int)})");
+                            valueOf = JavaTemplates.contextFree("Integer.valueOf(#{any(int)})");
                             break;
                         case "java.lang.Long":
-                            valueOf = JavaTemplate.builder("Long.valueOf(#{any(long)})");
+                            valueOf = JavaTemplates.contextFree("Long.valueOf(#{any(long)})");
                             break;
                         case "java.lang.Short":
-                            valueOf = JavaTemplate.builder("Short.valueOf(#{any(short)})");
+                            valueOf = JavaTemplates.contextFree("Short.valueOf(#{any(short)})");
                             break;
                         case "java.lang.Float":
                             if (arg instanceof J.Literal && JavaType.Primitive.Double == ((J.Literal) arg).getType()) {
@@ -103,18 +107,18 @@ public class PrimitiveWrapperClassConstructorToValueOf extends Recipe {
 
                             JavaType argType = arg.getType();
                             if (TypeUtils.isOfClassType(argType, "java.lang.Double")) {
-                                valueOf = JavaTemplate.builder("Float.valueOf(#{any(java.lang.Double)}.floatValue())");
+                                valueOf = JavaTemplates.contextFree("Float.valueOf(#{any(java.lang.Double)}.floatValue())");
                             } else {
-                                valueOf = JavaTemplate.builder("Float.valueOf(#{any(float)})");
+                                valueOf = JavaTemplates.contextFree("Float.valueOf(#{any(float)})");
                             }
                             break;
                         default:
                             return nc;
                     }
-                    return valueOf.build().apply(updateCursor(nc), nc.getCoordinates().replace(), arg);
+                    return valueOf.apply(updateCursor(nc), nc.getCoordinates().replace(), arg);
                 }
                 return nc;
             }
-        });
+        };
     }
 }
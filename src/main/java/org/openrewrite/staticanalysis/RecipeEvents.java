@@ -0,0 +1,95 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.internal.lang.Nullable;
+
+/**
+ * Reports the expensive operations performed by recipes as JDK Flight Recorder events.
+ * <p>
+ * The events themselves require Java 11 and are compiled separately from the recipes, which target Java 8.
+ * They are loaded reflectively, and nothing is recorded when JFR is not available.
+ */
+final class RecipeEvents {
+    enum Kind {
+        RECIPE_VISIT,
+        NESTED_TRAVERSAL,
+        TEMPLATE_APPLY,
+        AUTO_FORMAT,
+        STRUCTURAL_EQUALITY
+    }
+
+    interface Recorder {
+        /**
+         * @param kind the kind of operation about to start.
+         * @return an opaque event that has begun, or {@code null} when events of this kind are not recorded.
+         */
+        @Nullable
+        Object begin(Kind kind);
+
+        /**
+         * @param event  an event returned by {@link #begin(Kind)}.
+         * @param name   the recipe or visitor that performed the operation.
+         * @param cursor a cursor pointing at the tree that the operation applied to.
+         */
+        void commit(Object event, String name, Cursor cursor);
+    }
+
+    private static final Recorder RECORDER = load();
+
+    private RecipeEvents() {
+    }
+
+    /**
+     * Starts timing an operation, which is reported when the returned event is passed to
+     * {@link #commit(Object, String, Cursor)} once the operation completes:
+     * <pre>{@code
+     * Object event = RecipeEvents.begin(RecipeEvents.Kind.AUTO_FORMAT);
+     * J formatted = autoFormat(j, p, cursor);
+     * RecipeEvents.commit(event, "autoFormat", cursor);
+     * }</pre>
+     */
+    static @Nullable Object begin(Kind kind) {
+        return RECORDER.begin(kind);
+    }
+
+    static void commit(@Nullable Object event, String name, Cursor cursor) {
+        if (event != null) {
+            RECORDER.commit(event, name, cursor);
+        }
+    }
+
+    private static Recorder load() {
+        try {
+            return (Recorder) Class.forName("org.openrewrite.staticanalysis.JfrRecipeEvents")
+                    .getDeclaredConstructor()
+                    .newInstance();
+        } catch (Throwable t) {
+            // JFR is unavailable on this JVM
+            return new Recorder() {
+                @Override
+                public @Nullable Object begin(Kind kind) {
+                    return null;
+                }
+
+                @Override
+                public void commit(Object event, String name, Cursor cursor) {
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,591 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.openrewrite.*;
+import org.openrewrite.config.DataTableDescriptor;
+import org.openrewrite.config.RecipeDescriptor;
+import org.openrewrite.internal.ListUtils;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.staticanalysis.table.RecipeMetricsTable;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Field;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Opt-in recorder of the wall time, CPU time and allocations spent by each recipe on each source file.
+ * <p>
+ * Recording happens only for recipes wrapped with {@link #instrument(Recipe)} and only while the
+ * {@link ExecutionContext} carries a {@link RecipeMetrics} instance, which is put there by {@link #enable(ExecutionContext)}:
+ * <pre>{@code
+ * Recipe recipe = RecipeMetrics.instrument(commonStaticAnalysis);
+ * RecipeMetrics metrics = RecipeMetrics.enable(ctx);
+ * recipe.run(sourceSet, ctx);
+ * System.out.println(metrics.printAsCsv());
+ * }</pre>
+ * Every measurement is also inserted into the {@link RecipeMetricsTable} data table. Measurements include how many times
+ * each recipe traversed each source file: its own visit, every visitor it queued with {@code doAfterVisit} and every visitor
+ * it ran by itself over the whole source file, which {@link #getTraversalBudget()} ranks per thousand lines of code. Visitors
+ * that a recipe ran by itself over a part of the source file, such as a class or a method, are counted separately as
+ * subtree traversals. The nodes walked by all of these visitors are counted as well. Counting them takes one more walk
+ * of every subtree that a recipe runs a visitor over by itself, and of the source file that the recipe returns, which
+ * every visitor it queued walks. These walks happen once the wall time, CPU time and allocations of the recipe have been
+ * measured, so they are not part of those. Instrumented recipes additionally emit a JFR event for every source file
+ * they visit, see {@link RecipeEvents}.
+ */
+public class RecipeMetrics {
+    public static final String RECIPE_METRICS_KEY = "org.openrewrite.staticanalysis.recipeMetrics";
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+    private static final ThreadLocal<Deque<Frame>> FRAMES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    /**
+     * The queue that {@link TreeVisitor#doAfterVisit(TreeVisitor)} adds to, so that the visitors a recipe queues,
+     * including those queued by {@code maybeAddImport} and {@code maybeRemoveImport}, are counted where the recipe is
+     * measured rather than by every recipe. Null if this version of rewrite keeps the queue elsewhere, in which case
+     * measuring a recipe fails rather than reporting that it queued no visitor.
+     */
+    private static final @Nullable Field AFTER_VISIT = afterVisitField();
+
+    private final Queue<RecipeMetricsTable.Row> rows = new ConcurrentLinkedQueue<>();
+    private final Map<Path, Size> sizes = new ConcurrentHashMap<>();
+
+    public static RecipeMetrics enable(ExecutionContext ctx) {
+        RecipeMetrics metrics = new RecipeMetrics();
+        ctx.putMessage(RECIPE_METRICS_KEY, metrics);
+        return metrics;
+    }
+
+    public static @Nullable RecipeMetrics get(ExecutionContext ctx) {
+        return ctx.getMessage(RECIPE_METRICS_KEY);
+    }
+
+    /**
+     * @param recipe the recipe to measure, including all the recipes in its recipe list.
+     * @return a recipe that behaves like {@code recipe} but records metrics when they are {@link #enable(ExecutionContext) enabled}.
+     */
+    public static Recipe instrument(Recipe recipe) {
+        return instrument(recipe, null);
+    }
+
+    /**
+     * Runs a visitor that a recipe starts by itself from within its own visitor, such as a search for the references to
+     * a variable, counting it against the recipe that is currently being measured on this thread. A walk of a whole
+     * source file counts as a traversal, a walk of anything smaller as a subtree traversal. The walk is also reported as
+     * a {@link RecipeEvents JFR event}.
+     *
+     * @return the result of {@link TreeVisitor#visit(Tree, Object)}.
+     */
+    static <P> @Nullable Tree nestedTraversal(TreeVisitor<?, P> visitor, @Nullable Tree tree, P p) {
+        return nestedTraversal(visitor, tree, p, null);
+    }
+
+    /**
+     * @return the result of {@link TreeVisitor#visit(Tree, Object, Cursor)}, or of {@link TreeVisitor#visit(Tree, Object)}
+     * when {@code parent} is null.
+     * @see #nestedTraversal(TreeVisitor, Tree, Object)
+     */
+    static <P> @Nullable Tree nestedTraversal(TreeVisitor<?, P> visitor, @Nullable Tree tree, P p, @Nullable Cursor parent) {
+        if (tree == null) {
+            return null;
+        }
+        Frame frame = FRAMES.get().peek();
+        if (frame != null) {
+            if (tree instanceof SourceFile) {
+                frame.nestedTraversals++;
+                frame.traversals++;
+            } else {
+                frame.subtreeTraversals++;
+            }
+            if (tree == frame.size.sourceFile) {
+                frame.nodesVisited += frame.size.nodes;
+            } else {
+                // counted once the recipe has been measured
+                frame.walkedSubtrees.add(tree);
+            }
+        }
+        Object event = RecipeEvents.begin(RecipeEvents.Kind.NESTED_TRAVERSAL);
+        Tree visited = parent == null ? visitor.visit(tree, p) : visitor.visit(tree, p, parent);
+        RecipeEvents.commit(event, visitor.getClass().getName(), new Cursor(parent, tree));
+        return visited;
+    }
+
+    /**
+     * @return the result of {@link TreeVisitor#visitNonNull(Tree, Object)}.
+     * @see #nestedTraversal(TreeVisitor, Tree, Object)
+     */
+    static <P> Tree nestedTraversalNonNull(TreeVisitor<?, P> visitor, Tree tree, P p) {
+        return nestedTraversalNonNull(visitor, tree, p, null);
+    }
+
+    /**
+     * @return the result of {@link TreeVisitor#visitNonNull(Tree, Object, Cursor)}, or of
+     * {@link TreeVisitor#visitNonNull(Tree, Object)} when {@code parent} is null.
+     * @see #nestedTraversal(TreeVisitor, Tree, Object)
+     */
+    static <P> Tree nestedTraversalNonNull(TreeVisitor<?, P> visitor, Tree tree, P p, @Nullable Cursor parent) {
+        Tree t = nestedTraversal(visitor, tree, p, parent);
+        if (t == null) {
+            throw new IllegalStateException("Expected visitor to return a non-null tree.");
+        }
+        return t;
+    }
+
+    public List<RecipeMetricsTable.Row> getRows() {
+        return new ArrayList<>(rows);
+    }
+
+    /**
+     * @return one entry per recipe, ranked from the most to the least traversals per thousand lines of code.
+     */
+    public List<TraversalBudget> getTraversalBudget() {
+        Map<String, TraversalBudget> byRecipe = new LinkedHashMap<>();
+        for (RecipeMetricsTable.Row row : rows) {
+            TraversalBudget budget = byRecipe.computeIfAbsent(row.getRecipe(), TraversalBudget::new);
+            budget.sourceFiles++;
+            budget.linesOfCode += row.getLinesOfCode();
+            budget.traversals += row.getTraversals();
+            budget.nestedTraversals += row.getNestedTraversals();
+            budget.subtreeTraversals += row.getSubtreeTraversals();
+            budget.afterVisitsQueued += row.getAfterVisitsQueued();
+        }
+        List<TraversalBudget> budgets = new ArrayList<>(byRecipe.values());
+        budgets.sort(Comparator.comparingDouble(TraversalBudget::getTraversalsPerKloc).reversed());
+        return budgets;
+    }
+
+    public String printTraversalBudgetAsCsv() {
+        StringBuilder csv = new StringBuilder("recipe,sourceFiles,linesOfCode,traversals,nestedTraversals,subtreeTraversals,afterVisitsQueued,traversalsPerKloc\n");
+        for (TraversalBudget budget : getTraversalBudget()) {
+            csv.append(budget.getRecipe()).append(',')
+                    .append(budget.getSourceFiles()).append(',')
+                    .append(budget.getLinesOfCode()).append(',')
+                    .append(budget.getTraversals()).append(',')
+                    .append(budget.getNestedTraversals()).append(',')
+                    .append(budget.getSubtreeTraversals()).append(',')
+                    .append(budget.getAfterVisitsQueued()).append(',')
+                    .append(String.format(Locale.ROOT, "%.2f", budget.getTraversalsPerKloc())).append('\n');
+        }
+        return csv.toString();
+    }
+
+    public String printAsCsv() {
+        StringBuilder csv = new StringBuilder("sourcePath,recipe,linesOfCode,wallTimeNanos,cpuTimeNanos,allocatedBytes,traversals,nestedTraversals,subtreeTraversals,afterVisitsQueued,nodesVisited\n");
+        for (RecipeMetricsTable.Row row : rows) {
+            csv.append('"').append(row.getSourcePath()).append("\",")
+                    .append(row.getRecipe()).append(',')
+                    .append(row.getLinesOfCode()).append(',')
+                    .append(row.getWallTimeNanos()).append(',')
+                    .append(row.getCpuTimeNanos()).append(',')
+                    .append(row.getAllocatedBytes()).append(',')
+                    .append(row.getTraversals()).append(',')
+                    .append(row.getNestedTraversals()).append(',')
+                    .append(row.getSubtreeTraversals()).append(',')
+                    .append(row.getAfterVisitsQueued()).append(',')
+                    .append(row.getNodesVisited()).append('\n');
+        }
+        return csv.toString();
+    }
+
+    /**
+     * @param visited the source file returned by the recipe, which the visitors it queued have walked.
+     */
+    private void record(RecipeMetricsTable table, ExecutionContext ctx, Frame frame, @Nullable Tree visited) {
+        long wallTime = System.nanoTime() - frame.wallTimeStart;
+        long cpuTime = cpuTime();
+        long allocated = allocatedBytes();
+
+        long nodesVisited = frame.nodesVisited;
+        for (Tree subtree : frame.walkedSubtrees) {
+            nodesVisited += countNodes(subtree);
+        }
+        if (frame.afterVisitsQueued > 0 && visited != null) {
+            nodesVisited += (long) frame.afterVisitsQueued * (visited == frame.size.sourceFile ? frame.size.nodes : countNodes(visited));
+        }
+
+        RecipeMetricsTable.Row row = new RecipeMetricsTable.Row(
+                frame.size.sourceFile.getSourcePath().toString(),
+                frame.recipe,
+                frame.size.lines,
+                wallTime,
+                cpuTime == -1 || frame.cpuTimeStart == -1 ? -1 : cpuTime - frame.cpuTimeStart,
+                allocated == -1 || frame.allocatedStart == -1 ? -1 : allocated - frame.allocatedStart,
+                frame.traversals,
+                frame.nestedTraversals,
+                frame.subtreeTraversals,
+                frame.afterVisitsQueued,
+                nodesVisited
+        );
+        rows.add(row);
+        table.insertRow(ctx, row);
+    }
+
+    /**
+     * Lines and nodes are counted once per source file instance, so a source file changed by an earlier cycle or recipe
+     * is counted again.
+     */
+    private Size size(SourceFile sourceFile) {
+        Size size = sizes.get(sourceFile.getSourcePath());
+        if (size != null && size.sourceFile == sourceFile) {
+            return size;
+        }
+        String source = sourceFile.printAll();
+        int lines = source.isEmpty() || source.endsWith("\n") ? 0 : 1;
+        for (int i = 0; i < source.length(); i++) {
+            if (source.charAt(i) == '\n') {
+                lines++;
+            }
+        }
+        size = new Size(sourceFile, lines, countNodes(sourceFile));
+        sizes.put(sourceFile.getSourcePath(), size);
+        return size;
+    }
+
+    private static int countNodes(Tree tree) {
+        if (!(tree instanceof J)) {
+            return 1;
+        }
+        int[] nodes = {0};
+        new JavaVisitor<int[]>() {
+            @Override
+            public J preVisit(J j, int[] n) {
+                n[0]++;
+                return j;
+            }
+        }.visit(tree, nodes);
+        return nodes[0];
+    }
+
+    private static @Nullable Field afterVisitField() {
+        try {
+            Field field = TreeVisitor.class.getDeclaredField("afterVisit");
+            if (!List.class.isAssignableFrom(field.getType())) {
+                return null;
+            }
+            field.setAccessible(true);
+            return field;
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * @return the list that {@code visitor} will queue its after-visits to in its next top-level visit.
+     * @throws IllegalStateException if the list cannot be reached in this version of rewrite.
+     */
+    private static List<TreeVisitor<?, ExecutionContext>> queueAfterVisits(TreeVisitor<?, ExecutionContext> visitor) {
+        if (AFTER_VISIT == null) {
+            throw new IllegalStateException("Cannot count the visitors queued with doAfterVisit, because " +
+                                            TreeVisitor.class.getName() + " has no accessible afterVisit list");
+        }
+        try {
+            //noinspection unchecked
+            List<TreeVisitor<?, ExecutionContext>> queue = (List<TreeVisitor<?, ExecutionContext>>) AFTER_VISIT.get(visitor);
+            if (queue == null) {
+                queue = new ArrayList<>();
+                AFTER_VISIT.set(visitor, queue);
+            }
+            return queue;
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("Cannot count the visitors queued with doAfterVisit", e);
+        }
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : -1;
+    }
+
+    private static long allocatedBytes() {
+        if (THREADS instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) THREADS;
+            if (threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled()) {
+                return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+            }
+        }
+        return -1;
+    }
+
+    private static Recipe instrument(Recipe recipe, @Nullable RecipeMetricsTable table) {
+        if (recipe instanceof ScanningRecipe) {
+            return instrumentScanning((ScanningRecipe<?>) recipe, table);
+        }
+        return new MeteredRecipe(recipe, table);
+    }
+
+    private static <T> Recipe instrumentScanning(ScanningRecipe<T> recipe, @Nullable RecipeMetricsTable table) {
+        return new MeteredScanningRecipe<>(recipe, table);
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    public static class TraversalBudget {
+        private final String recipe;
+        private int sourceFiles;
+        private long linesOfCode;
+        private long traversals;
+        private long nestedTraversals;
+        private long subtreeTraversals;
+        private long afterVisitsQueued;
+
+        public double getTraversalsPerKloc() {
+            return linesOfCode == 0 ? 0 : traversals * 1000.0 / linesOfCode;
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class Size {
+        final SourceFile sourceFile;
+        final int lines;
+        final int nodes;
+    }
+
+    private static class Frame {
+        final String recipe;
+        final Size size;
+        final long wallTimeStart = System.nanoTime();
+        final long cpuTimeStart = cpuTime();
+        final long allocatedStart = allocatedBytes();
+        final List<Tree> walkedSubtrees = new ArrayList<>();
+        int traversals = 1;
+        int nestedTraversals;
+        int subtreeTraversals;
+        int afterVisitsQueued;
+        long nodesVisited;
+
+        Frame(String recipe, Size size) {
+            this.recipe = recipe;
+            this.size = size;
+            this.nodesVisited = size.nodes;
+        }
+    }
+
+    private static class MeteredVisitor extends TreeVisitor<Tree, ExecutionContext> {
+        private final String recipe;
+        private final TreeVisitor<?, ExecutionContext> delegate;
+        private final RecipeMetricsTable table;
+
+        MeteredVisitor(String recipe, TreeVisitor<?, ExecutionContext> delegate, RecipeMetricsTable table) {
+            this.recipe = recipe;
+            this.delegate = delegate;
+            this.table = table;
+        }
+
+        @Override
+        public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+            return delegate.isAcceptable(sourceFile, ctx);
+        }
+
+        @Override
+        public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+            if (!(tree instanceof SourceFile)) {
+                return delegate.visit(tree, ctx, getCursor());
+            }
+            Cursor parent = getCursor();
+            Object event = RecipeEvents.begin(RecipeEvents.Kind.RECIPE_VISIT);
+            try {
+                RecipeMetrics metrics = get(ctx);
+                if (metrics == null) {
+                    return delegate.visit(tree, ctx, parent);
+                }
+                Deque<Frame> frames = FRAMES.get();
+                SourceFile sourceFile = (SourceFile) tree;
+                Frame frame = new Frame(recipe, metrics.size(sourceFile));
+                List<TreeVisitor<?, ExecutionContext>> afterVisits = queueAfterVisits(delegate);
+                int queuedBefore = afterVisits.size();
+                Tree visited = null;
+                frames.push(frame);
+                try {
+                    visited = delegate.visit(tree, ctx, parent);
+                    return visited;
+                } finally {
+                    frames.pop();
+                    frame.afterVisitsQueued = afterVisits.size() - queuedBefore;
+                    frame.traversals += frame.afterVisitsQueued;
+                    metrics.record(table, ctx, frame, visited);
+                }
+            } finally {
+                RecipeEvents.commit(event, recipe, new Cursor(parent, tree));
+            }
+        }
+    }
+
+    private static class MeteredRecipe extends Recipe {
+        private final Recipe delegate;
+        private final transient RecipeMetricsTable recipeMetrics;
+        private final List<Recipe> recipeList;
+
+        MeteredRecipe(Recipe delegate, @Nullable RecipeMetricsTable table) {
+            this.delegate = delegate;
+            this.recipeMetrics = table == null ? new RecipeMetricsTable(this) : table;
+            // built once, because the accumulators of scanning recipes are kept per recipe instance
+            this.recipeList = delegate.getRecipeList().stream()
+                    .map(r -> instrument(r, recipeMetrics))
+                    .collect(toList());
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public @Nullable Duration getEstimatedEffortPerOccurrence() {
+            return delegate.getEstimatedEffortPerOccurrence();
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor() {
+            return new MeteredVisitor(delegate.getName(), delegate.getVisitor(), recipeMetrics);
+        }
+
+        @Override
+        protected RecipeDescriptor createRecipeDescriptor() {
+            return delegate.getDescriptor();
+        }
+
+        @Override
+        public List<DataTableDescriptor> getDataTableDescriptors() {
+            return ListUtils.concatAll(delegate.getDataTableDescriptors(), super.getDataTableDescriptors());
+        }
+
+        @Override
+        public Validated validate() {
+            return delegate.validate();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return recipeList;
+        }
+    }
+
+    private static class MeteredScanningRecipe<T> extends ScanningRecipe<T> {
+        private final ScanningRecipe<T> delegate;
+        private final transient RecipeMetricsTable recipeMetrics;
+        private final List<Recipe> recipeList;
+
+        MeteredScanningRecipe(ScanningRecipe<T> delegate, @Nullable RecipeMetricsTable table) {
+            this.delegate = delegate;
+            this.recipeMetrics = table == null ? new RecipeMetricsTable(this) : table;
+            // built once, because the accumulators of scanning recipes are kept per recipe instance
+            this.recipeList = delegate.getRecipeList().stream()
+                    .map(r -> instrument(r, recipeMetrics))
+                    .collect(toList());
+        }
+
+        @Override
+        public String getName() {
+            return delegate.getName();
+        }
+
+        @Override
+        public String getDisplayName() {
+            return delegate.getDisplayName();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+
+        @Override
+        public Set<String> getTags() {
+            return delegate.getTags();
+        }
+
+        @Override
+        public @Nullable Duration getEstimatedEffortPerOccurrence() {
+            return delegate.getEstimatedEffortPerOccurrence();
+        }
+
+        @Override
+        public T getInitialValue(ExecutionContext ctx) {
+            return delegate.getInitialValue(ctx);
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getScanner(T acc) {
+            return new MeteredVisitor(delegate.getName(), delegate.getScanner(acc), recipeMetrics);
+        }
+
+        @Override
+        public Collection<? extends SourceFile> generate(T acc, ExecutionContext ctx) {
+            return delegate.generate(acc, ctx);
+        }
+
+        @Override
+        public TreeVisitor<?, ExecutionContext> getVisitor(T acc) {
+            return new MeteredVisitor(delegate.getName(), delegate.getVisitor(acc), recipeMetrics);
+        }
+
+        @Override
+        protected RecipeDescriptor createRecipeDescriptor() {
+            return delegate.getDescriptor();
+        }
+
+        @Override
+        public List<DataTableDescriptor> getDataTableDescriptors() {
+            return ListUtils.concatAll(delegate.getDataTableDescriptors(), super.getDataTableDescriptors());
+        }
+
+        @Override
+        public Validated validate() {
+            return delegate.validate();
+        }
+
+        @Override
+        public boolean causesAnotherCycle() {
+            return delegate.causesAnotherCycle();
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return recipeList;
+        }
+    }
+}
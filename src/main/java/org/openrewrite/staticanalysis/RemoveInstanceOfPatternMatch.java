@@ -19,7 +19,6 @@ import org.openrewrite.*;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.search.UsesJavaVersion;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -49,7 +48,7 @@ public class RemoveInstanceOfPatternMatch extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesJavaVersion<>(14), new RemoveInstanceOfPatternMatchVisitor());
+        return SourceFileFacts.check(facts -> facts.getJavaVersion() >= 14, new RemoveInstanceOfPatternMatchVisitor());
     }
 
     /**
@@ -57,17 +56,18 @@ public class RemoveInstanceOfPatternMatch extends Recipe {
      */
     private static class RemoveInstanceOfPatternMatchVisitor extends JavaVisitor<ExecutionContext> {
 
-        private VariableUsage variableUsage;
+        private static final String VARIABLE_USAGE = "VARIABLE_USAGE";
 
         @Override
         public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
             // Analyze variable usage in the whole compilation unit and
             // run the compilation unit transformation.
-            // Maybe it's better to use messages instead of the private field
-            variableUsage = VariableUsageAnalyzer.analyze(cu);
-            J.CompilationUnit result = (J.CompilationUnit) super.visitCompilationUnit(cu, ctx);
-            variableUsage = null;
-            return result;
+            getCursor().putMessage(VARIABLE_USAGE, VariableUsageAnalyzer.analyze(cu));
+            return super.visitCompilationUnit(cu, ctx);
+        }
+
+        private VariableUsage getVariableUsage() {
+            return Objects.requireNonNull(getCursor().getNearestMessage(VARIABLE_USAGE));
         }
 
         @Override
@@ -91,7 +91,7 @@ public class RemoveInstanceOfPatternMatch extends Recipe {
             // if (obj instanceof String str && str.isEmpty())
             // is replaced by:
             // if (obj instanceof String str && ((String) obj).isEmpty())
-            J.InstanceOf instanceOf = variableUsage.conditions.get(identifier);
+            J.InstanceOf instanceOf = getVariableUsage().conditions.get(identifier);
             if (instanceOf != null) {
                 J result = autoFormat(
                         typeCast((TypeTree) instanceOf.getClazz(), instanceOf.getExpression()),
@@ -114,7 +114,7 @@ public class RemoveInstanceOfPatternMatch extends Recipe {
             // If the "then" part of the "if" statement uses variables declared in
             // an "instanceof" expression, then add a variable declaration at
             // the beginning of the block
-            Set<J.InstanceOf> thenInstanceOfs = variableUsage.thenParts.get(iff);
+            Set<J.InstanceOf> thenInstanceOfs = getVariableUsage().thenParts.get(iff);
             if (thenInstanceOfs != null) {
                 // Replace a single statement by a block
                 if (!(result.getThenPart() instanceof J.Block)) {
@@ -123,7 +123,7 @@ public class RemoveInstanceOfPatternMatch extends Recipe {
                     updateCursor(result);
                 }
                 // Add variable declarations in the order of "instanceof" expressions
-                Iterator<J.InstanceOf> iter = variableUsage.declarations.get(iff).descendingIterator();
+                Iterator<J.InstanceOf> iter = getVariableUsage().declarations.get(iff).descendingIterator();
                 while (iter.hasNext()) {
                     J.InstanceOf instanceOf = iter.next();
                     if (thenInstanceOfs.contains(instanceOf)) {
@@ -137,7 +137,7 @@ public class RemoveInstanceOfPatternMatch extends Recipe {
             // If the "else" part of the "if" statement uses variables declared in
             // an "instanceof" expression, then add a variable declaration at
             // the beginning of the block
-            Set<J.InstanceOf> elseInstanceOfs = variableUsage.elseParts.get(iff.getElsePart());
+            Set<J.InstanceOf> elseInstanceOfs = getVariableUsage().elseParts.get(iff.getElsePart());
             J.If.Else elsePart = result.getElsePart();
             if (elsePart != null && elseInstanceOfs != null) {
                 // Replace a single statement by a block
@@ -151,7 +151,7 @@ public class RemoveInstanceOfPatternMatch extends Recipe {
                 }
                 if (elsePart != null) {
                     // Add variable declarations in the order of "instanceof" expressions
-                    Iterator<J.InstanceOf> iter = variableUsage.declarations.get(iff).descendingIterator();
+                    Iterator<J.InstanceOf> iter = getVariableUsage().declarations.get(iff).descendingIterator();
                     while (iter.hasNext()) {
                         J.InstanceOf instanceOf = iter.next();
                         if (elseInstanceOfs.contains(instanceOf)) {
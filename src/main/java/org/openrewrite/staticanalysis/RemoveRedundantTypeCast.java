@@ -50,7 +50,7 @@ public class RemoveRedundantTypeCast extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.TypeCast.class), new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitTypeCast(J.TypeCast typeCast, ExecutionContext executionContext) {
                 Cursor parent = getCursor().dropParentUntil(is -> is instanceof J.VariableDeclarations ||
@@ -76,6 +76,6 @@ public class RemoveRedundantTypeCast extends Recipe {
 
                 return super.visitTypeCast(typeCast, executionContext);
             }
-        };
+        });
     }
 }
@@ -94,8 +94,8 @@ public class RemoveUnneededAssertion extends Recipe {
             InvokeRemoveMethodCallVisitor invokeRemoveMethodCallVisitor = (inputCu, methodMatcher, argumentPredicate) -> {
                 if (typesInUse.getUsedMethods().stream().anyMatch(methodMatcher::matches)) {
                     // Only visit the subtree when we know the method is present.
-                    return (J.CompilationUnit) new RemoveMethodCallVisitor<>(methodMatcher, argumentPredicate)
-                            .visitNonNull(cu, ctx, getCursor().getParentOrThrow());
+                    return (J.CompilationUnit) RecipeMetrics.nestedTraversalNonNull(new RemoveMethodCallVisitor<>(methodMatcher, argumentPredicate),
+                            cu, ctx, getCursor().getParentOrThrow());
                 }
                 return inputCu;
             };
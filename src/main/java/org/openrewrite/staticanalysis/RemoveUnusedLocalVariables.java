@@ -32,6 +32,11 @@ import java.util.function.Predicate;
 @EqualsAndHashCode(callSuper = true)
 @SuppressWarnings("ConstantConditions")
 public class RemoveUnusedLocalVariables extends Recipe {
+    // All methods that start with 'get' matching these signatures will be considered non-side effecting.
+    private static final MethodMatchers SAFE_GETTER_METHODS = MethodMatchers.index(
+            "java.io.File get*(..)"
+    );
+
     @Incubating(since = "7.17.2")
     @Option(displayName = "Ignore matching variable names",
             description = "An array of variable identifier names for local variables to ignore, even if the local variable is unused.",
@@ -62,11 +67,6 @@ public class RemoveUnusedLocalVariables extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        // All methods that start with 'get' matching this InvocationMatcher will be considered non-side effecting.
-        InvocationMatcher SAFE_GETTER_METHODS = InvocationMatcher.fromInvocationMatchers(
-                new MethodMatcher("java.io.File get*(..)")
-        );
-
         Set<String> ignoreVariableNames;
         if (ignoreVariablesNamed == null) {
             ignoreVariableNames = null;
@@ -126,11 +126,12 @@ public class RemoveUnusedLocalVariables extends Recipe {
                 List<J> readReferences = References.findRhsReferences(parentScope.getValue(), variable.getName());
                 if (readReferences.isEmpty()) {
                     List<Statement> assignmentReferences = References.findLhsReferences(parentScope.getValue(), variable.getName());
+                    EditPlan<ExecutionContext> plan = EditPlan.of(this);
                     for (Statement ref : assignmentReferences) {
                         if (ref instanceof J.Assignment) {
-                            doAfterVisit(new PruneAssignmentExpression((J.Assignment) ref));
+                            plan.replace(ref, RemoveUnusedLocalVariables::pruneAssignmentExpression);
                         }
-                        doAfterVisit(new DeleteStatement<>(ref));
+                        plan.delete(ref);
                     }
                     return null;
                 }
@@ -158,7 +159,7 @@ public class RemoveUnusedLocalVariables extends Recipe {
                     if (!mv.getPrefix().getComments().isEmpty()) {
                         getCursor().dropParentUntil(is -> is instanceof J.ClassDeclaration).putMessage("COMMENTS_KEY", mv.getPrefix().getComments());
                     }
-                    doAfterVisit(new DeleteStatement<>(mv));
+                    EditPlan.of(this).delete(mv);
                 }
                 return mv;
             }
@@ -193,38 +194,14 @@ public class RemoveUnusedLocalVariables extends Recipe {
      * Take an assignment in a context other than a variable declaration, such as the arguments of a function invocation or if condition,
      * and remove the assignment, leaving behind the value being assigned.
      */
-    @Value
-    @EqualsAndHashCode(callSuper = true)
-    private static class PruneAssignmentExpression extends JavaIsoVisitor<ExecutionContext> {
-        J.Assignment assignment;
-
-        @Override
-        public <T extends J> J.ControlParentheses<T> visitControlParentheses(J.ControlParentheses<T> c, ExecutionContext executionContext) {
-            //noinspection unchecked
-            c = (J.ControlParentheses<T>) new AssignmentToLiteral(assignment)
-                    .visitNonNull(c, executionContext, getCursor().getParentOrThrow());
-            return c;
-        }
-
-        @Override
-        public J.MethodInvocation visitMethodInvocation(J.MethodInvocation m, ExecutionContext executionContext) {
-            AssignmentToLiteral atl = new AssignmentToLiteral(assignment);
-            m = m.withArguments(ListUtils.map(m.getArguments(), it -> (Expression) atl.visitNonNull(it, executionContext, getCursor().getParentOrThrow())));
-            return m;
-        }
-    }
-
-    @Value
-    @EqualsAndHashCode(callSuper = true)
-    private static class AssignmentToLiteral extends JavaVisitor<ExecutionContext> {
-        J.Assignment assignment;
-        @Override
-        public J visitAssignment(J.Assignment a, ExecutionContext executionContext) {
-            if(assignment.isScope(a)) {
+    private static J pruneAssignmentExpression(J assignment, Cursor parent, ExecutionContext ctx) {
+        for (Cursor c = parent; c != null && !(c.getValue() instanceof J.Block); c = c.getParent()) {
+            if (c.getValue() instanceof J.ControlParentheses || c.getValue() instanceof J.MethodInvocation) {
+                J.Assignment a = (J.Assignment) assignment;
                 return a.getAssignment().withPrefix(a.getPrefix());
             }
-            return a;
         }
+        return assignment;
     }
 
     private static class References {
@@ -287,7 +264,7 @@ public class RemoveUnusedLocalVariables extends Recipe {
          */
         private static List<J> findRhsReferences(J j, J.Identifier target) {
             final List<J> refs = new ArrayList<>();
-            new JavaIsoVisitor<List<J>>() {
+            RecipeMetrics.nestedTraversal(new JavaIsoVisitor<List<J>>() {
                 @Override
                 public J.Identifier visitIdentifier(J.Identifier identifier, List<J> ctx) {
                     if (identifier.getSimpleName().equals(target.getSimpleName()) && isRhsValue(getCursor())) {
@@ -295,7 +272,7 @@ public class RemoveUnusedLocalVariables extends Recipe {
                     }
                     return super.visitIdentifier(identifier, ctx);
                 }
-            }.visit(j, refs);
+            }, j, refs);
             return refs;
         }
 
@@ -341,7 +318,7 @@ public class RemoveUnusedLocalVariables extends Recipe {
             };
 
             List<Statement> refs = new ArrayList<>();
-            visitor.visit(j, refs);
+            RecipeMetrics.nestedTraversal(visitor, j, refs);
             return refs;
         }
     }
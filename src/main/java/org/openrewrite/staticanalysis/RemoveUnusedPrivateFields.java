@@ -56,6 +56,10 @@ public class RemoveUnusedPrivateFields extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
+        return ClassParallelism.perTopLevelClass(this::classVisitor);
+    }
+
+    private JavaIsoVisitor<ExecutionContext> classVisitor() {
         return new JavaIsoVisitor<ExecutionContext>() {
 
             @Override
@@ -99,7 +103,7 @@ public class RemoveUnusedPrivateFields extends Recipe {
                     Map<J.VariableDeclarations.NamedVariable, List<J.Identifier>> inUse = VariableUses.find(fields, outer);
                     for (Map.Entry<J.VariableDeclarations.NamedVariable, List<J.Identifier>> entry : inUse.entrySet()) {
                         if (entry.getValue().isEmpty()) {
-                            cd = (J.ClassDeclaration) new RemoveUnusedField(entry.getKey()).visitNonNull(cd, executionContext);
+                            cd = (J.ClassDeclaration) RecipeMetrics.nestedTraversalNonNull(new RemoveUnusedField(entry.getKey()), cd, executionContext);
                         }
                     }
                 }
@@ -154,7 +158,7 @@ public class RemoveUnusedPrivateFields extends Recipe {
                 }
             };
 
-            visitor.visit(parent, found);
+            RecipeMetrics.nestedTraversal(visitor, parent, found);
             return found;
         }
     }
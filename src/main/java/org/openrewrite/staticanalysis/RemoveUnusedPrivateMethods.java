@@ -16,11 +16,10 @@
 package org.openrewrite.staticanalysis;
 
 import org.openrewrite.ExecutionContext;
-import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.NoMissingTypes;
 import org.openrewrite.java.tree.*;
 
 import java.time.Duration;
@@ -51,7 +50,7 @@ public class RemoveUnusedPrivateMethods extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new NoMissingTypes(), new JavaIsoVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> !facts.hasMissingTypes(), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
                 J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
@@ -90,7 +89,7 @@ public class RemoveUnusedPrivateMethods extends Recipe {
                     // Temporary stop-gap until we have data flow analysis.
                     // Do not remove method declarations with generic types since the method invocation in `cu.getTypesInUse` will be bounded with a type.
                     for (JavaType.Method usedMethodType : cu.getTypesInUse().getDeclaredMethods()) {
-                        if (methodType.getName().equals(usedMethodType.getName()) && methodType.equals(usedMethodType) && m.toString().contains("Generic{")) {
+                        if (methodType.getName().equals(usedMethodType.getName()) && methodType.equals(usedMethodType) && hasTypeVariables(methodType)) {
                             return m;
                         }
                     }
@@ -103,4 +102,34 @@ public class RemoveUnusedPrivateMethods extends Recipe {
             }
         });
     }
+
+    private static boolean hasTypeVariables(JavaType.Method methodType) {
+        if (referencesTypeVariable(methodType.getReturnType(), 0)) {
+            return true;
+        }
+        for (JavaType parameterType : methodType.getParameterTypes()) {
+            if (referencesTypeVariable(parameterType, 0)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean referencesTypeVariable(@Nullable JavaType type, int depth) {
+        if (type instanceof JavaType.GenericTypeVariable) {
+            return true;
+        } else if (depth > 8) {
+            // guards against self-referential parameterized types
+            return false;
+        } else if (type instanceof JavaType.Array) {
+            return referencesTypeVariable(((JavaType.Array) type).getElemType(), depth + 1);
+        } else if (type instanceof JavaType.Parameterized) {
+            for (JavaType typeParameter : ((JavaType.Parameterized) type).getTypeParameters()) {
+                if (referencesTypeVariable(typeParameter, depth + 1)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
 }
@@ -48,7 +48,7 @@ public class RenameExceptionInEmptyCatch extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.Try.class), new JavaIsoVisitor<ExecutionContext>() {
 
             @Override
             public J visit(@Nullable Tree tree, ExecutionContext ctx) {
@@ -174,6 +174,6 @@ public class RenameExceptionInEmptyCatch extends Recipe {
                         is instanceof J.Lambda
                 );
             }
-        };
+        });
     }
 }
@@ -19,7 +19,6 @@ import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.RenameVariable;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaSourceFile;
 
@@ -31,21 +30,36 @@ import java.util.Set;
 import static java.util.Collections.emptyMap;
 
 public abstract class RenameToCamelCase extends JavaIsoVisitor<ExecutionContext> {
+    @Nullable
+    private Cursor sourceFileCursor;
+
+    @Override
+    public J preVisit(J tree, ExecutionContext ctx) {
+        if (tree instanceof JavaSourceFile) {
+            sourceFileCursor = getCursor();
+        }
+        return super.preVisit(tree, ctx);
+    }
 
     @Override
     public @Nullable J postVisit(J tree, ExecutionContext ctx) {
         if (tree instanceof JavaSourceFile) {
             JavaSourceFile cu = (JavaSourceFile) tree;
-            Map<J.VariableDeclarations.NamedVariable, String> renameVariablesMap = getCursor().getMessage("RENAME_VARIABLES_KEY", emptyMap());
+            Map<J.VariableDeclarations.NamedVariable, Rename> renameVariablesMap = getCursor().getMessage("RENAME_VARIABLES_KEY", emptyMap());
             Set<String> hasNameSet = getCursor().computeMessageIfAbsent("HAS_NAME_KEY", k -> new HashSet<>());
-            for (Map.Entry<J.VariableDeclarations.NamedVariable, String> entry : renameVariablesMap.entrySet()) {
+            RenameVariables<ExecutionContext> renameVariables = new RenameVariables<>();
+            for (Map.Entry<J.VariableDeclarations.NamedVariable, Rename> entry : renameVariablesMap.entrySet()) {
                 J.VariableDeclarations.NamedVariable variable = entry.getKey();
-                String toName = entry.getValue();
+                String toName = entry.getValue().toName;
                 if (shouldRename(hasNameSet, variable, toName)) {
-                    cu = (JavaSourceFile) new RenameVariable<>(variable, toName).visitNonNull(cu, ctx);
+                    renameVariables.rename(variable, entry.getValue().cursor, toName);
                     hasNameSet.add(toName);
                 }
             }
+            sourceFileCursor = null;
+            if (!renameVariables.isEmpty()) {
+                cu = renameVariables.renameAll(cu, ctx);
+            }
             return cu;
         }
         return super.postVisit(tree, ctx);
@@ -55,14 +69,31 @@ public abstract class RenameToCamelCase extends JavaIsoVisitor<ExecutionContext>
                                             String toName);
 
     protected void renameVariable(J.VariableDeclarations.NamedVariable variable, String toName) {
-        Cursor cu = getCursor().getPathAsCursors(c -> c.getValue() instanceof JavaSourceFile).next();
-        cu.computeMessageIfAbsent("RENAME_VARIABLES_KEY", k -> new LinkedHashMap<>())
-                .put(variable, toName);
+        sourceFileCursor().computeMessageIfAbsent("RENAME_VARIABLES_KEY", k -> new LinkedHashMap<>())
+                .put(variable, new Rename(getCursor(), toName));
     }
 
     protected void hasNameKey(String variableName) {
-        getCursor().getPathAsCursors(c -> c.getValue() instanceof JavaSourceFile).next()
+        sourceFileCursor()
                 .computeMessageIfAbsent("HAS_NAME_KEY", k -> new HashSet<>())
                 .add(variableName);
     }
+
+    private Cursor sourceFileCursor() {
+        Cursor cu = sourceFileCursor;
+        if (cu == null) {
+            cu = getCursor().getPathAsCursors(c -> c.getValue() instanceof JavaSourceFile).next();
+        }
+        return cu;
+    }
+
+    private static class Rename {
+        private final Cursor cursor;
+        private final String toName;
+
+        private Rename(Cursor cursor, String toName) {
+            this.cursor = cursor;
+            this.toName = toName;
+        }
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.RenameVariable;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Javadoc;
+
+import java.util.*;
+
+/**
+ * Renames any number of variables in a single traversal of a source file.
+ * <p>
+ * A reference is renamed when it lies within the name scope that declares the variable, and its
+ * {@link J.Identifier#getFieldType() field type} has the same owner and name as the declared variable. Java does not
+ * allow a local variable to shadow another in the same scope, so this identifies the variable exactly. Javadoc
+ * {@code @param} references, which carry no field type, are matched by name. Variables declared without type
+ * attribution are renamed one at a time by {@link RenameVariable}.
+ */
+final class RenameVariables<P> extends JavaIsoVisitor<P> {
+    /**
+     * Renames keyed by the id of the name scope that declares the variable, then by {@link #key(JavaType.Variable)}.
+     */
+    private final Map<UUID, Map<String, String>> renamesByScope = new HashMap<>();
+
+    /**
+     * Renames of the same scopes, keyed by the variable's name, for references that carry no type.
+     */
+    private final Map<UUID, Map<String, String>> renamesByScopeAndName = new HashMap<>();
+
+    private final List<RenameVariable<P>> untyped = new ArrayList<>();
+    private final Deque<UUID> activeScopes = new ArrayDeque<>();
+
+    /**
+     * @param variable the variable to rename.
+     * @param cursor   a cursor pointing at the variable.
+     * @param toName   the new name.
+     */
+    void rename(J.VariableDeclarations.NamedVariable variable, Cursor cursor, String toName) {
+        JavaType.Variable type = variable.getVariableType();
+        if (type == null) {
+            untyped.add(new RenameVariable<>(variable, toName));
+            return;
+        }
+        UUID scope = ((J) nameScope(cursor).getValue()).getId();
+        renamesByScope.computeIfAbsent(scope, s -> new HashMap<>()).put(key(type), toName);
+        renamesByScopeAndName.computeIfAbsent(scope, s -> new HashMap<>()).put(variable.getSimpleName(), toName);
+    }
+
+    boolean isEmpty() {
+        return renamesByScope.isEmpty() && untyped.isEmpty();
+    }
+
+    /**
+     * @return the source file with every variable renamed.
+     */
+    JavaSourceFile renameAll(JavaSourceFile sourceFile, P p) {
+        JavaSourceFile sf = renamesByScope.isEmpty() ? sourceFile :
+                (JavaSourceFile) RecipeMetrics.nestedTraversalNonNull(this, sourceFile, p);
+        for (RenameVariable<P> renameVariable : untyped) {
+            sf = (JavaSourceFile) RecipeMetrics.nestedTraversalNonNull(renameVariable, sf, p);
+        }
+        return sf;
+    }
+
+    private static Cursor nameScope(Cursor cursor) {
+        return cursor.dropParentUntil(is ->
+                is instanceof J.ClassDeclaration ||
+                is instanceof J.NewClass ||
+                is instanceof J.Block ||
+                is instanceof J.MethodDeclaration ||
+                is instanceof J.ForLoop ||
+                is instanceof J.ForEachLoop ||
+                is instanceof J.Case ||
+                is instanceof J.Try ||
+                is instanceof J.Try.Catch ||
+                is instanceof J.Lambda ||
+                is instanceof JavaSourceFile
+        );
+    }
+
+    private static String key(JavaType.Variable variable) {
+        return variable.getOwner() + "#" + variable.getName();
+    }
+
+    @Override
+    public @Nullable J visit(@Nullable Tree tree, P p) {
+        if (tree instanceof J && renamesByScope.containsKey(tree.getId())) {
+            activeScopes.push(tree.getId());
+            try {
+                return super.visit(tree, p);
+            } finally {
+                activeScopes.pop();
+            }
+        }
+        return super.visit(tree, p);
+    }
+
+    @Override
+    public J.Identifier visitIdentifier(J.Identifier identifier, P p) {
+        J.Identifier i = super.visitIdentifier(identifier, p);
+        if (activeScopes.isEmpty()) {
+            return i;
+        }
+        JavaType.Variable fieldType = i.getFieldType();
+        String toName;
+        if (fieldType != null) {
+            toName = find(renamesByScope, key(fieldType));
+        } else if (getCursor().getParentTreeCursor().getValue() instanceof Javadoc.Parameter) {
+            toName = find(renamesByScopeAndName, i.getSimpleName());
+        } else {
+            return i;
+        }
+        if (toName == null) {
+            return i;
+        }
+        i = i.withSimpleName(toName);
+        if (fieldType != null) {
+            i = i.withFieldType(fieldType.withName(toName));
+        }
+        return i;
+    }
+
+    @Override
+    public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, P p) {
+        J.VariableDeclarations.NamedVariable v = super.visitVariable(variable, p);
+        JavaType.Variable type = v.getVariableType();
+        if (type != null && !activeScopes.isEmpty()) {
+            String toName = find(renamesByScope, key(type));
+            if (toName != null) {
+                v = v.withVariableType(type.withName(toName));
+            }
+        }
+        return v;
+    }
+
+    @Nullable
+    private String find(Map<UUID, Map<String, String>> renames, String key) {
+        for (UUID scope : activeScopes) {
+            String toName = renames.get(scope).get(key);
+            if (toName != null) {
+                return toName;
+            }
+        }
+        return null;
+    }
+}
@@ -19,8 +19,6 @@ import org.openrewrite.*;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.JavaTemplate;
-import org.openrewrite.java.MethodMatcher;
-import org.openrewrite.java.search.UsesJavaVersion;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
@@ -30,9 +28,11 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class ReplaceDeprecatedRuntimeExecMethods extends Recipe {
-    private static final MethodMatcher RUNTIME_EXEC_CMD = new MethodMatcher("java.lang.Runtime exec(String)");
-    private static final MethodMatcher RUNTIME_EXEC_CMD_ENVP = new MethodMatcher("java.lang.Runtime exec(String, String[])");
-    private static final MethodMatcher RUNTIME_EXEC_CMD_ENVP_FILE = new MethodMatcher("java.lang.Runtime exec(String, String[], java.io.File)");
+    private static final MethodMatchers RUNTIME_EXEC = MethodMatchers.index(
+            "java.lang.Runtime exec(String)",
+            "java.lang.Runtime exec(String, String[])",
+            "java.lang.Runtime exec(String, String[], java.io.File)"
+    );
 
     @Override
     public String getDisplayName() {
@@ -52,12 +52,12 @@ public class ReplaceDeprecatedRuntimeExecMethods extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesJavaVersion<>(18), new JavaIsoVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.getJavaVersion() >= 18, new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext executionContext) {
                 J.MethodInvocation m = super.visitMethodInvocation(method, executionContext);
 
-                if (RUNTIME_EXEC_CMD.matches(m) || RUNTIME_EXEC_CMD_ENVP.matches(m) || RUNTIME_EXEC_CMD_ENVP_FILE.matches(m)) {
+                if (RUNTIME_EXEC.matches(m)) {
                     Expression command = m.getArguments().get(0);
                     List<Expression> commands = new ArrayList<>();
                     boolean flattenAble = ChainStringBuilderAppendCalls.flatAdditiveExpressions(command, commands);
@@ -91,10 +91,11 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
                     return classDecl;
                 }
 
-                Set<String> variableNames = FindVariableNames.find(classDecl);
+                Set<String> variableNames = ScopeIndex.of(getCursor()).variableNames(classDecl);
                 Map<String, String> fieldValueToFieldName = FindExistingPrivateStaticFinalFields.find(classDecl);
 
-                String classFqn = classDecl.getType().getFullyQualifiedName();
+                JavaType.FullyQualified classType = classDecl.getType();
+                String classFqn = classType.getFullyQualifiedName();
                 for (String valueOfLiteral : duplicateLiteralsMap.keySet()) {
                     String variableName;
                     if (fieldValueToFieldName.containsKey(valueOfLiteral)) {
@@ -172,12 +173,16 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
                             }
                         } else {
                             classDecl = classDecl.withBody(
-                                    JavaTemplate.builder(insertStatement).contextSensitive().build()
+                                    JavaTemplates.contextSensitive(insertStatement)
                                             .apply(new Cursor(getCursor(), classDecl.getBody()), classDecl.getBody().getCoordinates().firstStatement(), replaceLiteral));
                         }
                     }
                     variableNames.add(variableName);
-                    doAfterVisit(new ReplaceStringLiterals(classDecl, variableName, duplicateLiteralsMap.get(valueOfLiteral)));
+                    EditPlan<ExecutionContext> plan = EditPlan.of(this);
+                    for (J.Literal literal : duplicateLiteralsMap.get(valueOfLiteral)) {
+                        String replacementName = variableName;
+                        plan.replace(literal, (l, parent, c) -> replaceStringLiteral((J.Literal) l, classType, replacementName));
+                    }
                 }
                 return classDecl;
             }
@@ -239,7 +244,7 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
         public static Map<String, Set<J.Literal>> find(J.ClassDeclaration inClass) {
             Map<String, Set<J.Literal>> literalsMap = new HashMap<>();
             Map<String, Set<J.Literal>> filteredMap = new TreeMap<>(Comparator.reverseOrder());
-            new FindDuplicateStringLiterals().visit(inClass, literalsMap);
+            RecipeMetrics.nestedTraversal(new FindDuplicateStringLiterals(), inClass, literalsMap);
             for (String valueOfLiteral : literalsMap.keySet()) {
                 if (literalsMap.get(valueOfLiteral).size() >= 3) {
                     filteredMap.put(valueOfLiteral, literalsMap.get(valueOfLiteral));
@@ -285,35 +290,6 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
                declaration.hasModifier(J.Modifier.Type.Final);
     }
 
-    private static class FindVariableNames extends JavaIsoVisitor<Set<String>> {
-
-        /**
-         * Find all the variable names that exist in the provided subtree.
-         *
-         * @param inClass subtree to search in.
-         * @return variable names that exist in the subtree.
-         */
-        public static Set<String> find(J.ClassDeclaration inClass) {
-            Set<String> variableNames = new HashSet<>();
-            new FindVariableNames().visit(inClass, variableNames);
-            return variableNames;
-        }
-
-        @Override
-        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, Set<String> variableNames) {
-            Cursor parentScope = getCursor().dropParentUntil(is -> is instanceof J.ClassDeclaration || is instanceof J.MethodDeclaration);
-            J.VariableDeclarations declaration = getCursor().firstEnclosing(J.VariableDeclarations.class);
-            if (parentScope.getValue() instanceof J.MethodDeclaration ||
-                (parentScope.getValue() instanceof J.ClassDeclaration && declaration != null &&
-                 // `private static final String`(s) are handled separately by `FindExistingPrivateStaticFinalFields`.
-                 !(isPrivateStaticFinalVariable(declaration) && variable.getInitializer() instanceof J.Literal &&
-                   ((J.Literal) variable.getInitializer()).getValue() instanceof String))) {
-                variableNames.add(variable.getSimpleName());
-            }
-            return variable;
-        }
-    }
-
     private static class FindExistingPrivateStaticFinalFields extends JavaIsoVisitor<Map<String, String>> {
 
         /**
@@ -321,7 +297,7 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
          */
         public static Map<String, String> find(J j) {
             Map<String, String> fieldValueToFieldName = new LinkedHashMap<>();
-            new FindExistingPrivateStaticFinalFields().visit(j, fieldValueToFieldName);
+            RecipeMetrics.nestedTraversal(new FindExistingPrivateStaticFinalFields(), j, fieldValueToFieldName);
             return fieldValueToFieldName;
         }
 
@@ -345,38 +321,21 @@ public class ReplaceDuplicateStringLiterals extends Recipe {
     /**
      * ReplaceStringLiterals in a class with a reference to a `private static final String` with the provided variable name.
      */
-    private static class ReplaceStringLiterals extends JavaVisitor<ExecutionContext> {
-        private final J.ClassDeclaration isClass;
-        private final String variableName;
-        private final Set<J.Literal> literals;
-
-        private ReplaceStringLiterals(J.ClassDeclaration isClass, String variableName, Set<J.Literal> literals) {
-            this.isClass = isClass;
-            this.variableName = variableName;
-            this.literals = literals;
-        }
-
-        @Override
-        public J visitLiteral(J.Literal literal, ExecutionContext ctx) {
-            if (literals.contains(literal)) {
-                assert isClass.getType() != null;
-                return new J.Identifier(
-                        Tree.randomId(),
-                        literal.getPrefix(),
-                        literal.getMarkers(),
+    private static J.Identifier replaceStringLiteral(J.Literal literal, JavaType.FullyQualified classType, String variableName) {
+        return new J.Identifier(
+                Tree.randomId(),
+                literal.getPrefix(),
+                literal.getMarkers(),
+                variableName,
+                JavaType.Primitive.String,
+                new JavaType.Variable(
+                        null,
+                        Flag.flagsToBitMap(new HashSet<>(Arrays.asList(Flag.Private, Flag.Static, Flag.Final))),
                         variableName,
+                        classType,
                         JavaType.Primitive.String,
-                        new JavaType.Variable(
-                                null,
-                                Flag.flagsToBitMap(new HashSet<>(Arrays.asList(Flag.Private, Flag.Static, Flag.Final))),
-                                variableName,
-                                isClass.getType(),
-                                JavaType.Primitive.String,
-                                emptyList()
-                        )
-                );
-            }
-            return literal;
-        }
+                        emptyList()
+                )
+        );
     }
 }
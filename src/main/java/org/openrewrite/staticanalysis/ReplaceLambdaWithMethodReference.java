@@ -20,7 +20,6 @@ import org.openrewrite.Cursor;
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
-import org.openrewrite.java.JavaParser;
 import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.tree.*;
@@ -56,7 +55,7 @@ public class ReplaceLambdaWithMethodReference extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.Lambda.class), new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitLambda(J.Lambda lambda, ExecutionContext executionContext) {
                 J.Lambda l = (J.Lambda) super.visitLambda(lambda, executionContext);
@@ -103,10 +102,8 @@ public class ReplaceLambdaWithMethodReference extends Recipe {
                     @Language("java") String stub = fullyQualified == null ? "" :
                             "package " + fullyQualified.getPackageName() + "; public class " +
                             fullyQualified.getClassName();
-                    JavaTemplate template = JavaTemplate.builder(code)
-                            .contextSensitive()
-                            .javaParser(JavaParser.fromJavaVersion().dependsOn(stub))
-                            .imports(fullyQualified == null ? "" : fullyQualified.getFullyQualifiedName()).build();
+                    JavaTemplate template = JavaTemplates.contextSensitiveDependingOn(code, stub,
+                            fullyQualified == null ? "" : fullyQualified.getFullyQualifiedName());
                     return template.apply(getCursor(), l.getCoordinates().replace(), identifier.getSimpleName());
                 } else if (body instanceof J.Binary) {
                     J.Binary binary = (J.Binary) body;
@@ -115,10 +112,7 @@ public class ReplaceLambdaWithMethodReference extends Recipe {
                         maybeAddImport("java.util.Objects");
                         code = J.Binary.Type.Equal.equals(binary.getOperator()) ? "Objects::isNull" :
                                 "Objects::nonNull";
-                        return JavaTemplate.builder(code)
-                                .contextSensitive()
-                                .imports("java.util.Objects")
-                                .build()
+                        return JavaTemplates.contextSensitive(code, "java.util.Objects")
                                 .apply(getCursor(), l.getCoordinates().replace());
                     }
                 } else if (body instanceof MethodCall) {
@@ -151,23 +145,16 @@ public class ReplaceLambdaWithMethodReference extends Recipe {
                         if (methodType.hasFlags(Flag.Static) ||
                             methodSelectMatchesFirstLambdaParameter(method, lambda)) {
                             maybeAddImport(declaringType);
-                            return JavaTemplate.builder("#{}::#{}")
-                                    .contextSensitive()
-                                    .imports(declaringType.getFullyQualifiedName())
-                                    .build()
+                            return JavaTemplates.contextSensitive("#{}::#{}", declaringType.getFullyQualifiedName())
                                     .apply(getCursor(), l.getCoordinates().replace(), declaringType.getClassName(),
                                             method.getMethodType().getName());
                         } else if (method instanceof J.NewClass) {
-                            return JavaTemplate.builder("#{}::new")
-                                    .contextSensitive()
-                                    .build()
+                            return JavaTemplates.contextSensitive("#{}::new")
                                     .apply(getCursor(), l.getCoordinates().replace(), className((J.NewClass) method));
                         } else {
                             String templ = select == null ? "#{}::#{}" :
                                     "#{any(" + declaringType.getFullyQualifiedName() + ")}::#{}";
-                            return JavaTemplate.builder(templ)
-                                    .contextSensitive()
-                                    .build()
+                            return JavaTemplates.contextSensitive(templ)
                                     .apply(getCursor(), l.getCoordinates().replace(), select == null ? "this" : select,
                                     method.getMethodType().getName());
                         }
@@ -240,7 +227,7 @@ public class ReplaceLambdaWithMethodReference extends Recipe {
                 return j1 instanceof J.Identifier && j2 instanceof J.Literal &&
                        "null".equals(((J.Literal) j2).getValueSource());
             }
-        };
+        });
 
     }
 
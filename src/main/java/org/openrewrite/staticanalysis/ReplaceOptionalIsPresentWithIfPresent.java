@@ -24,11 +24,9 @@ import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType;
 import org.openrewrite.java.tree.Statement;
 
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.stream.Collectors;
 
 @Value
 @EqualsAndHashCode(callSuper = false)
@@ -53,11 +51,11 @@ public class ReplaceOptionalIsPresentWithIfPresent extends Recipe {
     }
 
     private static class ReplaceOptionalIsPresentWithIfPresentVisitor extends JavaVisitor<ExecutionContext> {
-        private final List<J.Identifier> lambdaAccessibleVariables = new ArrayList<>();
+        private static final String LAMBDA_PARAMETERS = "LAMBDA_PARAMETERS";
 
         @Override
         public J visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
-            collectLambdaAccessibleVariables(cu, ctx);
+            getCursor().putMessage(LAMBDA_PARAMETERS, new HashSet<JavaType.Variable>());
             return super.visitCompilationUnit(cu, ctx);
         }
 
@@ -89,7 +87,7 @@ public class ReplaceOptionalIsPresentWithIfPresent extends Recipe {
 
             J.Identifier optionalVariable =
                     (J.Identifier) ((J.MethodInvocation) _if.getIfCondition().getTree()).getSelect();
-            if (optionalVariable == null || !isStatementLambdaConvertible(_if.getThenPart())) {
+            if (optionalVariable == null || !isStatementLambdaConvertible(_if.getThenPart(), VariableWrites.of(getCursor()), getLambdaParameters())) {
                 return _if;
             }
 
@@ -102,37 +100,45 @@ public class ReplaceOptionalIsPresentWithIfPresent extends Recipe {
                 nameScope = new Cursor(getCursor().getParentOrThrow(), after);
             }
 
-            String uniqueLambdaParameterName = VariableNameUtils.generateVariableName("obj", nameScope,
-                    VariableNameUtils.GenerationStrategy.INCREMENT_NUMBER);
+            String uniqueLambdaParameterName = ScopeIndex.of(nameScope).generateVariableName("obj", nameScope);
             String template = String.format("%s.ifPresent(%s -> #{any()})", methodSelector,
                     uniqueLambdaParameterName);
-            J ifPresentMi = JavaTemplate.builder(template)
-                    .contextSensitive()
-                    .build()
+            Object event = RecipeEvents.begin(RecipeEvents.Kind.TEMPLATE_APPLY);
+            J ifPresentMi = JavaTemplates.contextSensitive(template)
                     .apply(getCursor(),
                             _if.getCoordinates().replace(),
                             _if.getThenPart()
                     );
+            RecipeEvents.commit(event, template, getCursor());
 
             /* replace Optional#get to lambda parameter */
             J.Identifier lambdaParameterIdentifier =
                     ((J.VariableDeclarations) ((J.Lambda) ((J.MethodInvocation) ifPresentMi).getArguments().get(0))
                             .getParameters().getParameters().get(0)).getVariables().get(0).getName();
-            lambdaAccessibleVariables.add(lambdaParameterIdentifier);
+            if (lambdaParameterIdentifier.getFieldType() != null) {
+                getLambdaParameters().add(lambdaParameterIdentifier.getFieldType());
+            }
             return ReplaceMethodCallWithVariableVisitor.replace(ifPresentMi, context, lambdaParameterIdentifier,
                     optionalVariable);
         }
 
-        private boolean isStatementLambdaConvertible(Statement statement) {
+        /**
+         * The parameters of the lambdas introduced by this recipe, which are effectively final too.
+         */
+        private Set<JavaType.Variable> getLambdaParameters() {
+            return getCursor().getNearestMessage(LAMBDA_PARAMETERS, new HashSet<>());
+        }
+
+        private boolean isStatementLambdaConvertible(Statement statement, VariableWrites writes, Set<JavaType.Variable> lambdaParameters) {
             return new JavaIsoVisitor<AtomicBoolean>() {
                 @Override
                 public J.Identifier visitIdentifier(J.Identifier id, AtomicBoolean convertible) {
-                    if (id.getType() == null || id.getFieldType() == null || id.getFieldType().getOwner() instanceof JavaType.Class) {
+                    // fields can always be used in a lambda
+                    if (id.getType() == null || id.getFieldType() == null || id.getFieldType().getOwner() instanceof JavaType.FullyQualified) {
                         return id;
                     }
 
-                    if (lambdaAccessibleVariables.stream().noneMatch(v -> id.getFieldType().equals(v.getFieldType()) &&
-                                                                          v.getSimpleName().equals(id.getSimpleName()))) {
+                    if (!writes.isEffectivelyFinal(id.getFieldType()) && !lambdaParameters.contains(id.getFieldType())) {
                         convertible.set(false);
                     }
 
@@ -183,44 +189,6 @@ public class ReplaceOptionalIsPresentWithIfPresent extends Recipe {
                 }
             }.reduce(statement, new AtomicBoolean(true)).get();
         }
-
-        private void collectLambdaAccessibleVariables(J.CompilationUnit cu, ExecutionContext ctx) {
-            J.CompilationUnit finalizeLocalVariablesCu = (J.CompilationUnit) new FinalizeLocalVariables().getVisitor().visit(cu, ctx);
-            J.CompilationUnit finalizeMethodArgumentsCu = (J.CompilationUnit) new FinalizeMethodArguments().getVisitor().visit(cu, ctx);
-            JavaIsoVisitor<List<J.Identifier>> finalVariablesCollector = new JavaIsoVisitor<List<J.Identifier>>() {
-                @Override
-                public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable,
-                                                                        List<J.Identifier> identifiers) {
-                    if (multiVariable.hasModifier(J.Modifier.Type.Final)) {
-                        identifiers.addAll(multiVariable.getVariables().stream()
-                                .map(J.VariableDeclarations.NamedVariable::getName)
-                                .collect(Collectors.toList()));
-                    }
-                    return super.visitVariableDeclarations(multiVariable, identifiers);
-                }
-
-                @Override
-                public J.ClassDeclaration visitClassDeclaration(J.ClassDeclaration classDecl,
-                                                                List<J.Identifier> identifiers) {
-                    identifiers.addAll(collectFields(classDecl));
-                    return super.visitClassDeclaration(classDecl, identifiers);
-                }
-            };
-            finalVariablesCollector.visit(finalizeLocalVariablesCu, lambdaAccessibleVariables);
-            finalVariablesCollector.visit(finalizeMethodArgumentsCu, lambdaAccessibleVariables);
-        }
-
-        private static List<J.Identifier> collectFields(J.ClassDeclaration classDecl) {
-            return classDecl.getBody()
-                    .getStatements()
-                    .stream()
-                    .filter(statement -> statement instanceof J.VariableDeclarations)
-                    .map(J.VariableDeclarations.class::cast)
-                    .map(J.VariableDeclarations::getVariables)
-                    .flatMap(Collection::stream)
-                    .map(J.VariableDeclarations.NamedVariable::getName)
-                    .collect(Collectors.toList());
-        }
     }
 
     @Value
@@ -137,7 +137,7 @@ public class ReplaceRedundantFormatWithPrintf extends Recipe {
                 }
                 code.append(")");
 
-                JavaTemplate template = JavaTemplate.builder(code.toString()).contextSensitive().build();
+                JavaTemplate template = JavaTemplates.contextSensitive(code.toString());
                 return maybeAutoFormat(
                         method,
                         template.apply(updateCursor(method), method.getCoordinates().replaceMethod(), printfArgs.toArray()),
@@ -31,8 +31,8 @@ import java.util.List;
 import static org.openrewrite.Tree.randomId;
 
 public class ReplaceStringBuilderWithString extends Recipe {
-    private static final MethodMatcher STRING_BUILDER_APPEND = new MethodMatcher("java.lang.StringBuilder append(..)");
-    private static final MethodMatcher STRING_BUILDER_TO_STRING = new MethodMatcher("java.lang.StringBuilder toString()");
+    private static final MethodMatcher STRING_BUILDER_APPEND = MethodMatchers.of("java.lang.StringBuilder append(..)");
+    private static final MethodMatcher STRING_BUILDER_TO_STRING = MethodMatchers.of("java.lang.StringBuilder toString()");
     private static J.Parentheses parenthesesTemplate;
     private static J.MethodInvocation stringValueOfTemplate;
 
@@ -17,7 +17,6 @@ package org.openrewrite.staticanalysis;
 
 import org.openrewrite.*;
 import org.openrewrite.java.JavaVisitor;
-import org.openrewrite.java.search.UsesJavaVersion;
 import org.openrewrite.java.tree.Expression;
 import org.openrewrite.java.tree.J;
 import org.openrewrite.java.tree.JavaType.Primitive;
@@ -46,7 +45,7 @@ public class ReplaceTextBlockWithString extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesJavaVersion<>(13), new ReplaceTextBlockWithStringVisitor());
+        return SourceFileFacts.check(facts -> facts.getJavaVersion() >= 13, new ReplaceTextBlockWithStringVisitor());
     }
 
     private static class ReplaceTextBlockWithStringVisitor extends JavaVisitor<ExecutionContext> {
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.VariableNameUtils;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+
+import java.util.*;
+
+/**
+ * The variable declarations of a {@link JavaSourceFile}, collected in a single pass the first time a recipe asks for them
+ * and shared by every recipe that visits the same source file instance on the same thread, see {@link SourceFileCache}.
+ */
+final class ScopeIndex {
+    private static final SourceFileCache<ScopeIndex> CACHE = new SourceFileCache<>(sourceFile -> new ScopeIndex((JavaSourceFile) sourceFile));
+
+    private final Map<String, List<Cursor>> declarationsByName = new HashMap<>();
+    private final Map<J.ClassDeclaration, Set<String>> variableNamesByClass = new IdentityHashMap<>();
+    private final Map<Object, Set<String>> namesInScope = new IdentityHashMap<>();
+
+    private ScopeIndex(JavaSourceFile sourceFile) {
+        new Indexer().visit(sourceFile, this);
+    }
+
+    /**
+     * @param cursor any cursor within a source file.
+     * @return the index of the source file that encloses the cursor.
+     */
+    static ScopeIndex of(Cursor cursor) {
+        JavaSourceFile sourceFile = cursor.getValue() instanceof JavaSourceFile ?
+                cursor.getValue() :
+                cursor.firstEnclosingOrThrow(JavaSourceFile.class);
+        return CACHE.get(sourceFile);
+    }
+
+    /**
+     * @param name a variable name.
+     * @return the cursors of every variable declared with this name, in the order they appear in the source file.
+     */
+    List<Cursor> declarations(String name) {
+        return declarationsByName.getOrDefault(name, Collections.emptyList());
+    }
+
+    /**
+     * @param classDecl a class declaration of the indexed source file.
+     * @return the names of the local variables and fields declared in the class, including those of nested classes,
+     * leaving out {@code private static final} String constants and the variables declared within initializers.
+     */
+    Set<String> variableNames(J.ClassDeclaration classDecl) {
+        return new HashSet<>(variableNamesByClass.getOrDefault(classDecl, Collections.emptySet()));
+    }
+
+    /**
+     * Memoized {@link VariableNameUtils#findNamesInScope(Cursor)}.
+     *
+     * @return an unmodifiable set, because it is shared by every caller that asks for the same scope.
+     */
+    Set<String> namesInScope(Cursor scope) {
+        return Collections.unmodifiableSet(namesInScope.computeIfAbsent(scope.getValue(), v -> VariableNameUtils.findNamesInScope(scope)));
+    }
+
+    /**
+     * Equivalent to {@link VariableNameUtils#generateVariableName(String, Cursor, VariableNameUtils.GenerationStrategy)}
+     * with {@link VariableNameUtils.GenerationStrategy#INCREMENT_NUMBER}, based on the memoized names in scope.
+     */
+    String generateVariableName(String baseName, Cursor scope) {
+        Set<String> names = namesInScope(scope);
+        String newName = baseName;
+        int digits = 0;
+        while (digits < baseName.length() && Character.isDigit(baseName.charAt(baseName.length() - 1 - digits))) {
+            digits++;
+        }
+        String prefix = baseName.substring(0, baseName.length() - digits);
+        int count = digits == 0 ? 0 : Integer.parseInt(baseName.substring(prefix.length()));
+        while (names.contains(newName)) {
+            newName = prefix + (count += 1);
+        }
+        return newName;
+    }
+
+    private static boolean isPrivateStaticFinalString(J.VariableDeclarations declaration, J.VariableDeclarations.NamedVariable variable) {
+        return declaration.hasModifier(J.Modifier.Type.Private) &&
+               declaration.hasModifier(J.Modifier.Type.Static) &&
+               declaration.hasModifier(J.Modifier.Type.Final) &&
+               variable.getInitializer() instanceof J.Literal &&
+               ((J.Literal) variable.getInitializer()).getValue() instanceof String;
+    }
+
+    private static class Indexer extends JavaIsoVisitor<ScopeIndex> {
+        @Override
+        public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, ScopeIndex index) {
+            index.declarationsByName.computeIfAbsent(variable.getSimpleName(), n -> new ArrayList<>()).add(getCursor());
+
+            Cursor parentScope = getCursor().dropParentUntil(is -> is instanceof J.ClassDeclaration || is instanceof J.MethodDeclaration);
+            J.VariableDeclarations declaration = getCursor().firstEnclosing(J.VariableDeclarations.class);
+            if (parentScope.getValue() instanceof J.MethodDeclaration ||
+                (parentScope.getValue() instanceof J.ClassDeclaration && declaration != null &&
+                 !isPrivateStaticFinalString(declaration, variable))) {
+                // every enclosing class up to the first enclosing variable, whose initializer hides this one
+                for (Cursor c = getCursor().getParent(); c != null; c = c.getParent()) {
+                    if (c.getValue() instanceof J.VariableDeclarations.NamedVariable) {
+                        break;
+                    } else if (c.getValue() instanceof J.ClassDeclaration) {
+                        index.variableNamesByClass.computeIfAbsent(c.getValue(), k -> new HashSet<>())
+                                .add(variable.getSimpleName());
+                    }
+                }
+            }
+            return super.visitVariable(variable, index);
+        }
+    }
+}
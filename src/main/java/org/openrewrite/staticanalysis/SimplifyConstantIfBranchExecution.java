@@ -48,7 +48,7 @@ public class SimplifyConstantIfBranchExecution extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new SimplifyConstantIfBranchExecutionVisitor();
+        return SourceFileFacts.check(facts -> facts.contains(J.If.class), new SimplifyConstantIfBranchExecutionVisitor());
     }
 
     private static class SimplifyConstantIfBranchExecutionVisitor extends JavaVisitor<ExecutionContext> {
@@ -57,15 +57,15 @@ public class SimplifyConstantIfBranchExecution extends Recipe {
         public J visitBlock(J.Block block, ExecutionContext executionContext) {
             J.Block bl = (J.Block) super.visitBlock(block, executionContext);
             if (bl != block) {
-                bl = (J.Block) new RemoveUnneededBlock.RemoveUnneededBlockStatementVisitor()
-                        .visitNonNull(bl, executionContext, getCursor().getParentOrThrow());
+                bl = (J.Block) RecipeMetrics.nestedTraversalNonNull(new RemoveUnneededBlock.RemoveUnneededBlockStatementVisitor(),
+                        bl, executionContext, getCursor().getParentOrThrow());
                 EmptyBlockStyle style = ((SourceFile) getCursor().firstEnclosingOrThrow(JavaSourceFile.class))
                         .getStyle(EmptyBlockStyle.class);
                 if (style == null) {
                     style = Checkstyle.emptyBlock();
                 }
-                bl = (J.Block) new EmptyBlockVisitor<>(style)
-                        .visitNonNull(bl, executionContext, getCursor().getParentOrThrow());
+                bl = (J.Block) RecipeMetrics.nestedTraversalNonNull(new EmptyBlockVisitor<>(style),
+                        bl, executionContext, getCursor().getParentOrThrow());
             }
             return bl;
         }
@@ -75,10 +75,10 @@ public class SimplifyConstantIfBranchExecution extends Recipe {
                 E expression, ExecutionContext context
         ) {
             E ex1 =
-                    (E) new UnnecessaryParentheses().getVisitor()
-                            .visitNonNull(expression, context, getCursor().getParentOrThrow());
-            ex1 = (E) new SimplifyBooleanExpression().getVisitor()
-                    .visitNonNull(ex1, context, getCursor().getParentTreeCursor());
+                    (E) RecipeMetrics.nestedTraversalNonNull(new UnnecessaryParentheses().getVisitor(),
+                            expression, context, getCursor().getParentOrThrow());
+            ex1 = (E) RecipeMetrics.nestedTraversalNonNull(new SimplifyBooleanExpression().getVisitor(),
+                    ex1, context, getCursor().getParentTreeCursor());
             if (expression == ex1 || isLiteralFalse(ex1) || isLiteralTrue(ex1)) {
                 return ex1;
             }
@@ -115,22 +115,14 @@ public class SimplifyConstantIfBranchExecution extends Recipe {
                 // True branch
                 // Only keep the `then` branch, and remove the `else` branch.
                 Statement s = if__.getThenPart().withPrefix(if__.getPrefix());
-                return maybeAutoFormat(
-                        if__,
-                        s,
-                        context
-                );
+                return DeferredFormat.maybeAutoFormat(this, if__, s, context);
             } else {
                 // False branch
                 // Only keep the `else` branch, and remove the `then` branch.
                 if (if__.getElsePart() != null) {
                     // The `else` part needs to be kept
                     Statement s = if__.getElsePart().getBody().withPrefix(if__.getPrefix());
-                    return maybeAutoFormat(
-                            if__,
-                            s,
-                            context
-                    );
+                    return DeferredFormat.maybeAutoFormat(this, if__, s, context);
                 }
                 /*
                  * The `else` branch is not present, therefore, the `if` can be removed.
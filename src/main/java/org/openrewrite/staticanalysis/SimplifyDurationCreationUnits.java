@@ -101,7 +101,7 @@ public class SimplifyDurationCreationUnits extends Recipe {
                     return method;
                 }
 
-                JavaTemplate template = JavaTemplate.builder("#{}(#{})").contextSensitive().build();
+                JavaTemplate template = JavaTemplates.contextSensitive("#{}(#{})");
                 return maybeAutoFormat(
                         method,
                         template.apply(updateCursor(method), method.getCoordinates().replaceMethod(), simplifiedUnits.methodName,
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.SourceFile;
+
+import java.lang.ref.SoftReference;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.function.Function;
+
+/**
+ * Remembers a value computed from a source file for the few source file instances most recently visited on each thread.
+ * <p>
+ * Source files are immutable, so a value stays valid for as long as recipes keep visiting the same instance. A recipe
+ * that changes the source file produces a new instance, for which the value is computed again.
+ */
+final class SourceFileCache<V> {
+    private static final int CACHED_SOURCE_FILES = 4;
+
+    private final Function<SourceFile, V> compute;
+    private final ThreadLocal<Deque<SoftReference<Entry<V>>>> entries = ThreadLocal.withInitial(ArrayDeque::new);
+
+    SourceFileCache(Function<SourceFile, V> compute) {
+        this.compute = compute;
+    }
+
+    V get(SourceFile sourceFile) {
+        Deque<SoftReference<Entry<V>>> cache = entries.get();
+        for (Iterator<SoftReference<Entry<V>>> it = cache.iterator(); it.hasNext(); ) {
+            Entry<V> entry = it.next().get();
+            if (entry == null) {
+                it.remove();
+            } else if (entry.sourceFile == sourceFile) {
+                return entry.value;
+            }
+        }
+        V value = compute.apply(sourceFile);
+        cache.addFirst(new SoftReference<>(new Entry<>(sourceFile, value)));
+        if (cache.size() > CACHED_SOURCE_FILES) {
+            cache.removeLast();
+        }
+        return value;
+    }
+
+    private static class Entry<V> {
+        final SourceFile sourceFile;
+        final V value;
+
+        Entry(SourceFile sourceFile, V value) {
+            this.sourceFile = sourceFile;
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,202 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.marker.JavaVersion;
+import org.openrewrite.java.search.FindMissingTypes;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+/**
+ * Facts about a {@link JavaSourceFile} that recipes can check to skip a source file without visiting it at all:
+ * the types and methods in use, the Java version, whether types are missing and which kinds of nodes it contains.
+ * <p>
+ * The facts are computed once per source file instance and shared by every recipe, see {@link SourceFileCache}. The
+ * types and methods in use are read from {@link JavaSourceFile#getTypesInUse()}, the missing types and the node kinds
+ * each take a single traversal, made only when a recipe first asks for them.
+ * <p>
+ * A recipe declares its interest in a source file as a predicate on these facts:
+ * <pre>{@code
+ * return SourceFileFacts.check(facts -> facts.contains(J.Switch.class), new FallThroughVisitor<>());
+ * }</pre>
+ */
+public final class SourceFileFacts {
+    private static final SourceFileCache<SourceFileFacts> CACHE = new SourceFileCache<>(sourceFile -> new SourceFileFacts((JavaSourceFile) sourceFile));
+
+    private final JavaSourceFile sourceFile;
+    private final Set<String> typesInUse = new HashSet<>();
+    private final Set<String> methodNamesInUse = new HashSet<>();
+    private final Set<String> declaredMethodNames = new HashSet<>();
+    private final int javaVersion;
+
+    @Nullable
+    private Boolean missingTypes;
+
+    @Nullable
+    private Set<Class<?>> nodeTypes;
+
+    private SourceFileFacts(JavaSourceFile sourceFile) {
+        this.sourceFile = sourceFile;
+        for (JavaType type : sourceFile.getTypesInUse().getTypesInUse()) {
+            JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
+            if (fq != null) {
+                typesInUse.add(fq.getFullyQualifiedName());
+            }
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getUsedMethods()) {
+            methodNamesInUse.add(method.getName());
+        }
+        for (JavaType.Method method : sourceFile.getTypesInUse().getDeclaredMethods()) {
+            declaredMethodNames.add(method.getName());
+        }
+        this.javaVersion = sourceFile.getMarkers().findFirst(JavaVersion.class)
+                .map(JavaVersion::getMajorVersion)
+                .orElse(-1);
+    }
+
+    public static SourceFileFacts of(JavaSourceFile sourceFile) {
+        return CACHE.get(sourceFile);
+    }
+
+    /**
+     * Like {@link org.openrewrite.Preconditions#check(TreeVisitor, TreeVisitor)}, but decides from the facts of a source
+     * file whether to visit it, so that uninterested recipes don't start any traversal of it.
+     *
+     * @param interest the recipe's interest in a source file.
+     * @param visitor  the recipe's visitor.
+     * @return a visitor that only accepts the Java source files that the recipe is interested in.
+     */
+    public static TreeVisitor<?, ExecutionContext> check(Predicate<SourceFileFacts> interest, TreeVisitor<?, ExecutionContext> visitor) {
+        return new Check(interest, visitor);
+    }
+
+    /**
+     * @param fullyQualifiedName the fully qualified name of a type.
+     * @return whether the type is in use, by exact name.
+     */
+    public boolean usesType(String fullyQualifiedName) {
+        return typesInUse.contains(fullyQualifiedName);
+    }
+
+    public boolean usesAnyType(Collection<String> fullyQualifiedNames) {
+        for (String fullyQualifiedName : fullyQualifiedNames) {
+            if (typesInUse.contains(fullyQualifiedName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param name a method name.
+     * @return whether a method with this name is invoked, on any type.
+     */
+    public boolean usesMethodNamed(String name) {
+        return methodNamesInUse.contains(name);
+    }
+
+    /**
+     * @param name a method name.
+     * @return whether a method with this name is declared.
+     */
+    public boolean declaresMethodNamed(String name) {
+        return declaredMethodNames.contains(name);
+    }
+
+    /**
+     * @return the major version of the Java source, or -1 when the version is unknown.
+     */
+    public int getJavaVersion() {
+        return javaVersion;
+    }
+
+    public boolean hasMissingTypes() {
+        if (missingTypes == null) {
+            missingTypes = !FindMissingTypes.findMissingTypes(sourceFile).isEmpty();
+        }
+        return missingTypes;
+    }
+
+    /**
+     * @param nodeType a kind of node, such as {@code J.Switch.class}.
+     * @return whether the source file contains at least one node of this kind.
+     */
+    public boolean contains(Class<? extends J> nodeType) {
+        if (nodeTypes == null) {
+            Set<Class<?>> found = new HashSet<>();
+            new JavaIsoVisitor<Set<Class<?>>>() {
+                @Override
+                public J preVisit(J tree, Set<Class<?>> nodeTypes) {
+                    nodeTypes.add(tree.getClass());
+                    return tree;
+                }
+            }.visit(sourceFile, found);
+            nodeTypes = found;
+        }
+        return nodeTypes.contains(nodeType);
+    }
+
+    @SafeVarargs
+    public final boolean containsAny(Class<? extends J> first, Class<? extends J>... others) {
+        if (contains(first)) {
+            return true;
+        }
+        for (Class<? extends J> other : others) {
+            if (contains(other)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static class Check extends TreeVisitor<Tree, ExecutionContext> {
+        private final Predicate<SourceFileFacts> interest;
+        private final TreeVisitor<?, ExecutionContext> visitor;
+
+        Check(Predicate<SourceFileFacts> interest, TreeVisitor<?, ExecutionContext> visitor) {
+            this.interest = interest;
+            this.visitor = visitor;
+        }
+
+        @Override
+        public boolean isAcceptable(SourceFile sourceFile, ExecutionContext ctx) {
+            return sourceFile instanceof JavaSourceFile &&
+                   visitor.isAcceptable(sourceFile, ctx) &&
+                   interest.test(of((JavaSourceFile) sourceFile));
+        }
+
+        @Override
+        public @Nullable Tree visit(@Nullable Tree tree, ExecutionContext ctx) {
+            if (tree instanceof JavaSourceFile && !interest.test(of((JavaSourceFile) tree))) {
+                return tree;
+            }
+            return visitor.visit(tree, ctx, getCursor());
+        }
+    }
+}
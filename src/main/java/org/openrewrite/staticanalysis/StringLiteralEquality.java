@@ -16,7 +16,6 @@
 package org.openrewrite.staticanalysis;
 
 import org.openrewrite.*;
-import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.search.UsesType;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
@@ -27,7 +26,7 @@ import java.util.Set;
 
 import static java.util.Collections.singletonList;
 
-public class StringLiteralEquality extends Recipe {
+public class StringLiteralEquality extends Recipe implements FusibleRecipe {
     @Override
     public String getDisplayName() {
         return "Use `String.equals()` on String literals";
@@ -53,7 +52,12 @@ public class StringLiteralEquality extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return Preconditions.check(new UsesType<>("java.lang.String", false), new JavaVisitor<ExecutionContext>() {
+        return getFusibleVisitor().withPrecondition();
+    }
+
+    @Override
+    public FusibleVisitor getFusibleVisitor() {
+        return new FusibleVisitor(new UsesType<>("java.lang.String", false), J.Binary.class) {
             private final JavaType.FullyQualified TYPE_STRING = TypeUtils.asFullyQualified(JavaType.buildType("java.lang.String"));
             private final JavaType TYPE_OBJECT = JavaType.buildType("java.lang.Object");
 
@@ -115,12 +119,12 @@ public class StringLiteralEquality extends Recipe {
                         after = asNegatedUnary(mi);
                     }
                     if (after != null) {
-                        doAfterVisit(new EqualsAvoidsNull().getVisitor());
+                        EditPlan.of(this).doAfterVisitOnce(new EqualsAvoidsNull().getVisitor());
                         return after;
                     }
                 }
                 return super.visitBinary(binary, ctx);
             }
-        });
+        };
     }
 }
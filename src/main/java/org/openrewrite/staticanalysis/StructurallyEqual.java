@@ -0,0 +1,229 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.With;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.Space;
+import org.openrewrite.java.tree.TextComment;
+import org.openrewrite.java.tree.TypeUtils;
+import org.openrewrite.marker.Markers;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.BiPredicate;
+
+/**
+ * Compares two trees node by node in a single pass, stopping at the first difference.
+ * <p>
+ * Any tree can be compared without a visitor method per tree type: the fields of each tree class are read
+ * reflectively, and the fields are looked up once per class. The comparison does not create cursors, and it reads
+ * the fields directly, so it does not create padded wrappers either. What counts as a difference is configurable:
+ * <pre>{@code
+ * StructurallyEqual.IGNORING_FORMATTING.withCompareComments(false).areEqual(tree1, tree2);
+ * }</pre>
+ * Markers are never compared.
+ */
+@With
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+final class StructurallyEqual {
+    /**
+     * Compares everything but ids, markers, and whitespace. Types are compared with {@link TypeUtils#isOfType}.
+     */
+    static final StructurallyEqual IGNORING_FORMATTING = new StructurallyEqual(false, false, true, TypeUtils::isOfType);
+
+    private static final ClassValue<TreeField[]> FIELDS = new ClassValue<TreeField[]>() {
+        @Override
+        protected TreeField[] computeValue(Class<?> type) {
+            List<TreeField> fields = new ArrayList<>();
+            for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+                for (Field field : c.getDeclaredFields()) {
+                    int modifiers = field.getModifiers();
+                    if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()) {
+                        continue;
+                    }
+                    field.setAccessible(true);
+                    fields.add(new TreeField(field, FieldKind.of(field.getType())));
+                }
+            }
+            return fields.toArray(new TreeField[0]);
+        }
+    };
+
+    /**
+     * Whether trees with different ids are different.
+     */
+    private final boolean compareIds;
+
+    /**
+     * Whether trees with different whitespace, including the whitespace following comments, are different.
+     */
+    private final boolean compareWhitespace;
+
+    /**
+     * Whether trees with different comments are different.
+     */
+    private final boolean compareComments;
+
+    /**
+     * Whether the types of two trees are the same. It is also called when either type is missing.
+     */
+    private final BiPredicate<JavaType, JavaType> compareTypes;
+
+    /**
+     * @return a comparison that treats all types as the same.
+     */
+    StructurallyEqual ignoringTypes() {
+        return withCompareTypes((type1, type2) -> true);
+    }
+
+    /**
+     * @param tree1 a tree, or any element of a tree such as a {@link Space} or a padded element.
+     * @param tree2 the tree to compare it with.
+     * @return {@code true} if the two trees have no differences under this comparison.
+     */
+    boolean areEqual(@Nullable Object tree1, @Nullable Object tree2) {
+        if (tree1 == tree2) {
+            return true;
+        }
+        if (tree1 == null || tree2 == null) {
+            return (tree1 instanceof JavaType || tree2 instanceof JavaType) &&
+                   compareTypes.test((JavaType) tree1, (JavaType) tree2);
+        }
+        if (tree1 instanceof JavaType && tree2 instanceof JavaType) {
+            return compareTypes.test((JavaType) tree1, (JavaType) tree2);
+        }
+        if (tree1.getClass() != tree2.getClass()) {
+            return false;
+        }
+        if (tree1 instanceof Space) {
+            return spacesEqual((Space) tree1, (Space) tree2);
+        }
+        if (tree1 instanceof Markers) {
+            return true;
+        }
+        if (tree1 instanceof UUID) {
+            return !compareIds || tree1.equals(tree2);
+        }
+        if (tree1 instanceof List) {
+            return listsEqual((List<?>) tree1, (List<?>) tree2);
+        }
+        if (tree1 instanceof TextComment) {
+            TextComment comment1 = (TextComment) tree1;
+            TextComment comment2 = (TextComment) tree2;
+            return comment1.isMultiline() == comment2.isMultiline() &&
+                   comment1.getText().equals(comment2.getText()) &&
+                   (!compareWhitespace || comment1.getSuffix().equals(comment2.getSuffix()));
+        }
+        if (isValue(tree1)) {
+            return tree1.equals(tree2);
+        }
+        return fieldsEqual(tree1, tree2);
+    }
+
+    private boolean fieldsEqual(Object tree1, Object tree2) {
+        for (TreeField field : FIELDS.get(tree1.getClass())) {
+            Object value1 = field.get(tree1);
+            Object value2 = field.get(tree2);
+            switch (field.kind) {
+                case ID:
+                    if (compareIds && !areEqual(value1, value2)) {
+                        return false;
+                    }
+                    break;
+                case MARKERS:
+                    break;
+                case TYPE:
+                    if (value1 != value2 && !compareTypes.test((JavaType) value1, (JavaType) value2)) {
+                        return false;
+                    }
+                    break;
+                default:
+                    if (!areEqual(value1, value2)) {
+                        return false;
+                    }
+            }
+        }
+        return true;
+    }
+
+    private boolean spacesEqual(Space space1, Space space2) {
+        if (compareWhitespace && !space1.getWhitespace().equals(space2.getWhitespace())) {
+            return false;
+        }
+        return !compareComments || listsEqual(space1.getComments(), space2.getComments());
+    }
+
+    private boolean listsEqual(List<?> list1, List<?> list2) {
+        if (list1.size() != list2.size()) {
+            return false;
+        }
+        Iterator<?> iterator2 = list2.iterator();
+        for (Object element1 : list1) {
+            if (!areEqual(element1, iterator2.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Values whose own {@code equals} defines equality, such as literal values, names, enum constants, and source paths.
+     */
+    private static boolean isValue(Object o) {
+        return o instanceof Enum || !o.getClass().getName().startsWith("org.openrewrite.");
+    }
+
+    private enum FieldKind {
+        ID,
+        MARKERS,
+        TYPE,
+        OTHER;
+
+        static FieldKind of(Class<?> type) {
+            if (type == UUID.class) {
+                return ID;
+            } else if (type == Markers.class) {
+                return MARKERS;
+            } else if (JavaType.class.isAssignableFrom(type)) {
+                return TYPE;
+            }
+            return OTHER;
+        }
+    }
+
+    @AllArgsConstructor
+    private static class TreeField {
+        final Field field;
+        final FieldKind kind;
+
+        @Nullable
+        Object get(Object tree) {
+            try {
+                return field.get(tree);
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.tree.Flag;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Answers type hierarchy questions for the duration of a recipe run, so that recipes don't walk the same
+ * {@link JavaType} graphs again for every declaration and reference they check.
+ * <p>
+ * Types are identified by an interned id of their fully qualified name, and the supertypes of each type are stored as a
+ * sorted array of ids, computed the first time the type is seen. The index is built lazily while recipes visit source
+ * files, so it only knows about the supertypes of a type, not about all of its subtypes.
+ * <p>
+ * The index is shared by every thread of a run, so it is kept in concurrent maps whose values are never modified once
+ * they are published. Two threads that see a type for the first time at the same moment may both compute its
+ * supertypes, and the first to finish wins.
+ */
+final class TypeHierarchy {
+    private static final String TYPE_HIERARCHY_KEY = TypeHierarchy.class.getName();
+    private static final int MAXIMUM_ASSIGNABILITY_PAIRS = 4096;
+
+    private final Map<String, Integer> ids = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Map<Integer, int[]> supertypes = new ConcurrentHashMap<>();
+    private final Map<String, Optional<JavaType.Method>> overriddenMethods = new ConcurrentHashMap<>();
+    private final Map<String, Optional<JavaType.Method>> singleAbstractMethods = new ConcurrentHashMap<>();
+    private final Map<TypePair, Boolean> assignability = new ConcurrentHashMap<>();
+
+    static TypeHierarchy of(ExecutionContext ctx) {
+        return ctx.computeMessageIfAbsent(TYPE_HIERARCHY_KEY, k -> new TypeHierarchy());
+    }
+
+    /**
+     * Like {@link TypeUtils#isAssignableTo(String, JavaType)}, but looks up the supertypes of fully qualified types in
+     * the index.
+     */
+    boolean isAssignableTo(String fullyQualifiedName, @Nullable JavaType type) {
+        if (!(type instanceof JavaType.FullyQualified) || type instanceof JavaType.Unknown) {
+            return TypeUtils.isAssignableTo(fullyQualifiedName, type);
+        }
+        int[] assignableTo = supertypesOf((JavaType.FullyQualified) type, new HashSet<>());
+        Integer id = ids.get(normalize(fullyQualifiedName));
+        return id != null && Arrays.binarySearch(assignableTo, id) >= 0;
+    }
+
+    /**
+     * Like {@link TypeUtils#isAssignableTo(JavaType, JavaType)}. Checks against a class type are answered from the
+     * supertypes in the index, and the results of all other checks are remembered for up to
+     * {@link #MAXIMUM_ASSIGNABILITY_PAIRS} pairs of type instances.
+     */
+    boolean isAssignableTo(@Nullable JavaType to, @Nullable JavaType from) {
+        if (to == null || from == null) {
+            return false;
+        }
+        if (to instanceof JavaType.Class && from instanceof JavaType.FullyQualified && !(from instanceof JavaType.Unknown)) {
+            return to == from || isAssignableTo(((JavaType.Class) to).getFullyQualifiedName(), from);
+        }
+        TypePair pair = new TypePair(to, from);
+        Boolean assignable = assignability.get(pair);
+        if (assignable != null) {
+            return assignable;
+        }
+        if (assignability.size() >= MAXIMUM_ASSIGNABILITY_PAIRS) {
+            return TypeUtils.isAssignableTo(to, from);
+        }
+        return assignability.computeIfAbsent(pair, p -> TypeUtils.isAssignableTo(to, from));
+    }
+
+    /**
+     * Like {@link TypeUtils#findOverriddenMethod(JavaType.Method)}, but remembers the result for each method signature.
+     */
+    Optional<JavaType.Method> findOverriddenMethod(@Nullable JavaType.Method method) {
+        if (method == null) {
+            return Optional.empty();
+        }
+        String signature = method.getDeclaringType().getFullyQualifiedName() + '#' + method.getName() + method.getParameterTypes();
+        return overriddenMethods.computeIfAbsent(signature, s -> TypeUtils.findOverriddenMethod(method));
+    }
+
+    boolean isOverride(@Nullable JavaType.Method method) {
+        return findOverriddenMethod(method).isPresent();
+    }
+
+    /**
+     * @param type an interface.
+     * @return the only method the interface declares that is neither default nor static, or {@code null} when there is
+     * no such method or more than one.
+     */
+    @Nullable
+    JavaType.Method getSingleAbstractMethod(JavaType.FullyQualified type) {
+        return singleAbstractMethods.computeIfAbsent(type.getFullyQualifiedName(), name -> {
+            JavaType.Method found = null;
+            for (JavaType.Method method : type.getMethods()) {
+                if (method.hasFlags(Flag.Default) || method.hasFlags(Flag.Static)) {
+                    continue;
+                }
+                if (found != null) {
+                    return Optional.empty();
+                }
+                found = method;
+            }
+            return Optional.ofNullable(found);
+        }).orElse(null);
+    }
+
+    /**
+     * @param visiting the ids of the types whose supertypes are being computed, which guards against cycles in types
+     *                 that are only partially attributed.
+     * @return the sorted ids of the type itself and all of its supertypes.
+     */
+    private int[] supertypesOf(JavaType.FullyQualified type, Set<Integer> visiting) {
+        int id = intern(type.getFullyQualifiedName());
+        if (type instanceof JavaType.ShallowClass) {
+            // a shallow class has no supertypes to speak of, so it must not stand in for the full type
+            return new int[]{id};
+        }
+        int[] known = supertypes.get(id);
+        if (known != null) {
+            return known;
+        }
+        if (!visiting.add(id)) {
+            return new int[]{id};
+        }
+
+        // not computed with computeIfAbsent, which must not be called again for the supertypes
+        Set<Integer> all = new HashSet<>();
+        all.add(id);
+        if (type.getSupertype() != null) {
+            for (int supertype : supertypesOf(type.getSupertype(), visiting)) {
+                all.add(supertype);
+            }
+        }
+        for (JavaType.FullyQualified anInterface : type.getInterfaces()) {
+            for (int supertype : supertypesOf(anInterface, visiting)) {
+                all.add(supertype);
+            }
+        }
+        int[] sorted = new int[all.size()];
+        int i = 0;
+        for (Integer supertype : all) {
+            sorted[i++] = supertype;
+        }
+        Arrays.sort(sorted);
+        int[] raced = supertypes.putIfAbsent(id, sorted);
+        return raced == null ? sorted : raced;
+    }
+
+    private int intern(String fullyQualifiedName) {
+        return ids.computeIfAbsent(normalize(fullyQualifiedName), name -> nextId.getAndIncrement());
+    }
+
+    /**
+     * Nested types are named with either a {@code $} or a {@code .} separator, which {@link TypeUtils} treats as equal.
+     */
+    private static String normalize(String fullyQualifiedName) {
+        return fullyQualifiedName.replace('$', '.');
+    }
+
+    /**
+     * A pair of type instances, compared by identity.
+     */
+    private static final class TypePair {
+        private final JavaType to;
+        private final JavaType from;
+
+        TypePair(JavaType to, JavaType from) {
+            this.to = to;
+            this.from = from;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TypePair)) {
+                return false;
+            }
+            TypePair other = (TypePair) o;
+            return to == other.to && from == other.from;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(to) + System.identityHashCode(from);
+        }
+    }
+}
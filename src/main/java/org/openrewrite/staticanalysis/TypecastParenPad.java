@@ -44,7 +44,7 @@ public class TypecastParenPad extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new TypecastParenPadVisitor();
+        return SourceFileFacts.check(facts -> facts.contains(J.TypeCast.class), new TypecastParenPadVisitor());
     }
 
     private static class TypecastParenPadVisitor extends JavaIsoVisitor<ExecutionContext> {
@@ -55,7 +55,7 @@ public class UnnecessaryCatch extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.Try.class), new JavaIsoVisitor<ExecutionContext>() {
 
             @Override
             public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
@@ -118,6 +118,6 @@ public class UnnecessaryCatch extends Recipe {
                 }));
             }
 
-        };
+        });
     }
 }
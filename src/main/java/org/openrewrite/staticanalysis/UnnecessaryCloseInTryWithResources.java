@@ -50,7 +50,7 @@ public class UnnecessaryCloseInTryWithResources extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new UnnecessaryAutoCloseableVisitor();
+        return SourceFileFacts.check(facts -> facts.contains(J.Try.class), new UnnecessaryAutoCloseableVisitor());
     }
 
     private static class UnnecessaryAutoCloseableVisitor extends JavaIsoVisitor<ExecutionContext> {
@@ -30,6 +30,8 @@ import java.time.Duration;
 import java.util.*;
 
 public class UnnecessaryThrows extends Recipe {
+    private static final JavaType.FullyQualified IO_EXCEPTION = JavaType.ShallowClass.build("java.io.IOException");
+    private static final JavaType.FullyQualified EXCEPTION = JavaType.ShallowClass.build("java.lang.Exception");
 
     @Override
     public String getDisplayName() {
@@ -62,7 +64,8 @@ public class UnnecessaryThrows extends Recipe {
             @Override
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
                 J.MethodDeclaration m = super.visitMethodDeclaration(method, ctx);
-                Set<JavaType.FullyQualified> unusedThrows = findExceptionCandidates(method);
+                TypeHierarchy hierarchy = TypeHierarchy.of(ctx);
+                Set<JavaType.FullyQualified> unusedThrows = findExceptionCandidates(method, hierarchy);
 
                 if (!unusedThrows.isEmpty()) {
 
@@ -82,10 +85,10 @@ public class UnnecessaryThrows extends Recipe {
 
                             JavaType.FullyQualified resourceType = TypeUtils.asFullyQualified(resource.getType());
                             if (resourceType != null) {
-                                if (TypeUtils.isAssignableTo(JavaType.ShallowClass.build("java.io.Closeable"), resourceType)) {
-                                    unusedThrows.remove(JavaType.ShallowClass.build("java.io.IOException"));
-                                } else if (TypeUtils.isAssignableTo(JavaType.ShallowClass.build("java.lang.AutoCloseable"), resourceType)) {
-                                    unusedThrows.remove(JavaType.ShallowClass.build("java.lang.Exception"));
+                                if (hierarchy.isAssignableTo("java.io.Closeable", resourceType)) {
+                                    unusedThrows.remove(IO_EXCEPTION);
+                                } else if (hierarchy.isAssignableTo("java.lang.AutoCloseable", resourceType)) {
+                                    unusedThrows.remove(EXCEPTION);
                                 }
                             }
 
@@ -96,7 +99,7 @@ public class UnnecessaryThrows extends Recipe {
                         public J.Throw visitThrow(J.Throw thrown, ExecutionContext executionContext) {
                             JavaType.FullyQualified type = TypeUtils.asFullyQualified(thrown.getException().getType());
                             if (type != null) {
-                                unusedThrows.removeIf(t -> TypeUtils.isAssignableTo(t, type));
+                                unusedThrows.removeIf(t -> hierarchy.isAssignableTo(t, type));
                             }
                             return thrown;
                         }
@@ -116,7 +119,7 @@ public class UnnecessaryThrows extends Recipe {
                         private void removeThrownTypes(@Nullable JavaType.Method type) {
                             if (type != null) {
                                 for (JavaType.FullyQualified thrownException : type.getThrownExceptions()) {
-                                    unusedThrows.removeIf(t -> TypeUtils.isAssignableTo(t, thrownException));
+                                    unusedThrows.removeIf(t -> hierarchy.isAssignableTo(t, thrownException));
                                 }
                             }
                         }
@@ -140,7 +143,7 @@ public class UnnecessaryThrows extends Recipe {
     }
 
 
-    private Set<JavaType.FullyQualified> findExceptionCandidates(@Nullable J.MethodDeclaration method) {
+    private Set<JavaType.FullyQualified> findExceptionCandidates(@Nullable J.MethodDeclaration method, TypeHierarchy hierarchy) {
 
         if (method == null || method.getMethodType() == null || method.isAbstract()) {
             return Collections.emptySet();
@@ -154,7 +157,7 @@ public class UnnecessaryThrows extends Recipe {
                 if (exception.getType() == null || exception.getType() instanceof JavaType.Unknown) {
                     return Collections.emptySet();
                 }
-                if (exception.getType() instanceof JavaType.FullyQualified && !TypeUtils.isAssignableTo(JavaType.ShallowClass.build("java.lang.RuntimeException"), exception.getType())) {
+                if (exception.getType() instanceof JavaType.FullyQualified && !hierarchy.isAssignableTo("java.lang.RuntimeException", exception.getType())) {
                     candidates.add(TypeUtils.asFullyQualified(exception.getType()));
                 }
             }
@@ -174,7 +177,7 @@ public class UnnecessaryThrows extends Recipe {
         }
 
         //Remove any candidates that are defined in an overridden method.
-        Optional<JavaType.Method> superMethod = TypeUtils.findOverriddenMethod(method.getMethodType());
+        Optional<JavaType.Method> superMethod = hierarchy.findOverriddenMethod(method.getMethodType());
         if (superMethod.isPresent()) {
             JavaType.Method baseMethod = superMethod.get();
             baseMethod.getThrownExceptions();
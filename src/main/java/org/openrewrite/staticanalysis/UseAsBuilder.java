@@ -76,6 +76,9 @@ public class UseAsBuilder extends Recipe {
         JavaIsoVisitor<ExecutionContext> v = new JavaIsoVisitor<ExecutionContext>() {
             final MethodMatcher builderCall = new MethodMatcher(builderType + " *(..)");
 
+            @Nullable
+            final MethodMatcher builderCreatorCall = builderCreator == null ? null : new MethodMatcher(builderCreator);
+
             @Override
             public J.Block visitBlock(J.Block block, ExecutionContext ctx) {
                 J.Block b = super.visitBlock(block, ctx);
@@ -165,14 +168,14 @@ public class UseAsBuilder extends Recipe {
                     } else if (stat instanceof J.Assignment) {
                         J.Assignment assign = (J.Assignment) stat;
                         if (matchesBuilder(assign.getAssignment())) {
-                            builderCalls.computeIfAbsent(assign.getVariable().printTrimmed(getCursor()),
+                            builderCalls.computeIfAbsent(keyOf(assign.getVariable()),
                                     n -> new ArrayList<>()).add(stat);
                         }
                     } else if (!Boolean.FALSE.equals(immutable)) {
                         if (stat instanceof J.MethodInvocation) {
                             J.MethodInvocation method = (J.MethodInvocation) stat;
                             if (matchesBuilder(method) && method.getSelect() != null) {
-                                builderCalls.computeIfAbsent(method.getSelect().printTrimmed(getCursor()),
+                                builderCalls.computeIfAbsent(keyOf(method.getSelect()),
                                         n -> new ArrayList<>()).add(stat);
                             }
                         }
@@ -181,9 +184,13 @@ public class UseAsBuilder extends Recipe {
                 return builderCalls;
             }
 
+            private String keyOf(Expression variable) {
+                String name = ExpressionKeys.nameOf(variable);
+                return name == null ? variable.printTrimmed(getCursor()) : name;
+            }
+
             private boolean matchesBuilder(@Nullable Expression j) {
-                return builderCall.matches(j) || (builderCreator != null &&
-                                                  new MethodMatcher(builderCreator).matches(j));
+                return builderCall.matches(j) || (builderCreatorCall != null && builderCreatorCall.matches(j));
             }
 
             private J.VariableDeclarations consolidateBuilder(J.VariableDeclarations consolidatedBuilder,
@@ -17,10 +17,8 @@ package org.openrewrite.staticanalysis;
 
 import org.openrewrite.ExecutionContext;
 import org.openrewrite.Recipe;
-import org.openrewrite.Tree;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.ListUtils;
-import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
@@ -31,7 +29,6 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
-import static java.util.Objects.requireNonNull;
 import static org.openrewrite.Tree.randomId;
 
 public class UseCollectionInterfaces extends Recipe {
@@ -91,21 +88,7 @@ public class UseCollectionInterfaces extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaIsoVisitor<ExecutionContext>() {
-            @Override
-            public J visit(@Nullable Tree tree, ExecutionContext ctx) {
-                if (tree instanceof JavaSourceFile) {
-                    JavaSourceFile cu = (JavaSourceFile) requireNonNull(tree);
-                    for (JavaType type : cu.getTypesInUse().getTypesInUse()) {
-                        JavaType.FullyQualified fq = TypeUtils.asFullyQualified(type);
-                        if (fq != null && rspecRulesReplaceTypeMap.containsKey(fq.getFullyQualifiedName())) {
-                            return super.visit(cu, ctx);
-                        }
-                    }
-                }
-                return super.visit(tree, ctx);
-            }
-
+        return SourceFileFacts.check(facts -> facts.usesAnyType(rspecRulesReplaceTypeMap.keySet()), new JavaIsoVisitor<ExecutionContext>() {
             @Override
             public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext executionContext) {
                 J.MethodDeclaration m = super.visitMethodDeclaration(method, executionContext);
@@ -209,6 +192,6 @@ public class UseCollectionInterfaces extends Recipe {
                 }
                 return mv;
             }
-        };
+        });
     }
 }
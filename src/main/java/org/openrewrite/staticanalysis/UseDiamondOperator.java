@@ -19,7 +19,6 @@ import org.openrewrite.*;
 import org.openrewrite.internal.ListUtils;
 import org.openrewrite.internal.lang.Nullable;
 import org.openrewrite.java.JavaIsoVisitor;
-import org.openrewrite.java.search.UsesJavaVersion;
 import org.openrewrite.java.tree.*;
 import org.openrewrite.marker.Markers;
 
@@ -57,7 +56,7 @@ public class UseDiamondOperator extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new UseDiamondOperatorVisitor();
+        return SourceFileFacts.check(facts -> facts.contains(J.NewClass.class), new UseDiamondOperatorVisitor());
     }
 
     private static class UseDiamondOperatorVisitor extends JavaIsoVisitor<ExecutionContext> {
@@ -75,7 +74,7 @@ public class UseDiamondOperator extends Recipe {
 
         @Override
         public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
-            java9 = new UsesJavaVersion<Integer>(9).visit(cu, 0) != cu;
+            java9 = SourceFileFacts.of(cu).getJavaVersion() >= 9;
             return super.visitCompilationUnit(cu, ctx);
         }
 
@@ -59,7 +59,7 @@ public class UseLambdaForFunctionalInterface extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.NewClass.class), new JavaVisitor<ExecutionContext>() {
             @Override
             public J visitNewClass(J.NewClass newClass, ExecutionContext ctx) {
                 J.NewClass n = (J.NewClass) super.visitNewClass(newClass, ctx);
@@ -70,16 +70,7 @@ public class UseLambdaForFunctionalInterface extends Recipe {
                     n.getClazz() != null) {
                     JavaType.@Nullable FullyQualified type = TypeUtils.asFullyQualified(n.getClazz().getType());
                     if (type != null && type.getKind().equals(JavaType.Class.Kind.Interface)) {
-                        JavaType.Method sam = null;
-                        for (JavaType.Method method : type.getMethods()) {
-                            if (method.hasFlags(Flag.Default) || method.hasFlags(Flag.Static)) {
-                                continue;
-                            }
-                            if (sam != null) {
-                                return n;
-                            }
-                            sam = method;
-                        }
+                        JavaType.Method sam = TypeHierarchy.of(ctx).getSingleAbstractMethod(type);
                         if (sam == null) {
                             return n;
                         }
@@ -118,24 +109,26 @@ public class UseLambdaForFunctionalInterface extends Recipe {
                         }
                         templateBuilder.append('}');
 
+                        Object event = RecipeEvents.begin(RecipeEvents.Kind.TEMPLATE_APPLY);
                         J.Lambda lambda = JavaTemplate.builder(templateBuilder.toString())
                                 .contextSensitive()
                                 .build()
                                 .apply(getCursor(), n.getCoordinates().replace());
+                        RecipeEvents.commit(event, templateBuilder.toString(), getCursor());
                         lambda = lambda.withType(typedInterface);
-                        lambda = (J.Lambda) new UnnecessaryParentheses().getVisitor()
-                                .visitNonNull(lambda, ctx, getCursor().getParentOrThrow());
+                        lambda = (J.Lambda) RecipeMetrics.nestedTraversalNonNull(new UnnecessaryParentheses().getVisitor(),
+                                lambda, ctx, getCursor().getParentOrThrow());
 
                         J.Block lambdaBody = methodDeclaration.getBody();
                         assert lambdaBody != null;
 
                         lambda = lambda.withBody(lambdaBody.withPrefix(Space.format(" ")));
 
-                        lambda = (J.Lambda) new LambdaBlockToExpression().getVisitor().visitNonNull(lambda, ctx, getCursor().getParentOrThrow());
+                        lambda = (J.Lambda) RecipeMetrics.nestedTraversalNonNull(new LambdaBlockToExpression().getVisitor(), lambda, ctx, getCursor().getParentOrThrow());
 
                         doAfterVisit(new RemoveUnusedImports().getVisitor());
 
-                        return autoFormat(lambda, ctx);
+                        return DeferredFormat.autoFormat(this, lambda, ctx);
                     }
                 }
                 return n;
@@ -167,7 +160,7 @@ public class UseLambdaForFunctionalInterface extends Recipe {
 
                 return "null";
             }
-        };
+        });
     }
 
     private static boolean usesThis(Cursor cursor) {
@@ -20,7 +20,6 @@ import org.openrewrite.Preconditions;
 import org.openrewrite.Recipe;
 import org.openrewrite.TreeVisitor;
 import org.openrewrite.internal.StringUtils;
-import org.openrewrite.java.JavaTemplate;
 import org.openrewrite.java.JavaVisitor;
 import org.openrewrite.java.MethodMatcher;
 import org.openrewrite.java.search.UsesType;
@@ -90,9 +89,7 @@ public class UseStandardCharset extends Recipe {
                         }
 
                         if (!StringUtils.isBlank(standardName)) {
-                            return JavaTemplate.builder("StandardCharsets." + standardName)
-                                    .imports("java.nio.charset.StandardCharsets")
-                                    .build()
+                            return JavaTemplates.contextFree("StandardCharsets." + standardName, "java.nio.charset.StandardCharsets")
                                     .apply(updateCursor(m), m.getCoordinates().replace());
                         }
                     }
@@ -67,7 +67,7 @@ public class UseStringReplace extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new UseStringReplaceVisitor();
+        return SourceFileFacts.check(facts -> facts.usesMethodNamed("replaceAll"), new UseStringReplaceVisitor());
     }
 
     private static class UseStringReplaceVisitor extends JavaVisitor<ExecutionContext> {
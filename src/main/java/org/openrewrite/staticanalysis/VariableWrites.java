@@ -0,0 +1,300 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.Cursor;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.lang.Nullable;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.tree.*;
+
+import java.util.*;
+
+/**
+ * The writes to variables in a source file, found in a single traversal and shared by the recipes that need to know
+ * whether a variable is reassigned or effectively final.
+ * <p>
+ * Writes are assignments, compound assignments, and increments or decrements. Local variables and parameters are
+ * matched by name within the scope that declares them, which also counts writes to shadowing variables. Fields are
+ * matched by their type attribution. The order of writes relative to {@code instanceof} checks is kept, to tell whether a
+ * variable is reassigned after it has been checked.
+ */
+final class VariableWrites {
+    private static final SourceFileCache<VariableWrites> CACHE = new SourceFileCache<>(VariableWrites::new);
+
+    /**
+     * The number of writes to each variable name, for each tree containing writes.
+     */
+    private final Map<Tree, Map<String, Integer>> writesByTree = new IdentityHashMap<>();
+
+    private final Map<JavaType.Variable, FieldWrites> fieldWrites = new HashMap<>();
+
+    /**
+     * The writes to each attributed variable, in the order they appear in the source file.
+     */
+    private final Map<JavaType.Variable, List<Write>> writesByVariable = new HashMap<>();
+
+    /**
+     * The position of each {@code instanceof} check among the writes.
+     */
+    private final Map<J.InstanceOf, Integer> instanceOfPositions = new IdentityHashMap<>();
+
+    private int position;
+
+    /**
+     * Variables that are declared {@code final}, or that are initialized where they are declared and never written to.
+     */
+    private final Set<JavaType.Variable> effectivelyFinal = new HashSet<>();
+
+    private VariableWrites(Tree tree) {
+        List<Declaration> declarations = new ArrayList<>();
+        new JavaIsoVisitor<Integer>() {
+            @Override
+            public J.VariableDeclarations visitVariableDeclarations(J.VariableDeclarations multiVariable, Integer p) {
+                Object parent = getCursor().getParentTreeCursor().getValue();
+                boolean isParameter = parent instanceof J.MethodDeclaration || parent instanceof J.Lambda.Parameters;
+                boolean isForLoopControl = parent instanceof J.ForLoop.Control;
+                boolean isFinal = multiVariable.hasModifier(J.Modifier.Type.Final);
+                for (J.VariableDeclarations.NamedVariable variable : multiVariable.getVariables()) {
+                    if (variable.getVariableType() != null) {
+                        declarations.add(new Declaration(variable.getDeclaringScope(getCursor()).getValue(),
+                                variable.getSimpleName(),
+                                variable.getVariableType(),
+                                isFinal,
+                                !isForLoopControl && (isParameter || variable.getInitializer() != null)));
+                    }
+                }
+                return super.visitVariableDeclarations(multiVariable, p);
+            }
+
+            @Override
+            public J.InstanceOf visitInstanceOf(J.InstanceOf instanceOf, Integer p) {
+                instanceOfPositions.put(instanceOf, position++);
+                return super.visitInstanceOf(instanceOf, p);
+            }
+
+            @Override
+            public J.Assignment visitAssignment(J.Assignment assignment, Integer p) {
+                recordWrite(assignment.getVariable(), getCursor());
+                return super.visitAssignment(assignment, p);
+            }
+
+            @Override
+            public J.AssignmentOperation visitAssignmentOperation(J.AssignmentOperation assignOp, Integer p) {
+                recordWrite(assignOp.getVariable(), getCursor());
+                return super.visitAssignmentOperation(assignOp, p);
+            }
+
+            @Override
+            public J.Unary visitUnary(J.Unary unary, Integer p) {
+                if (unary.getOperator().isModifying()) {
+                    recordWrite(unary.getExpression(), getCursor());
+                }
+                return super.visitUnary(unary, p);
+            }
+        }.visit(tree, 0);
+
+        for (Declaration declaration : declarations) {
+            if (declaration.isFinal ||
+                declaration.isInitialized && getAssignmentCount(declaration.scope, declaration.name) == 0) {
+                effectivelyFinal.add(declaration.type);
+            }
+        }
+    }
+
+    /**
+     * @param cursor any cursor in the source file being visited.
+     * @return the writes in the source file, which are computed once for each source file.
+     */
+    static VariableWrites of(Cursor cursor) {
+        JavaSourceFile sourceFile = cursor.firstEnclosing(JavaSourceFile.class);
+        if (sourceFile != null) {
+            return CACHE.get(sourceFile);
+        }
+        // a subtree visited on its own
+        Tree root = null;
+        for (Iterator<Object> it = cursor.getPath(); it.hasNext(); ) {
+            Object next = it.next();
+            if (next instanceof Tree) {
+                root = (Tree) next;
+            }
+        }
+        return new VariableWrites(Objects.requireNonNull(root));
+    }
+
+    /**
+     * @param scope a tree of the source file, such as the declaring scope of a variable.
+     * @param name  the name of a variable.
+     * @return the number of writes to a variable with that name anywhere in the tree.
+     */
+    int getAssignmentCount(Object scope, String name) {
+        Map<String, Integer> writes = writesByTree.get(scope);
+        return writes == null ? 0 : writes.getOrDefault(name, 0);
+    }
+
+    /**
+     * @param variable a local variable or parameter.
+     * @param cursor   a cursor pointing at the variable or its declarations.
+     * @return the number of writes to the variable within the scope that declares it.
+     */
+    int getAssignmentCount(J.VariableDeclarations.NamedVariable variable, Cursor cursor) {
+        return getAssignmentCount(variable.getDeclaringScope(cursor).getValue(), variable.getSimpleName());
+    }
+
+    /**
+     * @return {@code true} if the variable is declared {@code final}, or if it is initialized where it is declared,
+     * or is a parameter, and never written to.
+     */
+    boolean isEffectivelyFinal(@Nullable JavaType.Variable variable) {
+        return variable != null && effectivelyFinal.contains(variable);
+    }
+
+    /**
+     * @param instanceOf an {@code instanceof} check of the source file.
+     * @param variable   the variable being checked.
+     * @param scope      a tree enclosing the check, in which the variable is expected to keep its checked value.
+     * @return {@code true} if the variable is written to within the scope after the check, not counting writes within
+     * the check itself.
+     */
+    boolean isWrittenAfter(J.InstanceOf instanceOf, JavaType.Variable variable, Tree scope) {
+        List<Write> writes = writesByVariable.get(variable);
+        if (writes == null) {
+            return false;
+        }
+        // a check that is not part of the analyzed source file is compared as if it came before every write
+        int checked = instanceOfPositions.getOrDefault(instanceOf, -1);
+        for (Write write : writes) {
+            if (write.position > checked && isWithin(write.cursor, scope) && !isWithin(write.cursor, instanceOf)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isWithin(Cursor cursor, Tree tree) {
+        for (Iterator<Object> it = cursor.getPath(); it.hasNext(); ) {
+            if (it.next() == tree) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the writes to a field in a constructor or an initializer block, not counting those in a loop or lambda.
+     */
+    int getInitializingAssignmentCount(JavaType.Variable field) {
+        FieldWrites writes = fieldWrites.get(field);
+        return writes == null ? 0 : writes.initializing;
+    }
+
+    /**
+     * @return the writes to a field anywhere else.
+     */
+    int getOtherAssignmentCount(JavaType.Variable field) {
+        FieldWrites writes = fieldWrites.get(field);
+        return writes == null ? 0 : writes.other;
+    }
+
+    private void recordWrite(Expression target, Cursor cursor) {
+        if (target instanceof J.Identifier) {
+            J.Identifier identifier = (J.Identifier) target;
+            for (Iterator<Object> it = cursor.getPath(); it.hasNext(); ) {
+                Object next = it.next();
+                if (next instanceof Tree) {
+                    writesByTree.computeIfAbsent((Tree) next, t -> new HashMap<>())
+                            .merge(identifier.getSimpleName(), 1, Integer::sum);
+                }
+            }
+            recordVariableWrite(identifier.getFieldType(), cursor);
+            recordFieldWrite(identifier.getFieldType(), cursor);
+        } else if (target instanceof J.FieldAccess) {
+            // to support fields accessed like `this.member` or `A.this.member`
+            recordVariableWrite(((J.FieldAccess) target).getName().getFieldType(), cursor);
+            recordFieldWrite(((J.FieldAccess) target).getName().getFieldType(), cursor);
+        }
+    }
+
+    private void recordVariableWrite(@Nullable JavaType.Variable variable, Cursor cursor) {
+        if (variable != null) {
+            writesByVariable.computeIfAbsent(variable, v -> new ArrayList<>(1)).add(new Write(position++, cursor));
+        }
+    }
+
+    private void recordFieldWrite(@Nullable JavaType.Variable variable, Cursor cursor) {
+        if (variable != null && variable.getOwner() instanceof JavaType.FullyQualified) {
+            FieldWrites writes = fieldWrites.computeIfAbsent(variable, v -> new FieldWrites());
+            if (!isInLoopOrLambda(cursor) && isInConstructorOrInitializer(cursor)) {
+                writes.initializing++;
+            } else {
+                writes.other++;
+            }
+        }
+    }
+
+    private static boolean isInConstructorOrInitializer(Cursor cursor) {
+        Object parent = cursor.dropParentWhile(p -> p instanceof J.Block ||
+                                                    p instanceof JRightPadded ||
+                                                    p instanceof JLeftPadded)
+                .getValue();
+        return parent instanceof J.ClassDeclaration ||
+               parent instanceof J.MethodDeclaration && ((J.MethodDeclaration) parent).isConstructor();
+    }
+
+    private static boolean isInLoopOrLambda(Cursor cursor) {
+        Object parent = cursor.dropParentUntil(p -> p instanceof J.ClassDeclaration ||
+                                                    p instanceof J.MethodDeclaration ||
+                                                    p instanceof J.ForLoop ||
+                                                    p instanceof J.ForEachLoop ||
+                                                    p instanceof J.WhileLoop ||
+                                                    p instanceof J.DoWhileLoop ||
+                                                    p instanceof J.Lambda ||
+                                                    p == Cursor.ROOT_VALUE)
+                .getValue();
+        return !(parent instanceof J.ClassDeclaration || parent instanceof J.MethodDeclaration || parent == Cursor.ROOT_VALUE);
+    }
+
+    private static class Write {
+        final int position;
+        final Cursor cursor;
+
+        Write(int position, Cursor cursor) {
+            this.position = position;
+            this.cursor = cursor;
+        }
+    }
+
+    private static class FieldWrites {
+        int initializing;
+        int other;
+    }
+
+    private static class Declaration {
+        final Object scope;
+        final String name;
+        final JavaType.Variable type;
+        final boolean isFinal;
+        final boolean isInitialized;
+
+        Declaration(Object scope, String name, JavaType.Variable type, boolean isFinal, boolean isInitialized) {
+            this.scope = scope;
+            this.name = name;
+            this.type = type;
+            this.isFinal = isFinal;
+            this.isInitialized = isInitialized;
+        }
+    }
+}
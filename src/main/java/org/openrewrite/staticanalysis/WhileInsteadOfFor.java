@@ -50,7 +50,7 @@ public class WhileInsteadOfFor extends Recipe {
 
     @Override
     public TreeVisitor<?, ExecutionContext> getVisitor() {
-        return new JavaVisitor<ExecutionContext>() {
+        return SourceFileFacts.check(facts -> facts.contains(J.ForLoop.class), new JavaVisitor<ExecutionContext>() {
             final JavaTemplate whileLoop = JavaTemplate.builder("while(#{any(boolean)}) {}")
                     .contextSensitive()
                     .build();
@@ -67,6 +67,6 @@ public class WhileInsteadOfFor extends Recipe {
                 }
                 return super.visitForLoop(forLoop, ctx);
             }
-        };
+        });
     }
 }
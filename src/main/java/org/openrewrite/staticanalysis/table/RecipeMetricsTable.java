@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis.table;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreType;
+import lombok.Value;
+import org.openrewrite.Column;
+import org.openrewrite.DataTable;
+import org.openrewrite.Recipe;
+
+@JsonIgnoreType
+public class RecipeMetricsTable extends DataTable<RecipeMetricsTable.Row> {
+
+    public RecipeMetricsTable(Recipe recipe) {
+        super(recipe,
+                "Recipe metrics",
+                "Time and memory spent by each recipe on each source file.");
+    }
+
+    @Value
+    public static class Row {
+        @Column(displayName = "Source path",
+                description = "The source file that the recipe visited.")
+        String sourcePath;
+
+        @Column(displayName = "Recipe",
+                description = "The fully qualified name of the recipe.")
+        String recipe;
+
+        @Column(displayName = "Lines of code",
+                description = "The number of lines in the source file.")
+        int linesOfCode;
+
+        @Column(displayName = "Wall time (ns)",
+                description = "The elapsed time spent visiting the source file.")
+        long wallTimeNanos;
+
+        @Column(displayName = "CPU time (ns)",
+                description = "The CPU time spent by the visiting thread, or -1 if CPU time measurement is not supported by the JVM.")
+        long cpuTimeNanos;
+
+        @Column(displayName = "Allocated bytes",
+                description = "The bytes allocated by the visiting thread, or -1 if allocation measurement is not supported by the JVM.")
+        long allocatedBytes;
+
+        @Column(displayName = "Traversals",
+                description = "The number of visitor traversals of the whole source file started, including the recipe's own visitor.")
+        int traversals;
+
+        @Column(displayName = "Nested traversals",
+                description = "The number of visitors that the recipe ran by itself over the whole source file from within its own visitor.")
+        int nestedTraversals;
+
+        @Column(displayName = "Subtree traversals",
+                description = "The number of visitors that the recipe ran by itself over a part of the source file from within its own visitor.")
+        int subtreeTraversals;
+
+        @Column(displayName = "After visits queued",
+                description = "The number of visitors queued with `doAfterVisit`.")
+        int afterVisitsQueued;
+
+        @Column(displayName = "Nodes visited",
+                description = "The number of nodes walked by the recipe's own visitor, by the visitors it queued and by the visitors it ran by itself.")
+        long nodesVisited;
+    }
+}
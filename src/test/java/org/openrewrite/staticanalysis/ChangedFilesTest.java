@@ -0,0 +1,203 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+import org.openrewrite.test.RewriteTest;
+
+import java.nio.file.Paths;
+import java.util.List;
+
+import static org.openrewrite.java.Assertions.java;
+
+class ChangedFilesTest implements RewriteTest {
+
+    @Test
+    void onlyVisitChangedSourceFiles() {
+        rewriteRun(
+          spec -> spec.recipe(ChangedFiles.only(new RemoveExtraSemicolons(), List.of(Paths.get("A.java")))),
+          //language=java
+          java(
+            """
+              class A {
+                  void a() {
+                      int i = 0;;
+                  }
+              }
+              """,
+            """
+              class A {
+                  void a() {
+                      int i = 0;
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class B {
+                  void b() {
+                      int i = 0;;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void renameReferencesToMethodsDeclaredInChangedSourceFiles() {
+        rewriteRun(
+          spec -> spec.recipe(ChangedFiles.only(new MethodNameCasing(false, false), List.of(Paths.get("A.java")))),
+          //language=java
+          java(
+            """
+              class A {
+                  void Do_it() {
+                  }
+              }
+              """,
+            """
+              class A {
+                  void doIt() {
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class B {
+                  void b(A a) {
+                      a.Do_it();
+                  }
+              }
+              """,
+            """
+              class B {
+                  void b(A a) {
+                      a.doIt();
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class C {
+                  void Run_it() {
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void wrapTheRecipesOfACompositeRecipe() {
+        rewriteRun(
+          spec -> spec.recipe(ChangedFiles.only(new Composite(), List.of(Paths.get("A.java")))),
+          //language=java
+          java(
+            """
+              class A {
+                  void Do_it() {
+                      int i = 0;;
+                  }
+              }
+              """,
+            """
+              class A {
+                  void doIt() {
+                      int i = 0;
+                  }
+              }
+              """
+          ),
+          //language=java
+          java(
+            """
+              class B {
+                  void b(A a) {
+                      a.Do_it();;
+                  }
+              }
+              """,
+            """
+              class B {
+                  void b(A a) {
+                      a.doIt();;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void renameReferencesToPackagesDeclaredInChangedSourceFiles() {
+        rewriteRun(
+          spec -> spec.recipe(ChangedFiles.only(new LowercasePackage(), List.of(Paths.get("com/Changed/A.java")))),
+          //language=java
+          java(
+            """
+              package com.Changed;
+              public class A {}
+              """,
+            """
+              package com.changed;
+              public class A {}
+              """
+          ),
+          //language=java
+          java(
+            """
+              package com.Unchanged;
+              import com.Changed.A;
+              class B {
+                  A a;
+              }
+              """,
+            """
+              package com.Unchanged;
+              import com.changed.A;
+              class B {
+                  A a;
+              }
+              """
+          )
+        );
+    }
+
+    static class Composite extends Recipe {
+        @Override
+        public String getDisplayName() {
+            return "Composite";
+        }
+
+        @Override
+        public String getDescription() {
+            return "A scanning recipe and a recipe.";
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return List.of(new MethodNameCasing(false, false), new RemoveExtraSemicolons());
+        }
+    }
+}
@@ -0,0 +1,185 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class ClassParallelismTest implements RewriteTest {
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new FinalizePrivateFields());
+    }
+
+    @Test
+    void visitLargeCompilationUnitsPerTopLevelClass() {
+        rewriteRun(
+          java(
+            source("", ClassParallelism.MINIMUM_STATEMENTS),
+            source("final ", ClassParallelism.MINIMUM_STATEMENTS)
+          )
+        );
+    }
+
+    @Test
+    void visitSmallCompilationUnitsSerially() {
+        rewriteRun(
+          java(
+            source("", 4),
+            source("final ", 4)
+          )
+        );
+    }
+
+    @Test
+    void visitEachTopLevelClassOfALargeCompilationUnitWithAVisitorOfItsOwn() {
+        AtomicInteger compilationUnits = new AtomicInteger();
+        AtomicInteger visitors = new AtomicInteger();
+        rewriteRun(
+          spec -> spec.recipe(countVisitors(compilationUnits, visitors)),
+          java(source("final ", ClassParallelism.MINIMUM_STATEMENTS))
+        );
+        assertTrue(compilationUnits.get() > 0);
+        // one visitor for each of the two classes
+        assertEquals(2 * compilationUnits.get(), visitors.get());
+    }
+
+    @Test
+    void visitSmallCompilationUnitsWithASingleVisitor() {
+        AtomicInteger compilationUnits = new AtomicInteger();
+        AtomicInteger visitors = new AtomicInteger();
+        rewriteRun(
+          spec -> spec.recipe(countVisitors(compilationUnits, visitors)),
+          java(source("final ", 4))
+        );
+        assertTrue(compilationUnits.get() > 0);
+        assertEquals(compilationUnits.get(), visitors.get());
+    }
+
+    @Test
+    void removeUnusedPrivateFieldsPerTopLevelClass() {
+        rewriteRun(
+          spec -> spec.recipe(new RemoveUnusedPrivateFields()),
+          java(
+            usedAndUnusedFields(true, ClassParallelism.MINIMUM_STATEMENTS),
+            usedAndUnusedFields(false, ClassParallelism.MINIMUM_STATEMENTS)
+          )
+        );
+    }
+
+    @Test
+    void addSerialVersionUidPerMemberClassOfALoneTopLevelClass() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSerialVersionUidToSerializable()),
+          java(
+            serializableMemberClasses(false, ClassParallelism.MINIMUM_STATEMENTS),
+            serializableMemberClasses(true, ClassParallelism.MINIMUM_STATEMENTS)
+          )
+        );
+    }
+
+    @Test
+    void addSerialVersionUidPerTopLevelClass() {
+        rewriteRun(
+          spec -> spec.recipe(new AddSerialVersionUidToSerializable()),
+          java(
+            serializableClasses(false, ClassParallelism.MINIMUM_STATEMENTS),
+            serializableClasses(true, ClassParallelism.MINIMUM_STATEMENTS)
+          )
+        );
+    }
+
+    private static Recipe countVisitors(AtomicInteger compilationUnits, AtomicInteger visitors) {
+        return toRecipe(() -> ClassParallelism.perTopLevelClass(cursor -> {
+            compilationUnits.incrementAndGet();
+            return () -> {
+                visitors.incrementAndGet();
+                return new JavaIsoVisitor<>();
+            };
+        }));
+    }
+
+    private static String source(String modifier, int fields) {
+        StringBuilder src = new StringBuilder();
+        for (String className : new String[]{"A", "B"}) {
+            src.append("class ").append(className).append(" {\n");
+            for (int i = 0; i < fields / 2; i++) {
+                src.append("    private ").append(modifier).append("int f").append(i).append(" = ").append(i).append(";\n");
+            }
+            src.append("}\n");
+        }
+        return src.toString();
+    }
+
+    private static String usedAndUnusedFields(boolean withUnused, int fields) {
+        StringBuilder src = new StringBuilder();
+        for (String className : new String[]{"A", "B"}) {
+            src.append("class ").append(className).append(" {\n");
+            for (int i = 0; i < fields / 2; i++) {
+                if (withUnused || i % 2 == 0) {
+                    src.append("    private int f").append(i).append(" = ").append(i).append(";\n");
+                }
+            }
+            src.append("    int sum() {\n        return f0");
+            for (int i = 2; i < fields / 2; i += 2) {
+                src.append(" + f").append(i);
+            }
+            src.append(";\n    }\n}\n");
+        }
+        return src.toString();
+    }
+
+    private static String serializableMemberClasses(boolean withUid, int fields) {
+        StringBuilder src = new StringBuilder("import java.io.Serializable;\n\nclass A implements Serializable {\n");
+        serializableBody(src, "    ", withUid, fields / 2);
+        for (String className : new String[]{"B", "C"}) {
+            src.append("    static class ").append(className).append(" implements Serializable {\n");
+            serializableBody(src, "        ", withUid, fields / 4);
+            src.append("    }\n");
+        }
+        return src.append("}\n").toString();
+    }
+
+    private static String serializableClasses(boolean withUid, int fields) {
+        StringBuilder src = new StringBuilder("import java.io.Serializable;\n\n");
+        for (String className : new String[]{"A", "B"}) {
+            src.append("class ").append(className).append(" implements Serializable {\n");
+            serializableBody(src, "    ", withUid, fields / 2);
+            src.append("}\n");
+        }
+        return src.toString();
+    }
+
+    private static void serializableBody(StringBuilder src, String indent, boolean withUid, int fields) {
+        if (withUid) {
+            src.append(indent).append("private static final long serialVersionUID = 1;\n");
+        }
+        for (int i = 0; i < fields; i++) {
+            src.append(indent).append("private int f").append(i).append(";\n");
+        }
+    }
+}
@@ -448,4 +448,75 @@ class CombineSemanticallyEqualCatchBlocksTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void combineEqualCatchesAroundDifferentCatches() {
+        rewriteRun(
+          //language=java
+          java("class A extends RuntimeException {}"),
+          //language=java
+          java("class B extends RuntimeException {}"),
+          //language=java
+          java("class C extends RuntimeException {}"),
+          //language=java
+          java(
+            """
+              class Test {
+                  void method() {
+                      try {
+                      } catch (A ex) {
+                          a();
+                      } catch (B ex) {
+                          b();
+                      } catch (C ex) {
+                          a();
+                      }
+                  }
+                  void a() {}
+                  void b() {}
+              }
+              """,
+            """
+              class Test {
+                  void method() {
+                      try {
+                      } catch (A | C ex) {
+                          a();
+                      } catch (B ex) {
+                          b();
+                      }
+                  }
+                  void a() {}
+                  void b() {}
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void doNotCombineCatchesThatDifferOnlyInAnArgument() {
+        rewriteRun(
+          //language=java
+          java("class A extends RuntimeException {}"),
+          //language=java
+          java("class B extends RuntimeException {}"),
+          //language=java
+          java(
+            """
+              class Test {
+                  void method() {
+                      try {
+                      } catch (A ex) {
+                          log("a", ex);
+                      } catch (B ex) {
+                          log("b", ex);
+                      }
+                  }
+                  void log(String msg, Exception ex) {}
+              }
+              """
+          )
+        );
+    }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.marker.Marker;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class DeferredFormatTest {
+
+    private final ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+
+    private final J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+      .parse(ctx,
+        //language=java
+        """
+          class A {
+              void a() {
+                  int i=0;
+              }
+
+              void b() {
+                  int j=1;
+              }
+          }
+          """)
+      .map(J.CompilationUnit.class::cast)
+      .findFirst()
+      .orElseThrow();
+
+    @Test
+    void formatOnceTheVisitorIsDoneAndRemoveTheMarks() {
+        J.CompilationUnit formatted = (J.CompilationUnit) new FormatMethods().visitNonNull(cu, ctx);
+
+        assertThat(formatted.printAll()).contains("int i = 0;", "int j = 1;");
+        assertThat(needsFormatMarks(formatted)).isZero();
+    }
+
+    @Test
+    void removeTheMarksOfAVisitorReusedOnAnotherSubtree() {
+        FormatMethods formatMethods = new FormatMethods();
+        J.CompilationUnit formatted = (J.CompilationUnit) new JavaIsoVisitor<ExecutionContext>() {
+            @Override
+            public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+                return (J.MethodDeclaration) formatMethods.visitNonNull(method, ctx, getCursor().getParentOrThrow());
+            }
+        }.visitNonNull(cu, ctx);
+
+        assertThat(formatted.printAll()).contains("int i = 0;", "int j = 1;");
+        assertThat(needsFormatMarks(formatted)).isZero();
+    }
+
+    private static int needsFormatMarks(J.CompilationUnit cu) {
+        return new JavaIsoVisitor<AtomicInteger>() {
+            @Override
+            public J preVisit(J tree, AtomicInteger marks) {
+                for (Marker marker : tree.getMarkers().getMarkers()) {
+                    if ("NeedsFormat".equals(marker.getClass().getSimpleName())) {
+                        marks.incrementAndGet();
+                    }
+                }
+                return tree;
+            }
+        }.reduce(cu, new AtomicInteger()).get();
+    }
+
+    private static class FormatMethods extends JavaIsoVisitor<ExecutionContext> {
+        @Override
+        public J.MethodDeclaration visitMethodDeclaration(J.MethodDeclaration method, ExecutionContext ctx) {
+            return DeferredFormat.autoFormat(this, super.visitMethodDeclaration(method, ctx), ctx);
+        }
+    }
+}
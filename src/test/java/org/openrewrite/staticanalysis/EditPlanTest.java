@@ -0,0 +1,163 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.MethodMatcher;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+import static org.openrewrite.test.RewriteTest.toRecipe;
+
+class EditPlanTest implements RewriteTest {
+    private static final MethodMatcher PRINTLN = new MethodMatcher("java.io.PrintStream println(..)");
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(toRecipe(() -> new JavaIsoVisitor<>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                J.MethodInvocation m = super.visitMethodInvocation(method, ctx);
+                if (PRINTLN.matches(m)) {
+                    EditPlan.of(this).delete(m);
+                }
+                return m;
+            }
+
+            @Override
+            public J.Literal visitLiteral(J.Literal literal, ExecutionContext ctx) {
+                if (literal.getValue() instanceof Integer && (Integer) literal.getValue() > 0) {
+                    EditPlan.of(this).replace(literal, (l, parent, p) -> ((J.Literal) l).withValue(0).withValueSource("0"));
+                }
+                return literal;
+            }
+
+            @Override
+            public J.Try visitTry(J.Try tryable, ExecutionContext ctx) {
+                J.Try t = super.visitTry(tryable, ctx);
+                if (t.getCatches().size() > 1) {
+                    EditPlan.of(this).remove(t.getCatches().get(t.getCatches().size() - 1));
+                }
+                return t;
+            }
+        }));
+    }
+
+    @Test
+    void appliesEveryPlannedEdit() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  int test() {
+                      int a = 1;
+                      System.out.println(a);
+                      try {
+                          a = 2;
+                          System.out.println(a);
+                      } catch (IllegalStateException e) {
+                          a = 3;
+                      } catch (RuntimeException e) {
+                          a = 4;
+                      }
+                      return a;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  int test() {
+                      int a = 0;
+                      try {
+                          a = 0;
+                      } catch (IllegalStateException e) {
+                          a = 0;
+                      }
+                      return a;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void runsAfterVisitsOfAPlanWithNoOtherEdit() {
+        AtomicInteger passes = new AtomicInteger();
+        rewriteRun(
+          spec -> spec.recipe(toRecipe(() -> new JavaIsoVisitor<>() {
+              @Override
+              public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, ExecutionContext ctx) {
+                  if (PRINTLN.matches(method)) {
+                      EditPlan.of(this).doAfterVisitOnce(new ZeroLiterals(passes));
+                  }
+                  return super.visitMethodInvocation(method, ctx);
+              }
+          })),
+          //language=java
+          java(
+            """
+              class Test {
+                  void test() {
+                      System.out.println(1);
+                      System.out.println(2);
+                  }
+              }
+              """,
+            """
+              class Test {
+                  void test() {
+                      System.out.println(0);
+                      System.out.println(0);
+                  }
+              }
+              """
+          )
+        );
+        // once for the change, once for the cycle that confirms nothing else changes
+        assertThat(passes.get()).isEqualTo(2);
+    }
+
+    private static class ZeroLiterals extends JavaIsoVisitor<ExecutionContext> {
+        private final AtomicInteger passes;
+
+        ZeroLiterals(AtomicInteger passes) {
+            this.passes = passes;
+        }
+
+        @Override
+        public J.CompilationUnit visitCompilationUnit(J.CompilationUnit cu, ExecutionContext ctx) {
+            passes.incrementAndGet();
+            return super.visitCompilationUnit(cu, ctx);
+        }
+
+        @Override
+        public J.Literal visitLiteral(J.Literal literal, ExecutionContext ctx) {
+            if (literal.getValue() instanceof Integer && (Integer) literal.getValue() > 0) {
+                return literal.withValue(0).withValueSource("0");
+            }
+            return literal;
+        }
+    }
+}
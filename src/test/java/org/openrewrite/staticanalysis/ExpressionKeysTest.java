@@ -0,0 +1,68 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.Statement;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExpressionKeysTest {
+
+    private final J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+      .parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+        //language=java
+        """
+          package com . example /* comment */ .api;
+
+          class A {
+              StringBuilder builder;
+
+              void names() {
+                  builder = null;
+                  this . builder = null;
+                  new StringBuilder().append("a");
+              }
+          }
+          """)
+      .map(J.CompilationUnit.class::cast)
+      .findFirst()
+      .orElseThrow();
+
+    @Test
+    void packageName() {
+        assertThat(ExpressionKeys.nameOf(cu.getPackageDeclaration().getExpression())).isEqualTo("com.example.api");
+    }
+
+    @Test
+    void variables() {
+        assertThat(ExpressionKeys.nameOf(((J.Assignment) statement(0)).getVariable())).isEqualTo("builder");
+        assertThat(ExpressionKeys.nameOf(((J.Assignment) statement(1)).getVariable())).isEqualTo("this.builder");
+    }
+
+    @Test
+    void notAName() {
+        assertThat(ExpressionKeys.nameOf(((J.MethodInvocation) statement(2)).getSelect())).isNull();
+    }
+
+    private Statement statement(int index) {
+        J.MethodDeclaration names = (J.MethodDeclaration) cu.getClasses().get(0).getBody().getStatements().get(1);
+        return names.getBody().getStatements().get(index);
+    }
+}
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.DocumentExample;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.config.Environment;
+import org.openrewrite.config.RecipeDescriptor;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.JavaSourceFile;
+import org.openrewrite.staticanalysis.table.RecipeMetricsTable;
+import org.openrewrite.test.RecipeSpec;
+import org.openrewrite.test.RewriteTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Objects.requireNonNull;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.Assertions.java;
+
+@SuppressWarnings({"StringOperationCanBeSimplified", "CachedNumberConstructorCall", "SizeReplaceableByIsEmpty", "IndexOfReplaceableByContains"})
+class FusedRecipeTest implements RewriteTest {
+
+    //language=java
+    private static final String SOURCE = """
+      class Test {
+          String test(String str) {
+              return String.valueOf(str.toString().indexOf("str") > -1);
+          }
+      }
+      """;
+
+    @Override
+    public void defaults(RecipeSpec spec) {
+        spec.recipe(new FusedRecipe(List.of(
+          "org.openrewrite.staticanalysis.IndexOfReplaceableByContains",
+          "org.openrewrite.staticanalysis.IsEmptyCallOnCollections",
+          "org.openrewrite.staticanalysis.NoToStringOnStringType",
+          "org.openrewrite.staticanalysis.PrimitiveWrapperClassConstructorToValueOf"
+        )));
+    }
+
+    @DocumentExample
+    @Test
+    void appliesAllRecipesInOneTraversal() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              import java.util.ArrayList;
+import java.util.List;
+
+              class Test {
+                  boolean test(List<String> list, String str) {
+                      Integer i = new Integer(1);
+                      String s = str.toString();
+                      return list.size() == 0 || str.toString().indexOf("str") > -1;
+                  }
+              }
+              """,
+            """
+              import java.util.ArrayList;
+import java.util.List;
+
+              class Test {
+                  boolean test(List<String> list, String str) {
+                      Integer i = Integer.valueOf(1);
+                      String s = str;
+                      return list.isEmpty() || str.contains("str");
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void skipsRecipesWhosePreconditionIsNotMet() {
+        //language=java
+        String source = """
+          class Test {
+              String test(String str) {
+                  return str.toString();
+              }
+          }
+          """;
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        JavaSourceFile cu = (JavaSourceFile) JavaParser.fromJavaVersion().build().parse(ctx, source).findFirst().orElseThrow();
+        FusibleVisitor indexOf = new IndexOfReplaceableByContains().getFusibleVisitor();
+        FusibleVisitor isEmpty = new IsEmptyCallOnCollections().getFusibleVisitor();
+        FusibleVisitor toString = new NoToStringOnStringType().getFusibleVisitor();
+
+        assertThat(FusedRecipe.applicableVisitors(List.of(indexOf, isEmpty, toString), cu, ctx)).containsExactly(toString);
+
+        rewriteRun(
+          //language=java
+          java(
+            source,
+            """
+              class Test {
+                  String test(String str) {
+                      return str;
+                  }
+              }
+              """
+          )
+        );
+    }
+
+    @Test
+    void onlyFusibleRecipes() {
+        assertThat(new FusedRecipe(List.of("org.openrewrite.staticanalysis.NoToStringOnStringType")).validate().isValid()).isTrue();
+        assertThat(new FusedRecipe(List.of("org.openrewrite.staticanalysis.FallThrough")).validate().isValid()).isFalse();
+    }
+
+    @Test
+    void attributesChangesToTheFusedRecipesThatMadeThem() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx, SOURCE).collect(Collectors.toList());
+
+        RecipeRun run = new FusedRecipe(List.of(
+          "org.openrewrite.staticanalysis.IsEmptyCallOnCollections",
+          "org.openrewrite.staticanalysis.NoToStringOnStringType"
+        )).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+
+        List<String> recipes = new ArrayList<>();
+        for (RecipeDescriptor recipe : run.getChangeset().getAllResults().get(0).getRecipeDescriptorsThatMadeChanges()) {
+            addRecipeNames(recipe, recipes);
+        }
+        assertThat(recipes)
+          .contains(FusedRecipe.class.getName(), NoToStringOnStringType.class.getName())
+          .doesNotContain(IsEmptyCallOnCollections.class.getName());
+    }
+
+    @Test
+    void commonStaticAnalysisFusesTheFusibleRecipesThatFollowEachOther() {
+        Recipe commonStaticAnalysis = Environment.builder()
+          .scanRuntimeClasspath("org.openrewrite.staticanalysis")
+          .build()
+          .activateRecipes("org.openrewrite.staticanalysis.CommonStaticAnalysis");
+        Recipe unfused = new Unfused(commonStaticAnalysis);
+
+        ExecutionContext fusedCtx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        RecipeMetrics fusedMetrics = RecipeMetrics.enable(fusedCtx);
+        List<String> fused = run(commonStaticAnalysis, fusedCtx);
+        ExecutionContext unfusedCtx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        RecipeMetrics unfusedMetrics = RecipeMetrics.enable(unfusedCtx);
+        List<String> expected = run(unfused, unfusedCtx);
+
+        assertThat(fused).isEqualTo(expected).isNotEmpty();
+        assertThat(traversals(fusedMetrics)).isLessThan(traversals(unfusedMetrics));
+    }
+
+    private static List<String> run(Recipe recipe, ExecutionContext ctx) {
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx, SOURCE).collect(Collectors.toList());
+        return RecipeMetrics.instrument(recipe).run(new InMemoryLargeSourceSet(sourceFiles), ctx)
+          .getChangeset().getAllResults().stream()
+          .map(result -> requireNonNull(result.getAfter()).printAll())
+          .collect(Collectors.toList());
+    }
+
+    private static long traversals(RecipeMetrics metrics) {
+        return metrics.getRows().stream().mapToLong(RecipeMetricsTable.Row::getTraversals).sum();
+    }
+
+    private static void addRecipeNames(RecipeDescriptor recipe, List<String> names) {
+        names.add(recipe.getName());
+        for (RecipeDescriptor child : recipe.getRecipeList()) {
+            addRecipeNames(child, names);
+        }
+    }
+
+    /**
+     * A recipe list like that of the given recipe, with each fused recipe replaced by the recipes it fuses.
+     */
+    static class Unfused extends Recipe {
+        private final List<Recipe> recipeList = new ArrayList<>();
+
+        Unfused(Recipe recipe) {
+            for (Recipe child : recipe.getRecipeList()) {
+                if (child instanceof FusedRecipe) {
+                    for (String fused : ((FusedRecipe) child).getRecipes()) {
+                        recipeList.add(newRecipe(fused));
+                    }
+                } else {
+                    recipeList.add(child);
+                }
+            }
+        }
+
+        @Override
+        public String getDisplayName() {
+            return "Unfused";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Runs every recipe in a traversal of its own.";
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return recipeList;
+        }
+
+        private static Recipe newRecipe(String name) {
+            try {
+                return (Recipe) Class.forName(name).getDeclaredConstructor().newInstance();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+}
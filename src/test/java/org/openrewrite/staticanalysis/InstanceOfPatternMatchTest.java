@@ -72,6 +72,68 @@ class InstanceOfPatternMatchTest implements RewriteTest {
             );
         }
 
+        @Test
+        void variableReassignedAfterCheck() {
+            rewriteRun(
+              version(
+                //language=java
+                java(
+                  """
+                    public class A {
+                        void test(Object o, Object other) {
+                            if (o instanceof String) {
+                                o = other;
+                                System.out.println(((String) o).length());
+                            }
+                        }
+                    }
+                    """
+                ), 17
+              )
+            );
+        }
+
+        @Test
+        void otherVariableWithSameNameReassigned() {
+            rewriteRun(
+              version(
+                //language=java
+                java(
+                  """
+                    public class A {
+                        void test(Object o) {
+                            if (o instanceof String) {
+                                Runnable r = new Runnable() {
+                                    public void run() {
+                                        Object o = null;
+                                        o = "x";
+                                    }
+                                };
+                                System.out.println(((String) o).length());
+                            }
+                        }
+                    }
+                    """,
+                  """
+                    public class A {
+                        void test(Object o) {
+                            if (o instanceof String string) {
+                                Runnable r = new Runnable() {
+                                    public void run() {
+                                        Object o = null;
+                                        o = "x";
+                                    }
+                                };
+                                System.out.println(string.length());
+                            }
+                        }
+                    }
+                    """
+                ), 17
+              )
+            );
+        }
+
         @Test
         void multipleCasts() {
             rewriteRun(
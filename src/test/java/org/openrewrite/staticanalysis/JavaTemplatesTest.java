@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.java.JavaTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JavaTemplatesTest {
+
+    @Test
+    void sameTemplateIsBuiltOnce() {
+        long hits = JavaTemplates.getHits();
+        long misses = JavaTemplates.getMisses();
+
+        JavaTemplate template = JavaTemplates.contextSensitive("#{}::cachedOnce");
+        assertThat(JavaTemplates.contextSensitive("#{}::cachedOnce")).isSameAs(template);
+
+        assertThat(JavaTemplates.getHits() - hits).isGreaterThanOrEqualTo(1);
+        assertThat(JavaTemplates.getMisses() - misses).isGreaterThanOrEqualTo(1);
+        assertThat(JavaTemplates.getHitRate()).isBetween(0.0, 1.0);
+    }
+
+    @Test
+    void keyIncludesContextSensitivityAndImports() {
+        JavaTemplate template = JavaTemplates.contextFree("StandardCharsets.UTF_8", "java.nio.charset.StandardCharsets");
+        assertThat(JavaTemplates.contextSensitive("StandardCharsets.UTF_8", "java.nio.charset.StandardCharsets"))
+          .isNotSameAs(template);
+        assertThat(JavaTemplates.contextFree("StandardCharsets.UTF_8")).isNotSameAs(template);
+    }
+
+    @Test
+    void leastRecentlyUsedTemplatesAreEvicted() {
+        JavaTemplate first = JavaTemplates.contextFree("evicted()");
+        for (int i = 0; i < JavaTemplates.MAXIMUM_SIZE; i++) {
+            JavaTemplates.contextFree("filler" + i + "()");
+        }
+        assertThat(JavaTemplates.size()).isLessThanOrEqualTo(JavaTemplates.MAXIMUM_SIZE);
+        assertThat(JavaTemplates.contextFree("evicted()")).isNotSameAs(first);
+    }
+}
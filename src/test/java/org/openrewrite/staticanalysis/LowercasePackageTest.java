@@ -52,4 +52,38 @@ class LowercasePackageTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void changeReferencesInOtherPackages() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              package com.UPPERCASE;
+              public class A {}
+              """,
+            """
+              package com.uppercase;
+              public class A {}
+              """
+          ),
+          //language=java
+          java(
+            """
+              package com.lowercase;
+              import com.UPPERCASE.A;
+              class B {
+                  A a;
+              }
+              """,
+            """
+              package com.lowercase;
+              import com.uppercase.A;
+              class B {
+                  A a;
+              }
+              """
+          )
+        );
+    }
 }
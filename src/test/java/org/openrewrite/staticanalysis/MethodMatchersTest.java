@@ -0,0 +1,98 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MethodMatchersTest {
+
+    private final List<J.MethodInvocation> invocations = new ArrayList<>();
+
+    MethodMatchersTest() {
+        J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+          .parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+            //language=java
+            """
+              import java.util.ArrayList;
+              import java.util.List;
+              import java.util.Map;
+
+              class Test {
+                  void method(List<String> list, ArrayList<String> arrayList, Map.Entry<String, String> entry) {
+                      String.format("%s", "a");
+                      list.add("a");
+                      arrayList.add("b");
+                      list.isEmpty();
+                      entry.getKey();
+                  }
+              }
+              """)
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+        new JavaIsoVisitor<List<J.MethodInvocation>>() {
+            @Override
+            public J.MethodInvocation visitMethodInvocation(J.MethodInvocation method, List<J.MethodInvocation> found) {
+                found.add(method);
+                return method;
+            }
+        }.visit(cu, invocations);
+    }
+
+    @Test
+    void matchersAreCompiledOnce() {
+        assertThat(MethodMatchers.of("java.lang.String format(..)"))
+          .isSameAs(MethodMatchers.of("java.lang.String format(..)"))
+          .isNotSameAs(MethodMatchers.of("java.lang.String format(..)", true));
+    }
+
+    @Test
+    void findsTheMatchingSignature() {
+        MethodMatchers index = MethodMatchers.index("java.lang.String format(..)", "java.util.List add(..)");
+        assertThat(index.find(invocations.get(0))).isSameAs(MethodMatchers.of("java.lang.String format(..)"));
+        assertThat(index.find(invocations.get(1))).isSameAs(MethodMatchers.of("java.util.List add(..)"));
+        assertThat(index.matches(invocations.get(2))).isFalse();
+        assertThat(index.matches(invocations.get(3))).isFalse();
+    }
+
+    @Test
+    void overridingMatchersMatchSubtypes() {
+        MethodMatchers index = MethodMatchers.indexOverriding("java.util.List add(..)");
+        assertThat(index.matches(invocations.get(1))).isTrue();
+        assertThat(index.matches(invocations.get(2))).isTrue();
+    }
+
+    @Test
+    void wildcardNames() {
+        MethodMatchers index = MethodMatchers.index("java.util.List is*()");
+        assertThat(index.matches(invocations.get(3))).isTrue();
+    }
+
+    @Test
+    void nestedTypesWithEitherSeparator() {
+        assertThat(MethodMatchers.index("java.util.Map.Entry getKey()").matches(invocations.get(4))).isTrue();
+        assertThat(MethodMatchers.index("java.util.Map$Entry getKey()").matches(invocations.get(4))).isTrue();
+    }
+}
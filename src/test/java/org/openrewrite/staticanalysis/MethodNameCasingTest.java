@@ -610,4 +610,82 @@ class MethodNameCasingTest implements RewriteTest {
           )
         );
     }
+
+    @Test
+    void renameDeclarationsAndReferencesAcrossSourceFiles() {
+        rewriteRun(
+          srcMainJava(
+            //language=java
+            java(
+              """
+                package abc;
+                class A {
+                    void Do_it() {}
+                    int Count_all() { return 0; }
+                }
+                """,
+              """
+                package abc;
+                class A {
+                    void doIt() {}
+                    int countAll() { return 0; }
+                }
+                """
+            ),
+            //language=java
+            java(
+              """
+                package abc;
+                class B extends A {
+                    @Override
+                    void Do_it() {}
+                }
+                """,
+              """
+                package abc;
+                class B extends A {
+                    @Override
+                    void doIt() {}
+                }
+                """
+            ),
+            //language=java
+            java(
+              """
+                package abc;
+                import java.util.function.Supplier;
+                class C {
+                    void run(A a, B b) {
+                        a.Do_it();
+                        b.Do_it();
+                        Supplier<Integer> s = a::Count_all;
+                    }
+                }
+                """,
+              """
+                package abc;
+                import java.util.function.Supplier;
+                class C {
+                    void run(A a, B b) {
+                        a.doIt();
+                        b.doIt();
+                        Supplier<Integer> s = a::countAll;
+                    }
+                }
+                """
+            ),
+            //language=java
+            java(
+              """
+                package abc;
+                class D {
+                    void run() {
+                        toString();
+                    }
+                }
+                """
+            )
+          )
+        );
+    }
 }
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.style.Checkstyle;
+import org.openrewrite.style.NamedStyles;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openrewrite.java.JavaParser.fromJavaVersion;
+
+class NoChangeCacheTest {
+
+    //language=java
+    private final String[] sources = {
+      """
+        class A {
+            void a() {
+                int i = 0;
+            }
+        }
+        """,
+      """
+        class B {
+            void b() {
+                int i = 0;;
+            }
+        }
+        """
+    };
+
+    @Test
+    void skipSourceFilesThatWereNotChangedBefore(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("no-change.cache");
+
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            assertThat(changedSourceFiles(cache.wrap(new RemoveExtraSemicolons()))).containsExactly("B.java");
+            assertThat(cache.getHits()).isZero();
+        }
+        assertThat(file).exists();
+
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            assertThat(changedSourceFiles(cache.wrap(new RemoveExtraSemicolons()))).containsExactly("B.java");
+            assertThat(cache.getHits()).isPositive();
+            assertThat(cache.getMisses()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void entriesAreSpecificToTheLibraryVersion(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("no-change.cache");
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            changedSourceFiles(cache.wrap(new RemoveExtraSemicolons()));
+        }
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.1")) {
+            changedSourceFiles(cache.wrap(new RemoveExtraSemicolons()));
+            assertThat(cache.getHits()).isZero();
+        }
+    }
+
+    @Test
+    void entriesAreSpecificToTheStylesOfASourceFile(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("no-change.cache");
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            changedSourceFiles(cache.wrap(new HiddenField()));
+        }
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            changedSourceFiles(cache.wrap(new HiddenField()), fromJavaVersion().styles(singletonList(
+              new NamedStyles(Tree.randomId(), "test", "test", "test", emptySet(),
+                singletonList(Checkstyle.hiddenFieldStyle().withIgnoreConstructorParameter(false))))));
+            assertThat(cache.getHits()).isZero();
+        }
+    }
+
+    @Test
+    void replaceTheCacheFileItWasOpenedFrom(@TempDir Path dir) throws IOException {
+        Path file = dir.resolve("no-change.cache");
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            changedSourceFiles(cache.wrap(new RemoveExtraSemicolons()));
+        }
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            changedSourceFiles(cache.wrap(new EmptyBlock()));
+        }
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            changedSourceFiles(cache.wrap(new RemoveExtraSemicolons()));
+            changedSourceFiles(cache.wrap(new EmptyBlock()));
+            // only the source file that RemoveExtraSemicolons changes
+            assertThat(cache.getMisses()).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void ignoreUnreadableCacheFile(@TempDir Path dir) throws IOException {
+        Path file = Files.write(dir.resolve("no-change.cache"), new byte[]{1, 2, 3});
+        try (NoChangeCache cache = NoChangeCache.open(file, "1.0.0")) {
+            assertThat(changedSourceFiles(cache.wrap(new RemoveExtraSemicolons()))).containsExactly("B.java");
+            assertThat(cache.getHits()).isZero();
+        }
+    }
+
+    private List<String> changedSourceFiles(Recipe recipe) {
+        return changedSourceFiles(recipe, fromJavaVersion());
+    }
+
+    private List<String> changedSourceFiles(Recipe recipe, JavaParser.Builder<?, ?> parser) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = parser.build().parse(ctx, sources).collect(Collectors.toList());
+        return recipe.run(new InMemoryLargeSourceSet(sourceFiles), ctx).getChangeset().getAllResults().stream()
+          .map(result -> result.getBefore().getSourcePath().toString())
+          .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.ScanningRecipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.Tree;
+import org.openrewrite.TreeVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.openrewrite.java.JavaParser.fromJavaVersion;
+
+/**
+ * Asserts that a recipe produces the same results when its visitors edit the source files of a corpus concurrently as when
+ * they edit them one after the other.
+ * <p>
+ * Like the recipe scheduler, the harness asks a recipe for a new visitor for every source file, and shares a single
+ * accumulator and {@link ExecutionContext} between all source files. A recipe with a recipe list is run as its leaf
+ * recipes, in order, within a single cycle. Scanning recipes scan the whole corpus before any of it is edited.
+ */
+public final class ParallelDeterminism {
+
+    private ParallelDeterminism() {
+    }
+
+    public static void assertDeterministic(Recipe recipe, int threads, String... sources) {
+        List<String> serial = run(recipe, 1, sources);
+        for (int attempt = 0; attempt < 3; attempt++) {
+            List<String> parallel = run(recipe, threads, sources);
+            for (int i = 0; i < sources.length; i++) {
+                assertEquals(serial.get(i), parallel.get(i),
+                  String.format("%s edited source file %d differently on %d threads", recipe.getName(), i, threads));
+            }
+        }
+    }
+
+    static List<String> run(Recipe recipe, int threads, String... sources) {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = fromJavaVersion().build().parse(ctx, sources).collect(Collectors.toList());
+        assertEquals(sources.length, sourceFiles.size());
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (Recipe leaf : leaves(recipe, new ArrayList<>())) {
+                sourceFiles = edit(leaf, sourceFiles, ctx, pool);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        return sourceFiles.stream().map(SourceFile::printAll).collect(Collectors.toList());
+    }
+
+    private static List<Recipe> leaves(Recipe recipe, List<Recipe> leaves) {
+        if (recipe.getRecipeList().isEmpty()) {
+            leaves.add(recipe);
+        } else {
+            for (Recipe r : recipe.getRecipeList()) {
+                leaves(r, leaves);
+            }
+        }
+        return leaves;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<SourceFile> edit(Recipe recipe, List<SourceFile> sourceFiles, ExecutionContext ctx, ExecutorService pool) {
+        if (recipe instanceof ScanningRecipe) {
+            ScanningRecipe<Object> scanning = (ScanningRecipe<Object>) recipe;
+            Object acc = scanning.getInitialValue(ctx);
+            forEach(sourceFiles, sourceFile -> visit(scanning.getScanner(acc), sourceFile, ctx), pool);
+            return forEach(sourceFiles, sourceFile -> visit(scanning.getVisitor(acc), sourceFile, ctx), pool);
+        }
+        return forEach(sourceFiles, sourceFile -> visit(recipe.getVisitor(), sourceFile, ctx), pool);
+    }
+
+    private static SourceFile visit(TreeVisitor<?, ExecutionContext> visitor, SourceFile sourceFile, ExecutionContext ctx) {
+        if (!visitor.isAcceptable(sourceFile, ctx)) {
+            return sourceFile;
+        }
+        Tree after = visitor.visit(sourceFile, ctx);
+        return after instanceof SourceFile ? (SourceFile) after : sourceFile;
+    }
+
+    private static List<SourceFile> forEach(List<SourceFile> sourceFiles, Edit edit, ExecutorService pool) {
+        List<Future<SourceFile>> edited = new ArrayList<>(sourceFiles.size());
+        for (SourceFile sourceFile : sourceFiles) {
+            edited.add(pool.submit(() -> edit.apply(sourceFile)));
+        }
+        List<SourceFile> results = new ArrayList<>(sourceFiles.size());
+        for (Future<SourceFile> future : edited) {
+            try {
+                results.add(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+        return results;
+    }
+
+    private interface Edit {
+        SourceFile apply(SourceFile sourceFile);
+    }
+}
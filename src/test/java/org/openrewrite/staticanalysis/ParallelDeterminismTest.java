@@ -0,0 +1,55 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.test.RewriteTest;
+
+import static org.openrewrite.staticanalysis.ParallelDeterminism.assertDeterministic;
+
+/**
+ * Runs recipes that keep state while visiting on several threads at once, and expects the same results as a serial run.
+ */
+class ParallelDeterminismTest {
+    private static final int THREADS = 8;
+
+    private final String[] corpus = new StressCorpusGenerator(StressCorpusGenerator.Shape.SMALL, 42).generate(32);
+
+    @Test
+    void commonStaticAnalysis() {
+        assertDeterministic(RewriteTest.fromRuntimeClasspath("org.openrewrite.staticanalysis.CommonStaticAnalysis"),
+          THREADS, corpus);
+    }
+
+    @Test
+    void finalClass() {
+        assertDeterministic(new FinalClass(), THREADS, corpus);
+    }
+
+    @Test
+    void lowercasePackage() {
+        String[] sources = new String[THREADS * 2];
+        for (int i = 0; i < sources.length; i++) {
+            //language=java
+            sources[i] = String.format("""
+              package com.Example.Pkg%d;
+              class A%d {
+              }
+              """, i % 4, i);
+        }
+        assertDeterministic(new LowercasePackage(), THREADS, sources);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class RecipeEventsTest {
+
+    @Test
+    void emitsNestedTraversalEvents(@TempDir Path tempDir) throws Exception {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx,
+          //language=java
+          """
+            class Test {
+                void test() {
+                    if (true) {
+                        System.out.println("hello");
+                    }
+                }
+            }
+            """
+        ).collect(Collectors.toList());
+
+        Path dump = tempDir.resolve("recipe-events.jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.openrewrite.staticanalysis.NestedTraversal");
+            recording.enable("org.openrewrite.staticanalysis.AutoFormat");
+            recording.start();
+            new SimplifyConstantIfBranchExecution().run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+            recording.stop();
+            recording.dump(dump);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(dump);
+        List<RecordedEvent> traversals = events.stream()
+          .filter(e -> e.getEventType().getName().equals("org.openrewrite.staticanalysis.NestedTraversal"))
+          .collect(Collectors.toList());
+        assertFalse(traversals.isEmpty());
+        assertEquals("Test.java", traversals.get(0).getString("sourcePath"));
+        assertFalse(events.stream()
+          .noneMatch(e -> e.getEventType().getName().equals("org.openrewrite.staticanalysis.AutoFormat")));
+    }
+}
@@ -0,0 +1,192 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.Result;
+import org.openrewrite.RecipeRun;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.staticanalysis.table.RecipeMetricsTable;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RecipeMetricsTest {
+
+    //language=java
+    private static final String SOURCE = """
+      class Test {
+          int method(int i) {
+              switch (i) {
+                  case 0:
+                      i++;
+                  case 1:
+                      i++;
+                  case 2:
+                      i++;
+                      break;
+              }
+              return i;
+          }
+      }
+      """;
+
+    @Test
+    void recordsMetricsPerRecipeAndSourceFile() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx, SOURCE).collect(Collectors.toList());
+
+        RecipeMetrics metrics = RecipeMetrics.enable(ctx);
+        RecipeMetrics.instrument(new FallThrough()).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+
+        List<RecipeMetricsTable.Row> rows = metrics.getRows().stream()
+          .filter(row -> row.getRecipe().equals(FallThrough.class.getName()))
+          .collect(Collectors.toList());
+        assertFalse(rows.isEmpty());
+        RecipeMetricsTable.Row first = rows.get(0);
+        assertEquals("Test.java", first.getSourcePath());
+        assertTrue(first.getWallTimeNanos() > 0);
+        assertEquals(14, first.getLinesOfCode());
+        assertEquals(2, first.getAfterVisitsQueued());
+        // one search of a case for a break per case that is not the last
+        assertEquals(0, first.getNestedTraversals());
+        assertEquals(2, first.getSubtreeTraversals());
+        assertEquals(3, first.getTraversals());
+        // three walks of the whole source file, and two walks of a case
+        int nodes = countNodes(sourceFiles.get(0));
+        assertTrue(first.getNodesVisited() > 3L * nodes);
+        assertTrue(first.getNodesVisited() < 5L * nodes);
+        assertTrue(metrics.printAsCsv().startsWith("sourcePath,recipe,linesOfCode,wallTimeNanos"));
+    }
+
+    @Test
+    void ranksRecipesByTraversalsPerKloc() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx, SOURCE).collect(Collectors.toList());
+
+        RecipeMetrics metrics = RecipeMetrics.enable(ctx);
+        RecipeMetrics.instrument(new FallThrough()).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+        RecipeMetrics.instrument(new NeedBraces()).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+
+        List<RecipeMetrics.TraversalBudget> budget = metrics.getTraversalBudget();
+        assertEquals(2, budget.size());
+        assertEquals(FallThrough.class.getName(), budget.get(0).getRecipe());
+        assertTrue(budget.get(0).getTraversalsPerKloc() > budget.get(1).getTraversalsPerKloc());
+        assertTrue(metrics.printTraversalBudgetAsCsv().startsWith("recipe,sourceFiles,linesOfCode,traversals"));
+    }
+
+    @Test
+    void countLinesOfEachVersionOfASourceFile() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx, SOURCE).collect(Collectors.toList());
+
+        RecipeMetrics metrics = RecipeMetrics.enable(ctx);
+        RecipeRun run = RecipeMetrics.instrument(new FallThrough()).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+        List<SourceFile> fallThroughFixed = run.getChangeset().getAllResults().stream()
+          .map(Result::getAfter)
+          .collect(Collectors.toList());
+        RecipeMetrics.instrument(new NeedBraces()).run(new InMemoryLargeSourceSet(fallThroughFixed), ctx);
+
+        // a break was added to each of the first two cases
+        assertEquals(16, metrics.getRows().stream()
+          .filter(row -> row.getRecipe().equals(NeedBraces.class.getName()))
+          .findFirst()
+          .orElseThrow()
+          .getLinesOfCode());
+    }
+
+    @Test
+    void measureTheRecipesOfACompositeRecipe() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx, SOURCE).collect(Collectors.toList());
+
+        RecipeMetrics metrics = RecipeMetrics.enable(ctx);
+        RecipeRun run = RecipeMetrics.instrument(new Composite()).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+
+        assertEquals(1, run.getChangeset().getAllResults().size());
+        assertTrue(metrics.getRows().stream().anyMatch(row -> row.getRecipe().equals(FallThrough.class.getName())));
+        assertTrue(metrics.getRows().stream().anyMatch(row -> row.getRecipe().equals(NeedBraces.class.getName())));
+    }
+
+    @Test
+    void measureTheScanAndTheEditsOfAScanningRecipe() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx, """
+          class Test {
+              void Do_it() {
+              }
+          }
+          """).collect(Collectors.toList());
+
+        RecipeMetrics metrics = RecipeMetrics.enable(ctx);
+        RecipeRun run = RecipeMetrics.instrument(new MethodNameCasing(false, false)).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+
+        assertEquals(1, run.getChangeset().getAllResults().size());
+        // one row for the scan and one for the edit of the only source file
+        assertEquals(2, metrics.getRows().stream()
+          .filter(row -> row.getRecipe().equals(MethodNameCasing.class.getName()))
+          .count());
+    }
+
+    @Test
+    void noMetricsUnlessEnabled() {
+        ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+        List<SourceFile> sourceFiles = JavaParser.fromJavaVersion().build().parse(ctx, SOURCE).collect(Collectors.toList());
+
+        RecipeMetrics.instrument(new FallThrough()).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+
+        assertNull(RecipeMetrics.get(ctx));
+    }
+
+    private static int countNodes(SourceFile sourceFile) {
+        AtomicInteger nodes = new AtomicInteger();
+        new JavaVisitor<AtomicInteger>() {
+            @Override
+            public J preVisit(J tree, AtomicInteger n) {
+                n.incrementAndGet();
+                return tree;
+            }
+        }.visit(sourceFile, nodes);
+        return nodes.get();
+    }
+
+    static class Composite extends Recipe {
+        @Override
+        public String getDisplayName() {
+            return "Composite";
+        }
+
+        @Override
+        public String getDescription() {
+            return "Two recipes.";
+        }
+
+        @Override
+        public List<Recipe> getRecipeList() {
+            return List.of(new FallThrough(), new NeedBraces());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.openrewrite.ExecutionContext;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.Recipe;
+import org.openrewrite.SourceFile;
+import org.openrewrite.internal.InMemoryLargeSourceSet;
+import org.openrewrite.java.JavaVisitor;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.staticanalysis.table.RecipeMetricsTable;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.openrewrite.java.JavaParser.fromJavaVersion;
+
+/**
+ * Asserts how the work done by a recipe grows with the size of its input, independently of the machine running the test.
+ * <p>
+ * The recipe runs on {@link StressCorpusGenerator generated} compilation units whose shape is {@link StressCorpusGenerator.Shape#scale(int) scaled}
+ * by 1, 2, 4 and 8 along every dimension. Counted work is the number of nodes walked by the recipe's visitors and the
+ * number of times they walk the whole compilation unit, as reported by {@link RecipeMetrics}. The growth of each is fit
+ * over all four inputs against the number of nodes of the input.
+ */
+public final class RecipeScaling {
+    private static final int[] FACTORS = {1, 2, 4, 8};
+    private static final long SEED = 42;
+
+    /**
+     * Absorbs the constant overhead that makes small inputs look relatively more expensive.
+     */
+    private static final double TOLERANCE = 0.25;
+
+    public enum Complexity {
+        LINEAR(1),
+        QUADRATIC(2);
+
+        private final double exponent;
+
+        Complexity(double exponent) {
+            this.exponent = exponent;
+        }
+    }
+
+    private RecipeScaling() {
+    }
+
+    public static void assertScales(Recipe recipe, Complexity complexity) {
+        assertScales(recipe, complexity, StressCorpusGenerator.Shape.SMALL);
+    }
+
+    public static void assertScales(Recipe recipe, Complexity complexity, StressCorpusGenerator.Shape shape) {
+        double[] inputNodes = new double[FACTORS.length];
+        double[] nodesVisited = new double[FACTORS.length];
+        double[] traversals = new double[FACTORS.length];
+        for (int i = 0; i < FACTORS.length; i++) {
+            String source = new StressCorpusGenerator(shape.scale(FACTORS[i]), SEED).generateClass("Stress");
+            ExecutionContext ctx = new InMemoryExecutionContext(Throwable::printStackTrace);
+            List<SourceFile> sourceFiles = fromJavaVersion().build().parse(ctx, source).collect(Collectors.toList());
+            assertEquals(1, sourceFiles.size());
+
+            RecipeMetricsTable.Row firstCycle = countWork(recipe, sourceFiles, ctx);
+            inputNodes[i] = countNodes(sourceFiles.get(0));
+            nodesVisited[i] = firstCycle.getNodesVisited();
+            traversals[i] = firstCycle.getTraversals();
+        }
+
+        // walking the whole input once per finding makes each walk grow with the input, and the number of walks too
+        assertGrowth(recipe, complexity, "nodes visited", inputNodes, nodesVisited, complexity.exponent);
+        assertGrowth(recipe, complexity, "traversals", inputNodes, traversals, complexity.exponent - 1);
+    }
+
+    private static void assertGrowth(Recipe recipe, Complexity complexity, String work, double[] inputNodes, double[] counted, double maxExponent) {
+        double exponent = exponent(inputNodes, counted);
+        assertTrue(exponent <= maxExponent + TOLERANCE,
+          () -> String.format("%s was declared %s, but its %s grew as %s for inputs of %s nodes (exponent %.2f)",
+            recipe.getName(), complexity, work, Arrays.toString(counted), Arrays.toString(inputNodes), exponent));
+    }
+
+    /**
+     * @return the slope of the least squares fit of {@code log(y)} against {@code log(x)}.
+     */
+    static double exponent(double[] x, double[] y) {
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < x.length; i++) {
+            meanX += Math.log(x[i]) / x.length;
+            meanY += Math.log(y[i]) / y.length;
+        }
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < x.length; i++) {
+            double dx = Math.log(x[i]) - meanX;
+            covariance += dx * (Math.log(y[i]) - meanY);
+            variance += dx * dx;
+        }
+        return covariance / variance;
+    }
+
+    private static RecipeMetricsTable.Row countWork(Recipe recipe, List<SourceFile> sourceFiles, ExecutionContext ctx) {
+        RecipeMetrics metrics = RecipeMetrics.enable(ctx);
+        RecipeMetrics.instrument(recipe).run(new InMemoryLargeSourceSet(sourceFiles), ctx);
+
+        // the first row is the first cycle, which is the only one that sees the input as generated
+        return metrics.getRows().stream()
+          .filter(row -> row.getRecipe().equals(recipe.getName()))
+          .findFirst()
+          .orElseThrow(() -> new AssertionError(recipe.getName() + " did not visit the generated source"));
+    }
+
+    private static int countNodes(SourceFile sourceFile) {
+        AtomicInteger nodes = new AtomicInteger();
+        new JavaVisitor<AtomicInteger>() {
+            @Override
+            public J preVisit(J tree, AtomicInteger n) {
+                n.incrementAndGet();
+                return tree;
+            }
+        }.visit(sourceFile, nodes);
+        return nodes.get();
+    }
+}
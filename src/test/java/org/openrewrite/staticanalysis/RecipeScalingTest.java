@@ -0,0 +1,70 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+
+import static org.openrewrite.staticanalysis.RecipeScaling.Complexity.LINEAR;
+import static org.openrewrite.staticanalysis.RecipeScaling.Complexity.QUADRATIC;
+import static org.openrewrite.staticanalysis.RecipeScaling.assertScales;
+
+/**
+ * Declares how the recipes that are sensitive to the size of a compilation unit are allowed to scale.
+ * Recipes declared {@code QUADRATIC} walk the whole compilation unit, or the whole class, once per finding.
+ */
+class RecipeScalingTest {
+
+    @Test
+    void combineSemanticallyEqualCatchBlocks() {
+        assertScales(new CombineSemanticallyEqualCatchBlocks(), LINEAR);
+    }
+
+    @Test
+    void fallThrough() {
+        assertScales(new FallThrough(), LINEAR);
+    }
+
+    @Test
+    void hiddenField() {
+        assertScales(new HiddenField(), LINEAR);
+    }
+
+    @Test
+    void renameLocalVariablesToCamelCase() {
+        assertScales(new RenameLocalVariablesToCamelCase(), LINEAR);
+    }
+
+    @Test
+    void removeUnusedPrivateFields() {
+        // searches the class for the uses of each field
+        assertScales(new RemoveUnusedPrivateFields(), QUADRATIC);
+    }
+
+    @Test
+    void replaceDuplicateStringLiterals() {
+        assertScales(new ReplaceDuplicateStringLiterals(true), LINEAR);
+    }
+
+    @Test
+    void isEmptyCallOnCollections() {
+        assertScales(new IsEmptyCallOnCollections(), LINEAR);
+    }
+
+    @Test
+    void needBraces() {
+        assertScales(new NeedBraces(), LINEAR);
+    }
+}
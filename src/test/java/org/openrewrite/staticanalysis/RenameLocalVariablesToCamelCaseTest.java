@@ -113,6 +113,47 @@ class RenameLocalVariablesToCamelCaseTest implements RewriteTest {
         );
     }
 
+    @Test
+    void renameVariablesOfTheSameNameInSiblingScopes() {
+        rewriteRun(
+          //language=java
+          java(
+            """
+              class Test {
+                  int sum(int first_value) {
+                      int running_total = first_value;
+                      {
+                          int block_value = 1;
+                          running_total += block_value;
+                      }
+                      {
+                          int block_value = 2;
+                          running_total += block_value;
+                      }
+                      return running_total;
+                  }
+              }
+              """,
+            """
+              class Test {
+                  int sum(int firstValue) {
+                      int runningTotal = firstValue;
+                      {
+                          int blockValue = 1;
+                          runningTotal += blockValue;
+                      }
+                      {
+                          int blockValue = 2;
+                          runningTotal += blockValue;
+                      }
+                      return runningTotal;
+                  }
+              }
+              """
+          )
+        );
+    }
+
     @SuppressWarnings("JavadocDeclaration")
     @Issue("https://github.com/openrewrite/rewrite/issues/2437")
     @Test
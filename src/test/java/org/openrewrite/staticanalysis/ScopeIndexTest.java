@@ -0,0 +1,78 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Cursor;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ScopeIndexTest {
+
+    //language=java
+    private static final String SOURCE = """
+      class Test {
+          private static final String CONSTANT = "constant";
+          int field;
+
+          void method(int parameter) {
+              int obj = 0;
+              Runnable r = () -> {
+                  int hidden = 0;
+              };
+          }
+
+          class Inner {
+              int obj1;
+          }
+      }
+      """;
+
+    private final J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+      .parse(new InMemoryExecutionContext(Throwable::printStackTrace), SOURCE)
+      .map(J.CompilationUnit.class::cast)
+      .findFirst()
+      .orElseThrow();
+
+    @Test
+    void indexIsSharedForTheSameSourceFile() {
+        Cursor cursor = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), cu);
+        assertThat(ScopeIndex.of(cursor)).isSameAs(ScopeIndex.of(cursor));
+    }
+
+    @Test
+    void variableNamesPerClass() {
+        Cursor cursor = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), cu);
+        J.ClassDeclaration test = cu.getClasses().get(0);
+        J.ClassDeclaration inner = (J.ClassDeclaration) test.getBody().getStatements().get(3);
+
+        Set<String> names = ScopeIndex.of(cursor).variableNames(test);
+        assertThat(names).containsExactlyInAnyOrder("field", "parameter", "obj", "r", "obj1");
+        assertThat(ScopeIndex.of(cursor).variableNames(inner)).containsExactly("obj1");
+    }
+
+    @Test
+    void declarationsByName() {
+        Cursor cursor = new Cursor(new Cursor(null, Cursor.ROOT_VALUE), cu);
+        assertThat(ScopeIndex.of(cursor).declarations("hidden")).hasSize(1);
+        assertThat(ScopeIndex.of(cursor).declarations("missing")).isEmpty();
+    }
+}
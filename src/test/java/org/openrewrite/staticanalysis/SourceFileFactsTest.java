@@ -0,0 +1,87 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceFileFactsTest {
+
+    private final List<J.CompilationUnit> cus = JavaParser.fromJavaVersion().build()
+      .parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+        //language=java
+        """
+          import java.util.ArrayList;
+          import java.util.List;
+
+          class A {
+              List<String> list = new ArrayList<>();
+
+              boolean empty() {
+                  return list.size() == 0;
+              }
+          }
+          """,
+        //language=java
+        """
+          class B {
+              void method(int i) {
+                  switch (i) {
+                      case 1:
+                          break;
+                  }
+              }
+          }
+          """)
+      .map(J.CompilationUnit.class::cast)
+      .toList();
+
+    @Test
+    void factsAreSharedForTheSameSourceFile() {
+        assertThat(SourceFileFacts.of(cus.get(0))).isSameAs(SourceFileFacts.of(cus.get(0)));
+        assertThat(SourceFileFacts.of(cus.get(0))).isNotSameAs(SourceFileFacts.of(cus.get(1)));
+    }
+
+    @Test
+    void typesAndMethods() {
+        SourceFileFacts facts = SourceFileFacts.of(cus.get(0));
+        assertThat(facts.usesType("java.util.ArrayList")).isTrue();
+        assertThat(facts.usesType("java.util.Map")).isFalse();
+        assertThat(facts.usesMethodNamed("size")).isTrue();
+        assertThat(facts.declaresMethodNamed("empty")).isTrue();
+        assertThat(facts.hasMissingTypes()).isFalse();
+    }
+
+    @Test
+    void nodeKinds() {
+        assertThat(SourceFileFacts.of(cus.get(0)).contains(J.Switch.class)).isFalse();
+        assertThat(SourceFileFacts.of(cus.get(1)).contains(J.Switch.class)).isTrue();
+        assertThat(SourceFileFacts.of(cus.get(1)).containsAny(J.ForLoop.class, J.Case.class)).isTrue();
+    }
+
+    @Test
+    void uninterestedRecipesSkipTheSourceFile() {
+        InMemoryExecutionContext ctx = new InMemoryExecutionContext();
+        assertThat(new FallThrough().getVisitor().isAcceptable(cus.get(0), ctx)).isFalse();
+        assertThat(new FallThrough().getVisitor().isAcceptable(cus.get(1), ctx)).isTrue();
+    }
+}
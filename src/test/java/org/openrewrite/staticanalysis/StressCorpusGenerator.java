@@ -0,0 +1,207 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import lombok.Value;
+import lombok.With;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministically generates Java sources whose shape stresses recipes that scale with the
+ * number of members, cases, catch clauses or string literals in a compilation unit, such as
+ * {@link CombineSemanticallyEqualCatchBlocks}, {@link FallThroughVisitor}, {@link HiddenFieldVisitor},
+ * {@link RemoveUnusedPrivateFields}, {@link RenameToCamelCase} and {@link ReplaceDuplicateStringLiterals}.
+ * <p>
+ * The generated code only references JDK types, so it can be parsed and type attributed offline.
+ * Two generators with the same {@link Shape} and seed always produce identical sources.
+ */
+public class StressCorpusGenerator {
+    private final Shape shape;
+    private final Random random;
+
+    public StressCorpusGenerator(Shape shape, long seed) {
+        this.shape = shape;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @param files the number of compilation units to generate.
+     * @return the sources of {@code files} compilation units named {@code Stress0}, {@code Stress1}, ...
+     */
+    public String[] generate(int files) {
+        String[] sources = new String[files];
+        for (int i = 0; i < files; i++) {
+            sources[i] = generateClass("Stress" + i);
+        }
+        return sources;
+    }
+
+    public String generateClass(String className) {
+        StringBuilder src = new StringBuilder();
+        src.append("package stress;\n\n");
+        src.append("import java.util.List;\n\n");
+        src.append("class ").append(className).append(" {\n");
+
+        for (int i = 0; i < shape.getCatchClausesPerTry(); i++) {
+            src.append("    static class Failure").append(i).append(" extends RuntimeException {\n    }\n\n");
+        }
+
+        for (int i = 0; i < shape.getFieldsPerClass(); i++) {
+            src.append("    private int ").append(fieldName(i)).append(" = ").append(i).append(";\n");
+        }
+        src.append('\n');
+
+        for (int m = 0; m < shape.getMethodsPerClass(); m++) {
+            appendMethod(src, m);
+        }
+
+        src.append("}\n");
+        return src.toString();
+    }
+
+    private void appendMethod(StringBuilder src, int m) {
+        src.append("    int method").append(m).append("(int selector, List<String> sink) {\n");
+        String indent = "        ";
+
+        List<String> locals = new ArrayList<>(shape.getLocalsPerMethod());
+        for (int i = 0; i < shape.getLocalsPerMethod(); i++) {
+            // every other local hides a field when there are enough fields to shadow
+            String name = i % 2 == 0 && i / 2 < shape.getFieldsPerClass() ? fieldName(i / 2) : "local_value_" + i;
+            src.append(indent).append("int ").append(name).append(" = selector + ").append(i).append(";\n");
+            locals.add(name);
+        }
+        String accumulator = "total_" + m;
+        src.append(indent).append("int ").append(accumulator).append(" = 0;\n");
+        for (String local : locals) {
+            src.append(indent).append(accumulator).append(" += ").append(local).append(";\n");
+        }
+
+        for (int d = 0; d < shape.getNestingDepth(); d++) {
+            src.append(indent).append("if (selector > ").append(d).append(") {\n");
+            indent += "    ";
+        }
+
+        appendSwitch(src, indent, accumulator);
+        appendTry(src, indent);
+        appendStringLiterals(src, indent);
+        if (random.nextDouble() < shape.getAnonymousClassDensity()) {
+            appendAnonymousClass(src, indent);
+        }
+
+        for (int d = shape.getNestingDepth(); d > 0; d--) {
+            indent = indent.substring(4);
+            src.append(indent).append("}\n");
+        }
+
+        src.append("        return ").append(accumulator).append(";\n");
+        src.append("    }\n\n");
+    }
+
+    private void appendSwitch(StringBuilder src, String indent, String accumulator) {
+        if (shape.getSwitchCases() == 0) {
+            return;
+        }
+        src.append(indent).append("switch (selector) {\n");
+        for (int c = 0; c < shape.getSwitchCases(); c++) {
+            src.append(indent).append("    case ").append(c).append(":\n");
+            src.append(indent).append("        ").append(accumulator).append("++;\n");
+            // roughly half of the cases fall through to the next one
+            if (random.nextBoolean()) {
+                src.append(indent).append("        break;\n");
+            }
+        }
+        src.append(indent).append("    default:\n");
+        src.append(indent).append("        ").append(accumulator).append("--;\n");
+        src.append(indent).append("}\n");
+    }
+
+    private void appendTry(StringBuilder src, String indent) {
+        if (shape.getCatchClausesPerTry() == 0) {
+            return;
+        }
+        src.append(indent).append("try {\n");
+        src.append(indent).append("    sink.clear();\n");
+        for (int c = 0; c < shape.getCatchClausesPerTry(); c++) {
+            src.append(indent).append("} catch (Failure").append(c).append(" e) {\n");
+            // a small number of distinct bodies makes most catches combinable
+            src.append(indent).append("    sink.add(\"failure ").append(random.nextInt(3)).append("\");\n");
+        }
+        src.append(indent).append("}\n");
+    }
+
+    private void appendStringLiterals(StringBuilder src, String indent) {
+        for (int i = 0; i < shape.getStringLiteralsPerMethod(); i++) {
+            String literal = shape.getDuplicatedLiteralValues() > 0 && random.nextDouble() < shape.getStringDuplicationRatio() ?
+                    "duplicated literal " + random.nextInt(shape.getDuplicatedLiteralValues()) :
+                    "unique literal " + Long.toHexString(random.nextLong());
+            src.append(indent).append("sink.add(\"").append(literal).append("\");\n");
+        }
+    }
+
+    private void appendAnonymousClass(StringBuilder src, String indent) {
+        src.append(indent).append("Runnable runnable = new Runnable() {\n");
+        src.append(indent).append("    @Override\n");
+        src.append(indent).append("    public void run() {\n");
+        src.append(indent).append("        sink.add(\"anonymous\");\n");
+        src.append(indent).append("    }\n");
+        src.append(indent).append("};\n");
+        src.append(indent).append("runnable.run();\n");
+    }
+
+    private static String fieldName(int i) {
+        return "field_value_" + i;
+    }
+
+    /**
+     * The dimensions of a generated compilation unit. Instances are immutable, use the {@code with*} methods
+     * to derive a new shape.
+     */
+    @Value
+    @With
+    public static class Shape {
+        public static final Shape SMALL = new Shape(4, 2, 4, 3, 0.5, 4, 4, 4, 4, 0.25);
+
+        int methodsPerClass;
+        int nestingDepth;
+        int switchCases;
+        int catchClausesPerTry;
+        double stringDuplicationRatio;
+        int stringLiteralsPerMethod;
+
+        /**
+         * The number of distinct values that duplicated string literals are drawn from. When zero, every string
+         * literal is unique, whatever the {@link #stringDuplicationRatio}.
+         */
+        int duplicatedLiteralValues;
+
+        int fieldsPerClass;
+        int localsPerMethod;
+        double anonymousClassDensity;
+
+        /**
+         * @param factor multiplier applied to every countable dimension.
+         * @return a shape that is {@code factor} times bigger along all dimensions except nesting depth.
+         */
+        public Shape scale(int factor) {
+            return new Shape(methodsPerClass * factor, nestingDepth, switchCases * factor, catchClausesPerTry * factor,
+                    stringDuplicationRatio, stringLiteralsPerMethod * factor, duplicatedLiteralValues * factor,
+                    fieldsPerClass * factor, localsPerMethod * factor, anonymousClassDensity);
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Recipe;
+import org.openrewrite.test.RewriteTest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.openrewrite.java.Assertions.java;
+
+class StressCorpusGeneratorTest implements RewriteTest {
+    private static final StressCorpusGenerator.Shape SHAPE = StressCorpusGenerator.Shape.SMALL;
+
+    @Test
+    void sameSeedGeneratesSameSources() {
+        assertArrayEquals(
+          new StressCorpusGenerator(SHAPE, 42).generate(3),
+          new StressCorpusGenerator(SHAPE, 42).generate(3)
+        );
+        assertNotEquals(
+          new StressCorpusGenerator(SHAPE, 42).generateClass("Stress"),
+          new StressCorpusGenerator(SHAPE, 43).generateClass("Stress")
+        );
+    }
+
+    @Test
+    void shapeDeterminesSize() {
+        StressCorpusGenerator.Shape shape = SHAPE.withSwitchCases(7).withCatchClausesPerTry(5).withMethodsPerClass(3);
+        String source = new StressCorpusGenerator(shape, 1).generateClass("Stress");
+        assertEquals(7 * 3, occurrences(source, "case "));
+        assertEquals(5 * 3, occurrences(source, "} catch ("));
+        assertEquals(3, occurrences(source, "List<String> sink) {"));
+        assertEquals(SHAPE.getFieldsPerClass(), occurrences(source, "    private int field_value_"));
+    }
+
+    @Test
+    void noDuplicatedLiteralValuesMakesEveryLiteralUnique() {
+        StressCorpusGenerator.Shape shape = SHAPE.withDuplicatedLiteralValues(0).withStringDuplicationRatio(1);
+        String source = new StressCorpusGenerator(shape, 1).generateClass("Stress");
+        assertEquals(0, occurrences(source, "duplicated literal "));
+        assertEquals(SHAPE.getStringLiteralsPerMethod() * SHAPE.getMethodsPerClass(), occurrences(source, "unique literal "));
+    }
+
+    @Test
+    void fallThrough() {
+        assertChanges(new FallThrough());
+    }
+
+    @Test
+    void combineSemanticallyEqualCatchBlocks() {
+        assertChanges(new CombineSemanticallyEqualCatchBlocks());
+    }
+
+    @Test
+    void hiddenField() {
+        assertChanges(new HiddenField());
+    }
+
+    @Test
+    void removeUnusedPrivateFields() {
+        assertChanges(new RemoveUnusedPrivateFields());
+    }
+
+    @Test
+    void renameLocalVariablesToCamelCase() {
+        assertChanges(new RenameLocalVariablesToCamelCase());
+    }
+
+    @Test
+    void replaceDuplicateStringLiterals() {
+        assertChanges(new ReplaceDuplicateStringLiterals(true));
+    }
+
+    private void assertChanges(Recipe recipe) {
+        String before = new StressCorpusGenerator(SHAPE, 7).generateClass("Stress");
+        rewriteRun(
+          spec -> spec.recipe(recipe).cycles(1).expectedCyclesThatMakeChanges(1),
+          java(before, spec -> spec.after(actual -> {
+              assertNotEquals(before, actual);
+              return actual;
+          }))
+        );
+    }
+
+    private static int occurrences(String source, String token) {
+        int count = 0;
+        for (int i = source.indexOf(token); i >= 0; i = source.indexOf(token, i + token.length())) {
+            count++;
+        }
+        return count;
+    }
+}
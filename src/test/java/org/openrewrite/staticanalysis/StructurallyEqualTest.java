@@ -0,0 +1,79 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class StructurallyEqualTest {
+
+    private final J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+      .parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+        //language=java
+        """
+          class A {
+              void original() {
+                  // log
+                  System.out.println("a" + 1);
+              }
+
+              void reformatted() {
+                    // log
+                  System.out.println( "a"+1 );
+              }
+
+              void differentComment() {
+                  // print
+                  System.out.println("a" + 1);
+              }
+
+              void differentLiteral() {
+                  // log
+                  System.out.println("b" + 1);
+              }
+          }
+          """)
+      .map(J.CompilationUnit.class::cast)
+      .findFirst()
+      .orElseThrow();
+
+    @Test
+    void ignoreIdsAndFormatting() {
+        assertThat(StructurallyEqual.IGNORING_FORMATTING.areEqual(body(0), body(1))).isTrue();
+        assertThat(StructurallyEqual.IGNORING_FORMATTING.withCompareWhitespace(true).areEqual(body(0), body(1))).isFalse();
+        assertThat(StructurallyEqual.IGNORING_FORMATTING.withCompareIds(true).areEqual(body(0), body(1))).isFalse();
+    }
+
+    @Test
+    void comments() {
+        assertThat(StructurallyEqual.IGNORING_FORMATTING.areEqual(body(0), body(2))).isFalse();
+        assertThat(StructurallyEqual.IGNORING_FORMATTING.withCompareComments(false).areEqual(body(0), body(2))).isTrue();
+    }
+
+    @Test
+    void literals() {
+        assertThat(StructurallyEqual.IGNORING_FORMATTING.areEqual(body(0), body(3))).isFalse();
+        assertThat(StructurallyEqual.IGNORING_FORMATTING.ignoringTypes().areEqual(body(0), body(3))).isFalse();
+    }
+
+    private J.Block body(int method) {
+        return ((J.MethodDeclaration) cu.getClasses().get(0).getBody().getStatements().get(method)).getBody();
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+import org.openrewrite.java.tree.TypeUtils;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeHierarchyTest {
+
+    private final J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+      .parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+        //language=java
+        """
+          import java.io.IOException;
+          import java.util.ArrayList;
+
+          class A extends ArrayList<String> {
+              class Failure extends IOException {
+              }
+
+              @Override
+              public int size() {
+                  return 0;
+              }
+
+              int count() {
+                  return 0;
+              }
+          }
+          """)
+      .map(J.CompilationUnit.class::cast)
+      .findFirst()
+      .orElseThrow();
+
+    private final TypeHierarchy hierarchy = TypeHierarchy.of(new InMemoryExecutionContext());
+
+    @Test
+    void supertypes() {
+        J.ClassDeclaration a = cu.getClasses().get(0);
+        JavaType.FullyQualified failure = ((J.ClassDeclaration) a.getBody().getStatements().get(0)).getType();
+
+        assertThat(hierarchy.isAssignableTo("java.util.Collection", a.getType())).isTrue();
+        assertThat(hierarchy.isAssignableTo("java.io.Serializable", a.getType())).isTrue();
+        assertThat(hierarchy.isAssignableTo("java.util.Map", a.getType())).isFalse();
+        assertThat(hierarchy.isAssignableTo("java.lang.Exception", failure)).isTrue();
+        assertThat(hierarchy.isAssignableTo("java.lang.RuntimeException", failure)).isFalse();
+        assertThat(hierarchy.isAssignableTo("A$Failure", failure)).isTrue();
+    }
+
+    @Test
+    void overriddenMethods() {
+        J.ClassDeclaration a = cu.getClasses().get(0);
+        J.MethodDeclaration size = (J.MethodDeclaration) a.getBody().getStatements().get(1);
+        J.MethodDeclaration count = (J.MethodDeclaration) a.getBody().getStatements().get(2);
+
+        assertThat(hierarchy.findOverriddenMethod(size.getMethodType()))
+          .isEqualTo(TypeUtils.findOverriddenMethod(size.getMethodType()));
+        assertThat(hierarchy.isOverride(size.getMethodType())).isTrue();
+        assertThat(hierarchy.isOverride(count.getMethodType())).isFalse();
+    }
+
+    @Test
+    void assignabilityBetweenTypes() {
+        J.ClassDeclaration a = cu.getClasses().get(0);
+        JavaType.FullyQualified failure = ((J.ClassDeclaration) a.getBody().getStatements().get(0)).getType();
+        JavaType.FullyQualified supertype = a.getType().getSupertype();
+
+        assertThat(hierarchy.isAssignableTo(JavaType.ShallowClass.build("java.io.IOException"), failure)).isTrue();
+        assertThat(hierarchy.isAssignableTo(failure, JavaType.ShallowClass.build("java.io.IOException"))).isFalse();
+        for (int i = 0; i < 2; i++) {
+            assertThat(hierarchy.isAssignableTo(supertype, a.getType()))
+              .isEqualTo(TypeUtils.isAssignableTo(supertype, a.getType()));
+        }
+    }
+
+    @Test
+    void answersTheSameFromManyThreads() {
+        J.ClassDeclaration a = cu.getClasses().get(0);
+        JavaType.FullyQualified failure = ((J.ClassDeclaration) a.getBody().getStatements().get(0)).getType();
+
+        assertThat(IntStream.range(0, 1_000).parallel()
+          .filter(i -> hierarchy.isAssignableTo("java.util.Collection", a.getType()) &&
+                       hierarchy.isAssignableTo("java.lang.Exception", failure) &&
+                       !hierarchy.isAssignableTo("java.util.Map", a.getType()))
+          .count())
+          .isEqualTo(1_000);
+    }
+}
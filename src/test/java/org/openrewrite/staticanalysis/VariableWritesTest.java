@@ -0,0 +1,132 @@
+/*
+ * Copyright 2023 the original author or authors.
+ * <p>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p>
+ * https://www.apache.org/licenses/LICENSE-2.0
+ * <p>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openrewrite.staticanalysis;
+
+import org.junit.jupiter.api.Test;
+import org.openrewrite.Cursor;
+import org.openrewrite.InMemoryExecutionContext;
+import org.openrewrite.java.JavaIsoVisitor;
+import org.openrewrite.java.JavaParser;
+import org.openrewrite.java.tree.J;
+import org.openrewrite.java.tree.JavaType;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class VariableWritesTest {
+
+    private final J.CompilationUnit cu = JavaParser.fromJavaVersion().build()
+      .parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+        //language=java
+        """
+          class A {
+              private int initialized = 0;
+              private int assignedInConstructor;
+              private int assignedInMethod;
+
+              A() {
+                  assignedInConstructor = 1;
+              }
+
+              void method(int parameter, int reassignedParameter) {
+                  int local = 0;
+                  int incremented = 0;
+                  incremented++;
+                  reassignedParameter += local + parameter;
+                  this.assignedInMethod = incremented;
+              }
+          }
+          """)
+      .map(J.CompilationUnit.class::cast)
+      .findFirst()
+      .orElseThrow();
+
+    private final VariableWrites writes = VariableWrites.of(new Cursor(new Cursor(null, Cursor.ROOT_VALUE), cu));
+
+    @Test
+    void effectivelyFinal() {
+        assertThat(writes.isEffectivelyFinal(variable("local"))).isTrue();
+        assertThat(writes.isEffectivelyFinal(variable("parameter"))).isTrue();
+        assertThat(writes.isEffectivelyFinal(variable("incremented"))).isFalse();
+        assertThat(writes.isEffectivelyFinal(variable("reassignedParameter"))).isFalse();
+    }
+
+    @Test
+    void assignmentCounts() {
+        J.MethodDeclaration method = (J.MethodDeclaration) cu.getClasses().get(0).getBody().getStatements().get(4);
+        assertThat(writes.getAssignmentCount(method, "incremented")).isEqualTo(1);
+        assertThat(writes.getAssignmentCount(method, "reassignedParameter")).isEqualTo(1);
+        assertThat(writes.getAssignmentCount(method, "local")).isEqualTo(0);
+    }
+
+    @Test
+    void fieldWrites() {
+        assertThat(writes.getInitializingAssignmentCount(variable("initialized"))).isEqualTo(0);
+        assertThat(writes.getInitializingAssignmentCount(variable("assignedInConstructor"))).isEqualTo(1);
+        assertThat(writes.getOtherAssignmentCount(variable("assignedInConstructor"))).isEqualTo(0);
+        assertThat(writes.getOtherAssignmentCount(variable("assignedInMethod"))).isEqualTo(1);
+    }
+
+    @Test
+    void writesAfterAnInstanceofCheck() {
+        J.CompilationUnit checks = JavaParser.fromJavaVersion().build()
+          .parse(new InMemoryExecutionContext(Throwable::printStackTrace),
+            //language=java
+            """
+              class B {
+                  void method(Object o, Object other) {
+                      o = other;
+                      if (o instanceof String) {
+                          o = null;
+                      }
+                      if (o instanceof Integer) {
+                      }
+                  }
+              }
+              """)
+          .map(J.CompilationUnit.class::cast)
+          .findFirst()
+          .orElseThrow();
+        VariableWrites checkWrites = VariableWrites.of(new Cursor(new Cursor(null, Cursor.ROOT_VALUE), checks));
+        List<J.If> ifs = new JavaIsoVisitor<List<J.If>>() {
+            @Override
+            public J.If visitIf(J.If iff, List<J.If> found) {
+                found.add(iff);
+                return iff;
+            }
+        }.reduce(checks, new ArrayList<>());
+
+        J.InstanceOf first = (J.InstanceOf) ifs.get(0).getIfCondition().getTree();
+        J.InstanceOf second = (J.InstanceOf) ifs.get(1).getIfCondition().getTree();
+        JavaType.Variable o = ((J.Identifier) first.getExpression()).getFieldType();
+        assertThat(checkWrites.isWrittenAfter(first, o, ifs.get(0))).isTrue();
+        assertThat(checkWrites.isWrittenAfter(second, o, ifs.get(1))).isFalse();
+    }
+
+    private JavaType.Variable variable(String name) {
+        return new JavaIsoVisitor<List<JavaType.Variable>>() {
+            @Override
+            public J.VariableDeclarations.NamedVariable visitVariable(J.VariableDeclarations.NamedVariable variable, List<JavaType.Variable> found) {
+                if (variable.getSimpleName().equals(name)) {
+                    found.add(variable.getVariableType());
+                }
+                return variable;
+            }
+        }.reduce(cu, new ArrayList<>()).get(0);
+    }
+}